@@ -5,6 +5,7 @@ plugins {
     `maven-publish`
     id("io.github.gradle-nexus.publish-plugin") version "1.1.0"
     id("org.unbroken-dome.test-sets") version "4.0.0"
+    id("me.champeau.jmh") version "0.6.5"
 }
 
 repositories {
@@ -58,6 +59,21 @@ dependencies {
 
     "javaOnlyTestImplementation"("org.junit.jupiter:junit-jupiter-api")
     "javaOnlyTestImplementation"("org.hibernate.validator:hibernate-validator:6.2.0.Final")
+    "javaOnlyTestAnnotationProcessor"(project(":jackson-bean-validation-processor"))
+
+    "jmhImplementation"("com.google.code.findbugs:jsr305:3.0.2")
+    "jmhImplementation"(kotlin("stdlib-jdk8"))
+    "jmhImplementation"(kotlin("reflect"))
+    "jmhImplementation"("com.fasterxml.jackson.module:jackson-module-kotlin:$jacksonVersion")
+    "jmhImplementation"("org.hibernate.validator:hibernate-validator:6.2.0.Final")
+}
+
+
+jmh {
+    jmhVersion.set("1.32")
+    // Benchmarks can be selected with -PjmhIncludes=<regex>, e.g. -PjmhIncludes=Creator
+    providers.gradleProperty("jmhIncludes").forUseAtConfigurationTime().orNull?.let { includes.add(it) }
+    resultFormat.set("JSON")
 }
 
 
@@ -0,0 +1,56 @@
+plugins {
+    `java-library`
+    signing
+    `maven-publish`
+}
+
+repositories {
+    mavenCentral()
+}
+
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+    withSourcesJar()
+    withJavadocJar()
+}
+
+
+publishing {
+    publications {
+        create("mavenJava", MavenPublication::class) {
+            from(components["java"])
+            pom {
+                name.set(providers.gradleProperty("projectName").map { "$it Annotation Processor" })
+                description.set("Generates validators for @JsonValidated types at build time.")
+                url.set(providers.gradleProperty("projectUrl"))
+                licenses {
+                    license {
+                        name.set(providers.gradleProperty("projectLicenseName"))
+                        url.set(providers.gradleProperty("projectLicenseUrl"))
+                    }
+                }
+                developers {
+                    developer {
+                        name.set(providers.gradleProperty("developerName"))
+                        email.set(providers.gradleProperty("developerEmail"))
+                        url.set(providers.gradleProperty("developerUrl"))
+                    }
+                }
+            }
+        }
+    }
+
+    repositories {
+        maven {
+            name = "local"
+            url = uri("$buildDir/repos/releases")
+        }
+    }
+}
+
+
+signing {
+    sign(publishing.publications["mavenJava"])
+}
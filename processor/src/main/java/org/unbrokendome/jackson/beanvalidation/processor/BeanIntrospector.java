@@ -0,0 +1,315 @@
+package org.unbrokendome.jackson.beanvalidation.processor;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+
+/**
+ * Finds the properties of a bean class and translates their constraints into checks.
+ * <p>
+ * Only the standard constraints {@code @NotNull}, {@code @Size}, {@code @Min}, {@code @Max}, {@code @NotBlank},
+ * {@code @NotEmpty} and {@code @Pattern} (without flags) in the default group are translated. A property with any
+ * other constraint, including constraints on container elements, is not checked at all, so the validator always
+ * sees all of its constraints. The same applies to all properties of a class that redefines its default group.
+ */
+final class BeanIntrospector {
+
+    private static final String CONSTRAINTS_PACKAGE = "javax.validation.constraints.";
+    private static final String CONSTRAINT = "javax.validation.Constraint";
+    private static final Set<String> GROUP_SEQUENCE_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "javax.validation.GroupSequence", "org.hibernate.validator.group.GroupSequenceProvider"));
+
+    private final Elements elements;
+
+
+    BeanIntrospector(Elements elements) {
+        this.elements = elements;
+    }
+
+
+    BeanModel introspect(TypeElement type) {
+        Map<String, VariableElement> fields = new LinkedHashMap<>();
+        Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                fields.put(field.getSimpleName().toString(), field);
+            }
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            String propertyName = getPropertyName(method);
+            if (propertyName != null) {
+                getters.put(propertyName, method);
+            }
+        }
+
+        Set<String> propertyNames = new LinkedHashSet<>(fields.keySet());
+        propertyNames.addAll(getters.keySet());
+
+        boolean checkConstraints = !hasAnnotation(type, GROUP_SEQUENCE_ANNOTATIONS);
+        List<String> patterns = new ArrayList<>();
+        List<PropertyModel> properties = new ArrayList<>();
+
+        for (String propertyName : propertyNames) {
+            VariableElement field = fields.get(propertyName);
+            ExecutableElement getter = getters.get(propertyName);
+
+            String accessor = null;
+            if (getter != null && !getter.getModifiers().contains(Modifier.PRIVATE)) {
+                accessor = getter.getSimpleName() + "()";
+            } else if (field != null && !field.getModifiers().contains(Modifier.PRIVATE)) {
+                accessor = propertyName;
+            }
+
+            List<String> checks = new ArrayList<>();
+            List<String> constraints = new ArrayList<>();
+            if (!checkConstraints ||
+                    (field != null && !collectChecks(field, field.asType(), checks, constraints, patterns)) ||
+                    (getter != null &&
+                            !collectChecks(getter, getter.getReturnType(), checks, constraints, patterns))) {
+                checks = Collections.emptyList();
+                constraints = Collections.emptyList();
+            }
+
+            if (accessor != null || !checks.isEmpty()) {
+                properties.add(new PropertyModel(propertyName, accessor, checks, constraints));
+            }
+        }
+
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        return new BeanModel(type, packageName, properties, patterns);
+    }
+
+
+    /**
+     * Gets the property name of a getter method, or {@code null} if the method is not a getter that can be
+     * called from generated code.
+     */
+    private static String getPropertyName(ExecutableElement method) {
+        if (method.getModifiers().contains(Modifier.STATIC) || !method.getParameters().isEmpty() ||
+                !method.getThrownTypes().isEmpty()) {
+            return null;
+        }
+        String methodName = method.getSimpleName().toString();
+        TypeMirror returnType = method.getReturnType();
+
+        if (methodName.length() > 3 && methodName.startsWith("get") && Character.isUpperCase(methodName.charAt(3)) &&
+                returnType.getKind() != TypeKind.VOID) {
+            return decapitalize(methodName.substring(3));
+        } else if (methodName.length() > 2 && methodName.startsWith("is") &&
+                Character.isUpperCase(methodName.charAt(2)) &&
+                (returnType.getKind() == TypeKind.BOOLEAN || returnType.toString().equals("java.lang.Boolean"))) {
+            return decapitalize(methodName.substring(2));
+        }
+        return null;
+    }
+
+
+    private static String decapitalize(String s) {
+        return Character.toLowerCase(s.charAt(0)) + s.substring(1);
+    }
+
+
+    /**
+     * Translates the constraints of a field or getter into checks, and the {@code GeneratedConstraint}s that
+     * describe them.
+     *
+     * @return {@code false} if any of the constraints can't be checked
+     */
+    private boolean collectChecks(
+            Element element, TypeMirror type, List<String> checks, List<String> constraints, List<String> patterns
+    ) {
+        if (hasContainerElementConstraints(type)) {
+            return false;
+        }
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            String annotationName = annotationType.getQualifiedName().toString();
+
+            if (annotationName.startsWith(CONSTRAINTS_PACKAGE)) {
+                String check = createCheck(annotationName.substring(CONSTRAINTS_PACKAGE.length()),
+                        annotation, patterns);
+                if (check == null) {
+                    return false;
+                }
+                checks.add(check);
+                constraints.add(createConstraint(annotationName, annotation));
+
+            } else if (isConstraint(annotationType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Creates the check for one of the standard constraints, or returns {@code null} if it can't be checked.
+     */
+    private String createCheck(String constraintName, AnnotationMirror annotation, List<String> patterns) {
+        List<?> groups = (List<?>) getValue(annotation, "groups");
+        if (groups != null && !groups.isEmpty()) {
+            return null;
+        }
+
+        switch (constraintName) {
+            case "NotNull":
+                return "value != null";
+            case "Size":
+                return "ConstraintChecks.hasValidSize(value, " + getValue(annotation, "min") + ", " +
+                        getValue(annotation, "max") + ")";
+            case "Min":
+                return "ConstraintChecks.isAtLeast(value, " + getValue(annotation, "value") + "L)";
+            case "Max":
+                return "ConstraintChecks.isAtMost(value, " + getValue(annotation, "value") + "L)";
+            case "NotBlank":
+                return "ConstraintChecks.isNotBlank(value)";
+            case "NotEmpty":
+                return "ConstraintChecks.isNotEmpty(value)";
+            case "Pattern":
+                return createPatternCheck(annotation, patterns);
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * Creates the expression for the {@code GeneratedConstraint} of one of the standard constraints that
+     * {@link #createCheck} could check, with the attributes that the check depends on.
+     */
+    private String createConstraint(String annotationName, AnnotationMirror annotation) {
+        StringBuilder builder = new StringBuilder("GeneratedConstraint.of(").append(annotationName).append(".class");
+        switch (annotationName.substring(CONSTRAINTS_PACKAGE.length())) {
+            case "Size":
+                builder.append(", \"min\", ").append(getValue(annotation, "min"))
+                        .append(", \"max\", ").append(getValue(annotation, "max"));
+                break;
+            case "Min":
+            case "Max":
+                builder.append(", \"value\", ").append(getValue(annotation, "value")).append('L');
+                break;
+            case "Pattern":
+                builder.append(", \"regexp\", ")
+                        .append(ValidatorSourceWriter.stringLiteral((String) getValue(annotation, "regexp")))
+                        .append(", \"flags\", new ").append(annotationName).append(".Flag[0]");
+                break;
+            default:
+                break;
+        }
+        return builder.append(')').toString();
+    }
+
+
+    private String createPatternCheck(AnnotationMirror annotation, List<String> patterns) {
+        List<?> flags = (List<?>) getValue(annotation, "flags");
+        if (flags != null && !flags.isEmpty()) {
+            return null;
+        }
+        String regexp = (String) getValue(annotation, "regexp");
+        try {
+            Pattern.compile(regexp);
+        } catch (PatternSyntaxException ex) {
+            // Leave it to the validator to report the invalid pattern
+            return null;
+        }
+
+        int index = patterns.indexOf(regexp);
+        if (index < 0) {
+            index = patterns.size();
+            patterns.add(regexp);
+        }
+        return "ConstraintChecks.matches(value, PATTERN_" + index + ")";
+    }
+
+
+    private Object getValue(AnnotationMirror annotation, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                elements.getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Determines whether there are constraints on the type arguments or array components of a type, like
+     * {@code List<@NotNull String>}.
+     */
+    private boolean hasContainerElementConstraints(TypeMirror type) {
+        List<TypeMirror> elementTypes = new ArrayList<>();
+        if (type instanceof DeclaredType) {
+            elementTypes.addAll(((DeclaredType) type).getTypeArguments());
+        } else if (type instanceof ArrayType) {
+            elementTypes.add(((ArrayType) type).getComponentType());
+        }
+
+        for (TypeMirror elementType : elementTypes) {
+            for (AnnotationMirror annotation : elementType.getAnnotationMirrors()) {
+                if (isConstraint((TypeElement) annotation.getAnnotationType().asElement())) {
+                    return true;
+                }
+            }
+            if (hasContainerElementConstraints(elementType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Determines whether an annotation type is a constraint, or a container of repeated constraints (like
+     * {@code @Size.List}).
+     */
+    private static boolean isConstraint(TypeElement annotationType) {
+        if (hasAnnotation(annotationType, Collections.singleton(CONSTRAINT))) {
+            return true;
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(annotationType.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals("value") && method.getReturnType() instanceof ArrayType) {
+                TypeMirror componentType = ((ArrayType) method.getReturnType()).getComponentType();
+                if (componentType instanceof DeclaredType &&
+                        hasAnnotation(((DeclaredType) componentType).asElement(), Collections.singleton(CONSTRAINT))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+
+    private static boolean hasAnnotation(Element element, Set<String> annotationNames) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationNames.contains(annotationType.getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
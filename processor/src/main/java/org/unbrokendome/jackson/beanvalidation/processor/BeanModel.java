@@ -0,0 +1,79 @@
+package org.unbrokendome.jackson.beanvalidation.processor;
+
+import javax.lang.model.element.TypeElement;
+import java.util.List;
+
+
+/**
+ * What the processor found out about a {@code @JsonValidated} class.
+ */
+final class BeanModel {
+
+    private static final String VALIDATOR_SUFFIX = "_GeneratedBeanValidator";
+
+    private final TypeElement type;
+    private final String packageName;
+    private final List<PropertyModel> properties;
+    private final List<String> patterns;
+
+
+    BeanModel(TypeElement type, String packageName, List<PropertyModel> properties, List<String> patterns) {
+        this.type = type;
+        this.packageName = packageName;
+        this.properties = properties;
+        this.patterns = patterns;
+    }
+
+
+    TypeElement getType() {
+        return type;
+    }
+
+
+    String getPackageName() {
+        return packageName;
+    }
+
+
+    /**
+     * The name of the bean type in Java source, without type arguments.
+     */
+    String getTypeName() {
+        return type.getQualifiedName().toString();
+    }
+
+
+    boolean isGeneric() {
+        return !type.getTypeParameters().isEmpty();
+    }
+
+
+    /**
+     * The simple name of the generated class, which includes the names of the enclosing classes of a nested
+     * class, e.g. {@code Outer_Inner_GeneratedBeanValidator}.
+     */
+    String getValidatorName() {
+        String qualifiedName = getTypeName();
+        String nestedName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+        return nestedName.replace('.', '_') + VALIDATOR_SUFFIX;
+    }
+
+
+    String getQualifiedValidatorName() {
+        return packageName.isEmpty() ? getValidatorName() : packageName + "." + getValidatorName();
+    }
+
+
+    List<PropertyModel> getProperties() {
+        return properties;
+    }
+
+
+    /**
+     * The regular expressions of all {@code @Pattern} constraints, referenced by their index from the checks of
+     * the properties.
+     */
+    List<String> getPatterns() {
+        return patterns;
+    }
+}
@@ -0,0 +1,189 @@
+package org.unbrokendome.jackson.beanvalidation.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Generates a {@code GeneratedBeanValidator} for each class annotated with {@code @JsonValidated}, and registers
+ * the generated classes as services in {@code META-INF/services}.
+ * <p>
+ * Classes that cannot be accessed from a generated class in the same package (e.g. private nested classes) are
+ * skipped, and will be validated using reflection as before.
+ * <p>
+ * The processor also writes a GraalVM native-image {@code reflect-config.json} that registers all classes
+ * annotated with {@code @JsonValidated} for reflection, so that Jackson and the validator can introspect them in a
+ * native image. The file is written to {@code META-INF/native-image/<dir>/}, where {@code <dir>} can be set with
+ * the {@value #NATIVE_IMAGE_DIR_OPTION} option (by default {@value #DEFAULT_NATIVE_IMAGE_DIR}). It should be
+ * unique among the libraries of an application.
+ */
+@SupportedAnnotationTypes(JsonValidatedProcessor.JSON_VALIDATED)
+@SupportedOptions(JsonValidatedProcessor.NATIVE_IMAGE_DIR_OPTION)
+public final class JsonValidatedProcessor extends AbstractProcessor {
+
+    static final String JSON_VALIDATED = "org.unbrokendome.jackson.beanvalidation.JsonValidated";
+    static final String GENERATED_BEAN_VALIDATOR = "org.unbrokendome.jackson.beanvalidation.GeneratedBeanValidator";
+
+    static final String NATIVE_IMAGE_DIR_OPTION = "jackson.beanvalidation.nativeImageDir";
+    static final String DEFAULT_NATIVE_IMAGE_DIR = "jackson-bean-validation-generated";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + GENERATED_BEAN_VALIDATOR;
+    private static final Pattern REFLECT_CONFIG_NAME = Pattern.compile("\"name\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final Set<String> generatedValidators = new TreeSet<>();
+    private final Set<String> validatedTypes = new TreeSet<>();
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        BeanIntrospector introspector = new BeanIntrospector(processingEnv.getElementUtils());
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    continue;
+                }
+                validatedTypes.add(
+                        processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                if (isAccessible((TypeElement) element)) {
+                    generateValidator(introspector.introspect((TypeElement) element));
+                }
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            if (!generatedValidators.isEmpty()) {
+                writeServiceFile();
+            }
+            if (!validatedTypes.isEmpty()) {
+                writeReflectConfig();
+            }
+        }
+        return false;
+    }
+
+
+    private static boolean isAccessible(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            NestingKind nestingKind = ((TypeElement) element).getNestingKind();
+            if (element.getModifiers().contains(Modifier.PRIVATE) ||
+                    nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+
+    private void generateValidator(BeanModel bean) {
+        String qualifiedName = bean.getQualifiedValidatorName();
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedName, bean.getType());
+            try (Writer writer = sourceFile.openWriter()) {
+                new ValidatorSourceWriter(bean, writer).write();
+            }
+            generatedValidators.add(qualifiedName);
+
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not generate " + qualifiedName + ": " + ex.getMessage(), bean.getType());
+        }
+    }
+
+
+    private void writeServiceFile() {
+        Filer filer = processingEnv.getFiler();
+        Set<String> serviceNames = new TreeSet<>(generatedValidators);
+
+        // Keep the entries of an incremental compilation, where only some of the classes are processed
+        try {
+            FileObject existingFile = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Reader reader = existingFile.openReader(true);
+                 BufferedReader lineReader = new BufferedReader(reader)) {
+                String line;
+                while ((line = lineReader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        serviceNames.add(line.trim());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            // no existing service file
+        }
+
+        try {
+            FileObject serviceFile = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = new OutputStreamWriter(serviceFile.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String serviceName : serviceNames) {
+                    writer.write(serviceName);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + SERVICE_FILE + ": " + ex.getMessage());
+        }
+    }
+
+
+    private void writeReflectConfig() {
+        String dir = processingEnv.getOptions().getOrDefault(NATIVE_IMAGE_DIR_OPTION, DEFAULT_NATIVE_IMAGE_DIR);
+        String configFile = "META-INF/native-image/" + dir + "/reflect-config.json";
+        Filer filer = processingEnv.getFiler();
+        Set<String> typeNames = new TreeSet<>(validatedTypes);
+
+        // Keep the entries of an incremental compilation, where only some of the classes are processed
+        try {
+            FileObject existingFile = filer.getResource(StandardLocation.CLASS_OUTPUT, "", configFile);
+            Matcher matcher = REFLECT_CONFIG_NAME.matcher(existingFile.getCharContent(true));
+            while (matcher.find()) {
+                typeNames.add(matcher.group(1));
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            // no existing config file
+        }
+
+        try {
+            FileObject reflectConfigFile = filer.createResource(StandardLocation.CLASS_OUTPUT, "", configFile);
+            try (Writer writer = new OutputStreamWriter(
+                    reflectConfigFile.openOutputStream(), StandardCharsets.UTF_8)) {
+                new ReflectConfigWriter(writer).write(typeNames);
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + configFile + ": " + ex.getMessage());
+        }
+    }
+}
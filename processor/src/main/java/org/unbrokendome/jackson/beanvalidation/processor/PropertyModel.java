@@ -0,0 +1,60 @@
+package org.unbrokendome.jackson.beanvalidation.processor;
+
+import java.util.List;
+
+
+/**
+ * A bean property, with the Java expression to read it and the checks for its constraints.
+ */
+final class PropertyModel {
+
+    private final String name;
+    private final String accessor;
+    private final List<String> checks;
+    private final List<String> constraints;
+
+
+    /**
+     * @param accessor the expression to read the property from a bean named {@code bean}, or {@code null} if the
+     *                 property can't be read from the generated class
+     * @param checks   an expression for each constraint of the property, testing a value named {@code value}; or
+     *                 an empty list if any of the constraints can't be checked
+     * @param constraints an expression creating the {@code GeneratedConstraint} for each of the checks
+     */
+    PropertyModel(String name, String accessor, List<String> checks, List<String> constraints) {
+        this.name = name;
+        this.accessor = accessor;
+        this.checks = checks;
+        this.constraints = constraints;
+    }
+
+
+    String getName() {
+        return name;
+    }
+
+
+    boolean isReadable() {
+        return accessor != null;
+    }
+
+
+    String getAccessor() {
+        return accessor;
+    }
+
+
+    boolean isChecked() {
+        return !checks.isEmpty();
+    }
+
+
+    List<String> getChecks() {
+        return checks;
+    }
+
+
+    List<String> getConstraints() {
+        return constraints;
+    }
+}
@@ -0,0 +1,42 @@
+package org.unbrokendome.jackson.beanvalidation.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.Set;
+
+
+/**
+ * Writes a GraalVM native-image {@code reflect-config.json} that registers classes for the reflective access of
+ * Jackson (constructors, fields and methods) and the validator (constraint annotations on fields and getters).
+ */
+final class ReflectConfigWriter {
+
+    private final Writer writer;
+
+
+    ReflectConfigWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+
+    /**
+     * @param typeNames the binary names of the classes
+     */
+    void write(Set<String> typeNames) throws IOException {
+        writer.write("[\n");
+        Iterator<String> iterator = typeNames.iterator();
+        while (iterator.hasNext()) {
+            writer.write("  {\n");
+            writer.write("    \"name\": " + ValidatorSourceWriter.stringLiteral(iterator.next()) + ",\n");
+            writer.write("    \"allDeclaredConstructors\": true,\n");
+            writer.write("    \"allPublicConstructors\": true,\n");
+            writer.write("    \"allDeclaredMethods\": true,\n");
+            writer.write("    \"allPublicMethods\": true,\n");
+            writer.write("    \"allDeclaredFields\": true,\n");
+            writer.write("    \"allPublicFields\": true\n");
+            writer.write(iterator.hasNext() ? "  },\n" : "  }\n");
+        }
+        writer.write("]\n");
+    }
+}
@@ -0,0 +1,164 @@
+package org.unbrokendome.jackson.beanvalidation.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+
+/**
+ * Writes the source of the {@code GeneratedBeanValidator} for a bean.
+ */
+final class ValidatorSourceWriter {
+
+    private final BeanModel bean;
+    private final Writer writer;
+
+
+    ValidatorSourceWriter(BeanModel bean, Writer writer) {
+        this.bean = bean;
+        this.writer = writer;
+    }
+
+
+    void write() throws IOException {
+        String typeName = bean.getTypeName();
+
+        line("// Generated by " + JsonValidatedProcessor.class.getName() + ", do not edit");
+        if (!bean.getPackageName().isEmpty()) {
+            line("package " + bean.getPackageName() + ";");
+        }
+        line("");
+        line("import org.unbrokendome.jackson.beanvalidation.ConstraintChecks;");
+        line("import org.unbrokendome.jackson.beanvalidation.GeneratedConstraint;");
+        line("import " + JsonValidatedProcessor.GENERATED_BEAN_VALIDATOR + ";");
+        line("");
+        line("");
+        if (bean.isGeneric()) {
+            line("@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+        }
+        line("public final class " + bean.getValidatorName() + " implements GeneratedBeanValidator<" +
+                typeName + "> {");
+
+        List<String> patterns = bean.getPatterns();
+        if (!patterns.isEmpty()) {
+            line("");
+            for (int i = 0; i < patterns.size(); i++) {
+                line("    private static final java.util.regex.Pattern PATTERN_" + i +
+                        " = java.util.regex.Pattern.compile(" + stringLiteral(patterns.get(i)) + ");");
+            }
+        }
+
+        method("public Class<" + typeName + "> getBeanType()");
+        line("        return " + typeName + ".class;");
+        line("    }");
+
+        method("public boolean hasProperty(String propertyName)");
+        line("        switch (propertyName) {");
+        boolean anyReadable = false;
+        for (PropertyModel property : bean.getProperties()) {
+            if (property.isReadable()) {
+                line("            case " + stringLiteral(property.getName()) + ":");
+                anyReadable = true;
+            }
+        }
+        if (anyReadable) {
+            line("                return true;");
+        }
+        line("            default:");
+        line("                return false;");
+        line("        }");
+        line("    }");
+
+        method("public Object getProperty(" + typeName + " bean, String propertyName)");
+        line("        switch (propertyName) {");
+        for (PropertyModel property : bean.getProperties()) {
+            if (property.isReadable()) {
+                line("            case " + stringLiteral(property.getName()) + ":");
+                line("                return bean." + property.getAccessor() + ";");
+            }
+        }
+        line("            default:");
+        line("                throw new IllegalArgumentException(\"Property \\\"\" + propertyName + " +
+                "\"\\\" cannot be read from \" + getBeanType());");
+        line("        }");
+        line("    }");
+
+        method("public java.util.List<GeneratedConstraint> getConstraints(String propertyName)");
+        line("        switch (propertyName) {");
+        for (PropertyModel property : bean.getProperties()) {
+            if (property.isChecked()) {
+                line("            case " + stringLiteral(property.getName()) + ":");
+                line("                return java.util.Arrays.asList(");
+                List<String> constraints = property.getConstraints();
+                for (int i = 0; i < constraints.size(); i++) {
+                    line("                        " + constraints.get(i) + (i < constraints.size() - 1 ? "," : ");"));
+                }
+            }
+        }
+        line("            default:");
+        line("                return java.util.Collections.emptyList();");
+        line("        }");
+        line("    }");
+
+        method("public boolean isKnownValid(String propertyName, Object value)");
+        line("        switch (propertyName) {");
+        for (PropertyModel property : bean.getProperties()) {
+            if (property.isChecked()) {
+                line("            case " + stringLiteral(property.getName()) + ":");
+                line("                return " + String.join(" && ", property.getChecks()) + ";");
+            }
+        }
+        line("            default:");
+        line("                return false;");
+        line("        }");
+        line("    }");
+
+        line("}");
+    }
+
+
+    private void method(String signature) throws IOException {
+        line("");
+        line("");
+        line("    @Override");
+        line("    " + signature + " {");
+    }
+
+
+    private void line(String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+    }
+
+
+    static String stringLiteral(String s) {
+        StringBuilder builder = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -1,2 +1,4 @@
 rootProject.name = "jackson-bean-validation"
 
+include("processor")
+project(":processor").name = "jackson-bean-validation-processor"
@@ -0,0 +1,267 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.GroupSequence;
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.Scope;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+class GeneratedBeanValidatorTest {
+
+    @JsonValidated
+    public static class Person {
+
+        @NotNull
+        @Size(max = 10)
+        private String name;
+
+        @Min(18)
+        @JsonProperty
+        int age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public interface Extended {
+    }
+
+    @JsonValidated
+    @GroupSequence({ SequencedBean.class, Extended.class })
+    public static class SequencedBean {
+
+        @NotNull
+        public String name;
+    }
+
+    @JsonValidated
+    public static class ContainerElementBean {
+
+        @Size(max = 3)
+        public List<@NotBlank String> tags;
+    }
+
+    @JsonValidated
+    public static class PatternFlagsBean {
+
+        @Pattern(regexp = "[a-z]+", flags = Pattern.Flag.CASE_INSENSITIVE)
+        public String code;
+    }
+
+    public static class BaseBean {
+
+        @Size(max = 5)
+        public String getName() {
+            return null;
+        }
+    }
+
+    @JsonValidated
+    public static class DerivedBean extends BaseBean {
+
+        @Size(max = 10)
+        private String name;
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    private ValidatorFactory validatorFactory = Validation.byDefaultProvider()
+            .configure()
+            .messageInterpolator(new ParameterMessageInterpolator())
+            .buildValidatorFactory();
+
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new BeanValidationModule(validatorFactory));
+
+    @Test
+    void shouldGenerateValidatorForJsonValidatedClass() {
+        GeneratedBeanValidator<Object> validator = GeneratedBeanValidators.find(Person.class);
+
+        Assertions.assertNotNull(validator);
+        Assertions.assertEquals(Person.class, validator.getBeanType());
+        Assertions.assertTrue(validator.hasProperty("name"));
+        Assertions.assertEquals(2, validator.getConstraints("name").size());
+        Assertions.assertTrue(validator.isKnownValid("name", "Joe"));
+        Assertions.assertFalse(validator.isKnownValid("name", null));
+        Assertions.assertFalse(validator.isKnownValid("name", "Frank Fitzgerald"));
+        Assertions.assertTrue(validator.isKnownValid("age", 18));
+        Assertions.assertFalse(validator.isKnownValid("age", 17));
+    }
+
+    @Test
+    void shouldLoadGeneratedValidatorByName() {
+        Assertions.assertEquals(
+                "org.unbrokendome.jackson.beanvalidation.GeneratedBeanValidatorTest_Person_GeneratedBeanValidator",
+                GeneratedBeanValidators.getValidatorName(Person.class));
+
+        GeneratedBeanValidator<Object> validator = GeneratedBeanValidators.find(Person.class);
+        Assertions.assertNotNull(validator);
+        Assertions.assertEquals(GeneratedBeanValidators.getValidatorName(Person.class),
+                validator.getClass().getName());
+        Assertions.assertSame(validator, GeneratedBeanValidators.find(Person.class));
+        Assertions.assertNull(GeneratedBeanValidators.find(BaseBean.class));
+    }
+
+    @Test
+    void shouldListTranslatedConstraintsWithTheirAttributes() {
+        GeneratedBeanValidator<Object> validator = GeneratedBeanValidators.find(Person.class);
+        Assertions.assertNotNull(validator);
+
+        List<GeneratedConstraint> constraints = validator.getConstraints("name");
+        Assertions.assertEquals(Arrays.asList(NotNull.class, Size.class),
+                Arrays.asList(constraints.get(0).getType(), constraints.get(1).getType()));
+        Assertions.assertEquals(10, constraints.get(1).getAttributes().get("max"));
+        Assertions.assertEquals(18L, validator.getConstraints("age").get(0).getAttributes().get("value"));
+        Assertions.assertTrue(validator.getConstraints("unknown").isEmpty());
+    }
+
+    @Test
+    void shouldMatchConstraintsByAttributes() {
+        ConstraintDescriptor<?> sizeConstraint = validatorFactory.getValidator()
+                .getConstraintsForClass(Person.class)
+                .getConstraintsForProperty("name")
+                .findConstraints()
+                .lookingAt(Scope.LOCAL_ELEMENT)
+                .getConstraintDescriptors().stream()
+                .filter(constraint -> constraint.getAnnotation() instanceof Size)
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+
+        Assertions.assertTrue(GeneratedConstraint.of(Size.class, "min", 0, "max", 10).matches(sizeConstraint));
+        Assertions.assertFalse(GeneratedConstraint.of(Size.class, "min", 0, "max", 5).matches(sizeConstraint));
+        Assertions.assertFalse(GeneratedConstraint.of(NotNull.class).matches(sizeConstraint));
+    }
+
+    @Test
+    void shouldNotCheckConstraintsOfClassWithGroupSequence() {
+        GeneratedBeanValidator<Object> validator = GeneratedBeanValidators.find(SequencedBean.class);
+
+        Assertions.assertNotNull(validator);
+        Assertions.assertTrue(validator.getConstraints("name").isEmpty());
+        Assertions.assertFalse(validator.isKnownValid("name", "Joe"));
+    }
+
+    @Test
+    void shouldNotCheckPropertyWithContainerElementConstraints() {
+        GeneratedBeanValidator<Object> validator = GeneratedBeanValidators.find(ContainerElementBean.class);
+
+        Assertions.assertNotNull(validator);
+        Assertions.assertTrue(validator.getConstraints("tags").isEmpty());
+        Assertions.assertFalse(validator.isKnownValid("tags", Collections.singletonList("a")));
+    }
+
+    @Test
+    void shouldNotCheckPatternWithFlags() {
+        GeneratedBeanValidator<Object> validator = GeneratedBeanValidators.find(PatternFlagsBean.class);
+
+        Assertions.assertNotNull(validator);
+        Assertions.assertTrue(validator.getConstraints("code").isEmpty());
+        Assertions.assertFalse(validator.isKnownValid("code", "abc"));
+    }
+
+    @Test
+    void shouldNotUseChecksIfConstraintsAreInherited() {
+        GeneratedBeanValidator<Object> validator = GeneratedBeanValidators.find(DerivedBean.class);
+        Assertions.assertNotNull(validator);
+        Assertions.assertEquals(1, validator.getConstraints("name").size());
+        Assertions.assertTrue(validator.isKnownValid("name", "Frank"));
+
+        ConstraintViolationException ex = Assertions.assertThrows(ConstraintViolationException.class,
+                () -> objectMapper.readValue("{ \"name\": \"Frankie\" }", DerivedBean.class));
+
+        Assertions.assertEquals(1, ex.getConstraintViolations().size());
+        Assertions.assertEquals("name",
+                ex.getConstraintViolations().iterator().next().getPropertyPath().toString());
+    }
+
+    @Test
+    void shouldGenerateNativeImageReflectConfig() throws Exception {
+        URL reflectConfig = getClass().getClassLoader()
+                .getResource("META-INF/native-image/jackson-bean-validation-generated/reflect-config.json");
+
+        Assertions.assertNotNull(reflectConfig);
+        try (InputStream input = reflectConfig.openStream()) {
+            String content = new String(readAllBytes(input), StandardCharsets.UTF_8);
+            Assertions.assertTrue(content.contains("\"name\": \"" + Person.class.getName() + "\""));
+        }
+    }
+
+    private static byte[] readAllBytes(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int count;
+        while ((count = input.read(buffer)) != -1) {
+            output.write(buffer, 0, count);
+        }
+        return output.toByteArray();
+    }
+
+    @Test
+    void shouldAcceptValidInput() throws Exception {
+        Person person = objectMapper.readValue("{ \"name\": \"Joe\", \"age\": 42 }", Person.class);
+
+        Assertions.assertEquals("Joe", person.getName());
+        Assertions.assertEquals(42, person.age);
+    }
+
+    @Test
+    void shouldReportViolationsFromValidator() {
+        String json = "{ \"name\": \"Frank Fitzgerald\", \"age\": 17 }";
+
+        ConstraintViolationException ex = Assertions.assertThrows(ConstraintViolationException.class,
+                () -> objectMapper.readValue(json, Person.class));
+
+        Set<String> paths = new TreeSet<>();
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            paths.add(violation.getPropertyPath().toString());
+        }
+        Assertions.assertEquals(new TreeSet<>(Arrays.asList("age", "name")), paths);
+    }
+
+    @Test
+    void shouldReportViolationsOfMissingProperties() {
+        String json = "{ \"age\": 18 }";
+
+        ConstraintViolationException ex = Assertions.assertThrows(ConstraintViolationException.class,
+                () -> objectMapper.readValue(json, Person.class));
+
+        Assertions.assertEquals(1, ex.getConstraintViolations().size());
+        Assertions.assertEquals("name",
+                ex.getConstraintViolations().iterator().next().getPropertyPath().toString());
+    }
+}
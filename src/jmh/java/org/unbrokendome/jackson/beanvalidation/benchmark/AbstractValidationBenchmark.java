@@ -0,0 +1,123 @@
+package org.unbrokendome.jackson.beanvalidation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.unbrokendome.jackson.beanvalidation.BeanValidationModule;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Base class for benchmarks that compare deserializing a document with the {@link BeanValidationModule}
+ * against plain Jackson, with and without running a {@link Validator} on the result afterwards.
+ * <p>
+ * Every benchmark is run with a valid and an invalid document. Invalid documents result in a
+ * {@link ConstraintViolationException} in both validating variants, so that the cost of reporting the
+ * violations is included on both sides.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public abstract class AbstractValidationBenchmark {
+
+    @Param({ "valid", "invalid" })
+    public String input;
+
+    private ObjectReader plainReader;
+    private ObjectReader validatingReader;
+    private Validator validator;
+    private byte[] json;
+
+
+    @Setup
+    public void setUp() {
+        ValidatorFactory validatorFactory = Validation.byDefaultProvider()
+                .configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        plainReader = configure(new ObjectMapper())
+                .readerFor(getTargetType());
+        validatingReader = configure(new ObjectMapper().registerModule(new BeanValidationModule(validatorFactory)))
+                .readerFor(getTargetType());
+
+        json = createJson("valid".equals(input)).getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Registers additional modules on both the plain and the validating {@link ObjectMapper}.
+     */
+    protected ObjectMapper configure(ObjectMapper objectMapper) {
+        return objectMapper;
+    }
+
+
+    protected abstract Class<?> getTargetType();
+
+
+    protected abstract String createJson(boolean valid);
+
+
+    /**
+     * Validates a deserialized value after the fact, for comparison with the module.
+     */
+    protected Set<? extends ConstraintViolation<?>> validate(Validator validator, Object value) {
+        return validator.validate(value);
+    }
+
+
+    @Benchmark
+    public Object jackson() throws IOException {
+        return plainReader.readValue(json);
+    }
+
+
+    @Benchmark
+    public Object jacksonThenValidate() throws IOException {
+        try {
+            Object value = plainReader.readValue(json);
+            Set<? extends ConstraintViolation<?>> violations = validate(validator, value);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+            return value;
+        } catch (ConstraintViolationException ex) {
+            return ex.getConstraintViolations();
+        }
+    }
+
+
+    @Benchmark
+    public Object validatingDeserialization() throws IOException {
+        try {
+            return validatingReader.readValue(json);
+        } catch (ConstraintViolationException ex) {
+            return ex.getConstraintViolations();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.unbrokendome.jackson.beanvalidation.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+
+/**
+ * Deserializes a top-level array of validated beans.
+ */
+public class BeanArrayBenchmark extends AbstractValidationBenchmark {
+
+    @Param({ "100" })
+    public int size;
+
+
+    @Override
+    protected Class<?> getTargetType() {
+        return Customer[].class;
+    }
+
+
+    @Override
+    protected String createJson(boolean valid) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            // only the last element is invalid in the invalid variant
+            builder.append(Customer.json(i, valid || i < size - 1));
+        }
+        return builder.append(']').toString();
+    }
+
+
+    @Override
+    protected Set<? extends ConstraintViolation<?>> validate(Validator validator, Object value) {
+        Set<ConstraintViolation<?>> violations = new LinkedHashSet<>();
+        for (Customer customer : (Customer[]) value) {
+            violations.addAll(validator.validate(customer));
+        }
+        return violations;
+    }
+}
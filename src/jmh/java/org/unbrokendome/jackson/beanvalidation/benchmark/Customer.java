@@ -0,0 +1,81 @@
+package org.unbrokendome.jackson.beanvalidation.benchmark;
+
+import org.unbrokendome.jackson.beanvalidation.JsonValidated;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+
+/**
+ * Bean with a default constructor and setters, deserialized by {@code vanillaDeserialize}.
+ */
+@JsonValidated
+public class Customer {
+
+    @NotNull
+    @Size(min = 1, max = 50)
+    private String name;
+
+    @NotNull
+    @Pattern(regexp = "[^@]+@[^@]+")
+    private String email;
+
+    @Min(0)
+    @Max(150)
+    private int age;
+
+    @Size(max = 5)
+    private List<String> tags;
+
+
+    public String getName() {
+        return name;
+    }
+
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+
+    public String getEmail() {
+        return email;
+    }
+
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+
+    public int getAge() {
+        return age;
+    }
+
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+
+    static String json(int index, boolean valid) {
+        return "{\"name\":\"Customer " + index + "\"," +
+                "\"email\":\"" + (valid ? "customer" + index + "@example.com" : "customer" + index) + "\"," +
+                "\"age\":" + (valid ? 42 : -1) + "," +
+                "\"tags\":[\"a\",\"b\",\"c\"]}";
+    }
+}
@@ -0,0 +1,28 @@
+package org.unbrokendome.jackson.beanvalidation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.kotlin.KotlinModule;
+
+
+/**
+ * Deserializes a Kotlin data class, which uses the {@code KotlinValidatingBeanDeserializer}.
+ */
+public class KotlinDataClassBenchmark extends AbstractValidationBenchmark {
+
+    @Override
+    protected ObjectMapper configure(ObjectMapper objectMapper) {
+        return objectMapper.registerModule(new KotlinModule());
+    }
+
+
+    @Override
+    protected Class<?> getTargetType() {
+        return KotlinCustomer.class;
+    }
+
+
+    @Override
+    protected String createJson(boolean valid) {
+        return Customer.json(0, valid);
+    }
+}
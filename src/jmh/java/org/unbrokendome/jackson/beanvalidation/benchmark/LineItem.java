@@ -0,0 +1,70 @@
+package org.unbrokendome.jackson.beanvalidation.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.unbrokendome.jackson.beanvalidation.JsonValidated;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+
+/**
+ * Bean with a property-based creator, deserialized by {@code _deserializeUsingPropertyBased}.
+ * <p>
+ * The creator parameters are validated by the module; the constraints are repeated on the fields so that
+ * {@link javax.validation.Validator#validate} checks the same values after the fact.
+ */
+@JsonValidated
+public class LineItem {
+
+    @NotNull
+    @Pattern(regexp = "[A-Z]{3}-[0-9]{4}")
+    private final String sku;
+
+    @Min(1)
+    @Max(999)
+    private final int quantity;
+
+    @Size(max = 100)
+    private String note;
+
+
+    @JsonCreator
+    public LineItem(
+            @JsonProperty("sku") @NotNull @Pattern(regexp = "[A-Z]{3}-[0-9]{4}") String sku,
+            @JsonProperty("quantity") @Min(1) @Max(999) int quantity
+    ) {
+        this.sku = sku;
+        this.quantity = quantity;
+    }
+
+
+    public String getSku() {
+        return sku;
+    }
+
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+
+    public String getNote() {
+        return note;
+    }
+
+
+    public void setNote(String note) {
+        this.note = note;
+    }
+
+
+    static String json(int index, boolean valid) {
+        return "{\"sku\":\"" + (valid ? "ABC-" : "abc-") + (1000 + index) + "\"," +
+                "\"quantity\":" + (index + 1) + "," +
+                "\"note\":\"Line item " + index + "\"}";
+    }
+}
@@ -0,0 +1,33 @@
+package org.unbrokendome.jackson.beanvalidation.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+
+
+public class NestedCascadeBenchmark extends AbstractValidationBenchmark {
+
+    @Param({ "10" })
+    public int itemCount;
+
+
+    @Override
+    protected Class<?> getTargetType() {
+        return Order.class;
+    }
+
+
+    @Override
+    protected String createJson(boolean valid) {
+        StringBuilder builder = new StringBuilder()
+                .append("{\"orderNumber\":\"ORD-1\",\"customer\":")
+                .append(Customer.json(0, valid))
+                .append(",\"items\":[");
+        for (int i = 0; i < itemCount; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            // only the last item is invalid in the invalid variant
+            builder.append(LineItem.json(i, valid || i < itemCount - 1));
+        }
+        return builder.append("]}").toString();
+    }
+}
@@ -0,0 +1,58 @@
+package org.unbrokendome.jackson.beanvalidation.benchmark;
+
+import org.unbrokendome.jackson.beanvalidation.JsonValidated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+
+/**
+ * Bean that cascades validation to a nested bean and to a list of beans.
+ */
+@JsonValidated
+public class Order {
+
+    @NotNull
+    @Size(min = 1, max = 20)
+    private String orderNumber;
+
+    @Valid
+    @NotNull
+    private Customer customer;
+
+    @Valid
+    @Size(min = 1)
+    private List<LineItem> items;
+
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+
+    public List<LineItem> getItems() {
+        return items;
+    }
+
+
+    public void setItems(List<LineItem> items) {
+        this.items = items;
+    }
+}
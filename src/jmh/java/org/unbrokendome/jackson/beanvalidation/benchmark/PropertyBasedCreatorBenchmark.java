@@ -0,0 +1,16 @@
+package org.unbrokendome.jackson.beanvalidation.benchmark;
+
+
+public class PropertyBasedCreatorBenchmark extends AbstractValidationBenchmark {
+
+    @Override
+    protected Class<?> getTargetType() {
+        return LineItem.class;
+    }
+
+
+    @Override
+    protected String createJson(boolean valid) {
+        return LineItem.json(0, valid);
+    }
+}
@@ -0,0 +1,16 @@
+package org.unbrokendome.jackson.beanvalidation.benchmark;
+
+
+public class VanillaBeanBenchmark extends AbstractValidationBenchmark {
+
+    @Override
+    protected Class<?> getTargetType() {
+        return Customer.class;
+    }
+
+
+    @Override
+    protected String createJson(boolean valid) {
+        return Customer.json(0, valid);
+    }
+}
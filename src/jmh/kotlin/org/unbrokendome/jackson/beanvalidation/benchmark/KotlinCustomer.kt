@@ -0,0 +1,28 @@
+package org.unbrokendome.jackson.beanvalidation.benchmark
+
+import org.unbrokendome.jackson.beanvalidation.JsonValidated
+import javax.validation.constraints.Max
+import javax.validation.constraints.Min
+import javax.validation.constraints.Pattern
+import javax.validation.constraints.Size
+
+
+/**
+ * Kotlin counterpart of [Customer]. The constraints are applied to both the constructor parameters (validated
+ * by the module) and the fields (validated by [javax.validation.Validator.validate]).
+ */
+@JsonValidated
+data class KotlinCustomer(
+
+    @param:Size(min = 1, max = 50) @field:Size(min = 1, max = 50)
+    val name: String,
+
+    @param:Pattern(regexp = "[^@]+@[^@]+") @field:Pattern(regexp = "[^@]+@[^@]+")
+    val email: String,
+
+    @param:Min(0) @param:Max(150) @field:Min(0) @field:Max(150)
+    val age: Int,
+
+    @param:Size(max = 5) @field:Size(max = 5)
+    val tags: List<String> = emptyList()
+)
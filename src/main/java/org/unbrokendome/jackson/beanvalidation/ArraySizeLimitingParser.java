@@ -0,0 +1,146 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+
+
+/**
+ * Parser for the value of a property that is a JSON array, which makes the array appear to end after it had
+ * more elements than the maximum size. The deserializer of the property stops there, instead of materializing
+ * an arbitrary number of elements that would be rejected anyway.
+ * <p>
+ * If the limit was {@linkplain #isLimitExceeded() exceeded}, the underlying parser is still positioned at the
+ * first token of the element that exceeded it, and the rest of the array must be skipped with
+ * {@link #skipRemainingElements()}.
+ */
+final class ArraySizeLimitingParser extends JsonParserDelegate {
+
+    private final JsonStreamContext arrayContext;
+    private final int maxSize;
+    private int size;
+    private boolean limitExceeded;
+
+
+    /**
+     * @param p       the parser, positioned on the {@link JsonToken#START_ARRAY} token of the array
+     * @param maxSize the maximum number of elements
+     */
+    ArraySizeLimitingParser(JsonParser p, int maxSize) {
+        super(p);
+        this.arrayContext = p.getParsingContext();
+        this.maxSize = maxSize;
+    }
+
+
+    boolean isLimitExceeded() {
+        return limitExceeded;
+    }
+
+
+    @Override
+    @Nullable
+    public JsonToken nextToken() throws IOException {
+        if (limitExceeded) {
+            return JsonToken.END_ARRAY;
+        }
+        return countElement(delegate.nextToken());
+    }
+
+
+    @Override
+    @Nullable
+    public JsonToken nextValue() throws IOException {
+        if (limitExceeded) {
+            return JsonToken.END_ARRAY;
+        }
+        return countElement(delegate.nextValue());
+    }
+
+
+    @Nullable
+    private JsonToken countElement(@Nullable JsonToken token) {
+        if (token != null && !token.isStructEnd() && token != JsonToken.FIELD_NAME) {
+            // The start of a nested object or array has already entered its own context
+            JsonStreamContext context = token.isStructStart() ?
+                    delegate.getParsingContext().getParent() : delegate.getParsingContext();
+            if (context == arrayContext && ++size > maxSize) {
+                limitExceeded = true;
+                return JsonToken.END_ARRAY;
+            }
+        }
+        return token;
+    }
+
+
+    /**
+     * Skips the elements of the array that were hidden from the deserializer, leaving the underlying parser on the
+     * {@link JsonToken#END_ARRAY} token of the array.
+     */
+    void skipRemainingElements() throws IOException {
+        if (!limitExceeded) {
+            return;
+        }
+        JsonToken token = delegate.currentToken();
+        while (token != null && token != JsonToken.END_ARRAY) {
+            delegate.skipChildren();
+            token = delegate.nextToken();
+        }
+    }
+
+
+    @Override
+    public void clearCurrentToken() {
+        // The underlying parser must stay on the element that exceeded the limit, so that it can be skipped
+        if (!limitExceeded) {
+            delegate.clearCurrentToken();
+        }
+    }
+
+
+    @Override
+    public JsonToken currentToken() {
+        return limitExceeded ? JsonToken.END_ARRAY : delegate.currentToken();
+    }
+
+
+    @Override
+    public JsonToken getCurrentToken() {
+        return currentToken();
+    }
+
+
+    @Override
+    public int currentTokenId() {
+        return limitExceeded ? JsonTokenId.ID_END_ARRAY : delegate.currentTokenId();
+    }
+
+
+    @Override
+    public int getCurrentTokenId() {
+        return currentTokenId();
+    }
+
+
+    @Override
+    public boolean hasCurrentToken() {
+        return limitExceeded || delegate.hasCurrentToken();
+    }
+
+
+    @Override
+    public boolean hasToken(JsonToken t) {
+        return limitExceeded ? (t == JsonToken.END_ARRAY) : delegate.hasToken(t);
+    }
+
+
+    @Override
+    public boolean hasTokenId(int id) {
+        return limitExceeded ? (id == JsonTokenId.ID_END_ARRAY) : delegate.hasTokenId(id);
+    }
+}
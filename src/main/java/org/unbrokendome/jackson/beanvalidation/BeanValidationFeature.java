@@ -10,7 +10,16 @@ public enum BeanValidationFeature {
     REPORT_NULL_PRIMITIVE_AS_NOTNULL_VIOLATION(true),
     MAP_CREATOR_VIOLATIONS_TO_PROPERTY_VIOLATIONS(true),
     VALIDATE_KOTLIN_LATEINIT_VARS(true),
-    VALIDATE_BEAN_AFTER_CONSTRUCTION(false);
+    VALIDATE_BEAN_AFTER_CONSTRUCTION(false),
+    INTERPOLATE_MESSAGES_LAZILY(false),
+    FAIL_FAST(false),
+    MEMOIZE_VALUE_OBJECT_VALIDATION(false),
+    VALIDATE_UPDATED_PROPERTIES_ONLY(false),
+    USE_GENERATED_VALIDATORS(true),
+    OPTIMIZE_PROPERTY_ACCESS(false),
+    EVALUATE_STANDARD_CONSTRAINTS(false),
+    CHECK_STRING_SIZE_BEFORE_DESERIALIZATION(false),
+    LIMIT_ARRAY_SIZE_DURING_DESERIALIZATION(false);
 
 
     private final boolean enabledByDefault;
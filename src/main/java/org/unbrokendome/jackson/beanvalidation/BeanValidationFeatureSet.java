@@ -1,15 +1,45 @@
 package org.unbrokendome.jackson.beanvalidation;
 
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 
 final class BeanValidationFeatureSet {
 
+    /**
+     * Start time returned by {@link #startValidation()} if there are no listeners.
+     */
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    // The same array for every document whose reader overrides the groups with a single class, so that the plan
+    // for the groups is found by identity
+    private static final ClassValue<Class<?>[]> singleGroups = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            return new Class<?>[]{type};
+        }
+    };
+
     private final Set<BeanValidationFeature> features;
+    private final Collection<ValidationListener> listeners;
+    private volatile int maxViolations = ViolationCollector.UNLIMITED;
+    private volatile double samplingRate = 1.0;
+    private final SamplingStatistics samplingStatistics = new SamplingStatistics();
 
 
     BeanValidationFeatureSet(Set<BeanValidationFeature> features) {
+        this(features, Collections.emptyList());
+    }
+
+
+    BeanValidationFeatureSet(Set<BeanValidationFeature> features, Collection<ValidationListener> listeners) {
         this.features = features;
+        this.listeners = listeners;
     }
 
 
@@ -21,4 +51,115 @@ final class BeanValidationFeatureSet {
     boolean isDisabled(BeanValidationFeature feature) {
         return !features.contains(feature);
     }
+
+
+    /**
+     * Checks a feature that can be overridden for a single {@code ObjectReader}, by setting an attribute with
+     * the feature as key and a {@link Boolean} value.
+     */
+    boolean isEnabled(BeanValidationFeature feature, DeserializationContext ctxt) {
+        Object override = ctxt.getAttribute(feature);
+        if (override instanceof Boolean) {
+            return (Boolean) override;
+        }
+        return isEnabled(feature);
+    }
+
+
+    void setMaxViolations(int maxViolations) {
+        this.maxViolations = maxViolations;
+    }
+
+
+    /**
+     * Gets the maximum number of violations to collect for a document, taking into account the overrides
+     * for the current {@code ObjectReader}. Fail-fast mode is a limit of 1, but unlike a limit, it also aborts at
+     * the first violation.
+     */
+    int getMaxViolations(DeserializationContext ctxt) {
+        if (isEnabled(BeanValidationFeature.FAIL_FAST, ctxt)) {
+            return 1;
+        }
+        Object override = ctxt.getAttribute(BeanValidationModule.MAX_VIOLATIONS);
+        if (override instanceof Integer && (Integer) override > 0) {
+            return (Integer) override;
+        }
+        return maxViolations;
+    }
+
+
+    void setSamplingRate(double samplingRate) {
+        this.samplingRate = samplingRate;
+    }
+
+
+    /**
+     * Gets the fraction of documents to validate, taking into account the override for the current
+     * {@code ObjectReader}.
+     */
+    double getSamplingRate(DeserializationContext ctxt) {
+        Object override = ctxt.getAttribute(BeanValidationModule.SAMPLING_RATE);
+        if (override instanceof Number) {
+            double samplingRate = ((Number) override).doubleValue();
+            if (samplingRate >= 0.0 && samplingRate <= 1.0) {
+                return samplingRate;
+            }
+        }
+        return samplingRate;
+    }
+
+
+    /**
+     * Decides whether a document is validated, given a sampling rate below 1, and counts the decision.
+     */
+    boolean sampleDocument(double samplingRate) {
+        if (ThreadLocalRandom.current().nextDouble() < samplingRate) {
+            return true;
+        }
+        samplingStatistics.recordSkipped();
+        return false;
+    }
+
+
+    SamplingStatistics getSamplingStatistics() {
+        return samplingStatistics;
+    }
+
+
+    /**
+     * Gets the validation groups that override the groups of all {@link JsonValidated} annotations for the
+     * current {@code ObjectReader}, or {@code null} if there is no override.
+     */
+    @Nullable
+    Class<?>[] getGroupsOverride(DeserializationContext ctxt) {
+        Object override = ctxt.getAttribute(BeanValidationModule.VALIDATION_GROUPS);
+        if (override instanceof Class<?>[]) {
+            return (Class<?>[]) override;
+        } else if (override instanceof Class<?>) {
+            return singleGroups.get((Class<?>) override);
+        }
+        return null;
+    }
+
+
+    /**
+     * Returns the start time of a validation to pass to {@link #endValidation}. The clock is only read if
+     * there are any listeners.
+     */
+    long startValidation() {
+        return listeners.isEmpty() ? NOT_TIMED : System.nanoTime();
+    }
+
+
+    /**
+     * Notifies the listeners of a validation that was started with {@link #startValidation()}.
+     */
+    void endValidation(Class<?> beanType, ValidationPhase phase, long startNanos, int violationCount) {
+        if (startNanos != NOT_TIMED) {
+            long durationNanos = System.nanoTime() - startNanos;
+            for (ValidationListener listener : listeners) {
+                listener.onValidation(beanType, phase, durationNanos, violationCount);
+            }
+        }
+    }
 }
@@ -9,12 +9,35 @@ import javax.validation.ConstraintViolationException;
 import javax.validation.ValidatorFactory;
 import java.io.IOException;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 public final class BeanValidationModule extends Module {
 
+    /**
+     * Key of an {@code ObjectReader} attribute that overrides the {@link #setMaxViolations maximum number of
+     * violations} for that reader. The value must be a positive {@link Integer}.
+     */
+    public static final String MAX_VIOLATIONS = "org.unbrokendome.jackson.beanvalidation.maxViolations";
+
+    /**
+     * Key of an {@code ObjectReader} attribute that overrides the {@link JsonValidated#groups() validation groups}
+     * for all beans in the documents read by that reader. The value must be a {@code Class<?>[]} or a single
+     * {@code Class<?>}.
+     */
+    public static final String VALIDATION_GROUPS = "org.unbrokendome.jackson.beanvalidation.validationGroups";
+
+    /**
+     * Key of an {@code ObjectReader} attribute that overrides the {@link #setSamplingRate sampling rate} for that
+     * reader. The value must be a {@link Number} between 0 and 1.
+     */
+    public static final String SAMPLING_RATE = "org.unbrokendome.jackson.beanvalidation.samplingRate";
+
     private final ValidatorFactory validatorFactory;
     private final EnumSet<BeanValidationFeature> features;
+    private final List<ValidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final BeanValidationFeatureSet featureSet;
 
 
     public BeanValidationModule(ValidatorFactory validatorFactory) {
@@ -25,6 +48,7 @@ public final class BeanValidationModule extends Module {
     private BeanValidationModule(ValidatorFactory validatorFactory, EnumSet<BeanValidationFeature> features) {
         this.validatorFactory = validatorFactory;
         this.features = features;
+        this.featureSet = new BeanValidationFeatureSet(features, listeners);
     }
 
 
@@ -57,11 +81,72 @@ public final class BeanValidationModule extends Module {
     }
 
 
+    /**
+     * Adds a listener that is notified of every validation performed during deserialization.
+     *
+     * @see ValidationMetrics
+     */
+    public BeanValidationModule addListener(ValidationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+
+    public BeanValidationModule removeListener(ValidationListener listener) {
+        listeners.remove(listener);
+        return this;
+    }
+
+
+    /**
+     * Sets the maximum number of violations that are collected for a single document. When a document has more
+     * violations than that, deserialization is aborted without reading the rest of the input, and a
+     * {@link TruncatedConstraintViolationException} with the first violations up to the limit is thrown.
+     * <p>
+     * By default, there is no limit.
+     *
+     * @see #MAX_VIOLATIONS
+     */
+    public BeanValidationModule setMaxViolations(int maxViolations) {
+        if (maxViolations <= 0) {
+            throw new IllegalArgumentException("maxViolations must be positive");
+        }
+        featureSet.setMaxViolations(maxViolations);
+        return this;
+    }
+
+
+    /**
+     * Sets the fraction of documents that are validated, between 0 and 1. The other documents are deserialized
+     * without any validation, as if the module wasn't registered. The decision is made for each document (i.e.
+     * for the outermost validated bean), so nested beans are either all validated or not at all.
+     * <p>
+     * This is meant for input from trusted producers, where validating a sample is enough to detect
+     * regressions. By default, all documents are validated.
+     *
+     * @see #SAMPLING_RATE
+     * @see #getSamplingStatistics()
+     */
+    public BeanValidationModule setSamplingRate(double samplingRate) {
+        if (!(samplingRate >= 0.0 && samplingRate <= 1.0)) {
+            throw new IllegalArgumentException("samplingRate must be between 0 and 1");
+        }
+        featureSet.setSamplingRate(samplingRate);
+        return this;
+    }
+
+
+    /**
+     * Gets the statistics of the documents that were validated or skipped in sampling mode.
+     */
+    public SamplingStatistics getSamplingStatistics() {
+        return featureSet.getSamplingStatistics();
+    }
+
+
     @Override
     public void setupModule(SetupContext context) {
 
-        BeanValidationFeatureSet featureSet = new BeanValidationFeatureSet(features);
-
         context.addBeanDeserializerModifier(new ValidationBeanDeserializerModifier(validatorFactory, featureSet));
 
         context.addDeserializationProblemHandler(new DeserializationProblemHandler() {
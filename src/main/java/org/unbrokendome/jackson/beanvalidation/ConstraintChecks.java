@@ -0,0 +1,142 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Checks for the standard constraints, used by {@link GeneratedBeanValidator generated validators}.
+ * <p>
+ * Each check returns {@code true} only if the value certainly satisfies the constraint, following the semantics
+ * of the built-in constraint validators. Values of types that a check does not handle yield {@code false}, which
+ * makes the caller fall back to the {@link javax.validation.Validator}.
+ */
+public final class ConstraintChecks {
+
+    private static final Set<Class<? extends Annotation>> SUPPORTED_CONSTRAINTS = new HashSet<>(Arrays.asList(
+            NotNull.class, Size.class, Min.class, Max.class, NotBlank.class, NotEmpty.class, Pattern.class));
+
+
+    private ConstraintChecks() {
+    }
+
+
+    /**
+     * Determines whether the given constraint annotation type can be checked by a generated validator.
+     */
+    static boolean isSupported(Class<? extends Annotation> constraintType) {
+        return SUPPORTED_CONSTRAINTS.contains(constraintType);
+    }
+
+
+    /**
+     * Checks a {@link Size} constraint. {@code null} is valid.
+     */
+    public static boolean hasValidSize(@Nullable Object value, int min, int max) {
+        if (value == null) {
+            return true;
+        }
+        int size = sizeOf(value);
+        return size >= 0 && size >= min && size <= max;
+    }
+
+
+    /**
+     * Checks a {@link NotEmpty} constraint.
+     */
+    public static boolean isNotEmpty(@Nullable Object value) {
+        return value != null && sizeOf(value) > 0;
+    }
+
+
+    /**
+     * Checks a {@link NotBlank} constraint.
+     */
+    public static boolean isNotBlank(@Nullable Object value) {
+        return value instanceof CharSequence && value.toString().trim().length() > 0;
+    }
+
+
+    /**
+     * Checks a {@link Min} constraint. {@code null} is valid.
+     */
+    public static boolean isAtLeast(@Nullable Object value, long min) {
+        if (value == null) {
+            return true;
+        }
+        if (isIntegral(value)) {
+            return ((Number) value).longValue() >= min;
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).compareTo(BigInteger.valueOf(min)) >= 0;
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).compareTo(BigDecimal.valueOf(min)) >= 0;
+        }
+        return false;
+    }
+
+
+    /**
+     * Checks a {@link Max} constraint. {@code null} is valid.
+     */
+    public static boolean isAtMost(@Nullable Object value, long max) {
+        if (value == null) {
+            return true;
+        }
+        if (isIntegral(value)) {
+            return ((Number) value).longValue() <= max;
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).compareTo(BigInteger.valueOf(max)) <= 0;
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).compareTo(BigDecimal.valueOf(max)) <= 0;
+        }
+        return false;
+    }
+
+
+    /**
+     * Checks a {@link Pattern} constraint without flags. {@code null} is valid.
+     */
+    public static boolean matches(@Nullable Object value, java.util.regex.Pattern pattern) {
+        if (value == null) {
+            return true;
+        }
+        return value instanceof CharSequence && pattern.matcher((CharSequence) value).matches();
+    }
+
+
+    /**
+     * Gets the size of a char sequence, collection, map or array, or {@code -1} for other types.
+     */
+    static int sizeOf(Object value) {
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        } else if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        } else if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        } else if (value.getClass().isArray()) {
+            return Array.getLength(value);
+        }
+        return -1;
+    }
+
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+}
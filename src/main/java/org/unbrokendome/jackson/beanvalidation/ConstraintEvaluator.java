@@ -0,0 +1,263 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.regex.PatternSyntaxException;
+
+
+/**
+ * Evaluates one of the standard constraints without the {@link javax.validation.Validator}, following the
+ * semantics of the built-in constraint validators. The attributes are taken from the
+ * {@link ConstraintDescriptor} of the validator, so constraints that were declared in an XML mapping are evaluated
+ * the same way as annotations.
+ * <p>
+ * Evaluating a value is cheap, but not entirely free of allocations: {@link NotBlank} trims the string,
+ * {@link Pattern} creates a {@link java.util.regex.Matcher}, and the bounds of {@link Min} and {@link Max} are
+ * converted for {@link BigInteger} and {@link BigDecimal} values. Values of types that an evaluator does not handle
+ * are {@link #UNSUPPORTED}, in which case the caller has to use the validator for the whole property.
+ */
+abstract class ConstraintEvaluator {
+
+    static final int VALID = 0;
+    static final int INVALID = 1;
+    static final int UNSUPPORTED = 2;
+
+    private final ConstraintDescriptor<?> descriptor;
+
+
+    private ConstraintEvaluator(ConstraintDescriptor<?> descriptor) {
+        this.descriptor = descriptor;
+    }
+
+
+    /**
+     * Creates an evaluator for the given constraint, or returns {@code null} if it is not one of the standard
+     * constraints that can be evaluated without the validator.
+     */
+    @Nullable
+    static ConstraintEvaluator forConstraint(ConstraintDescriptor<?> descriptor) {
+        Class<? extends Annotation> constraintType = descriptor.getAnnotation().annotationType();
+        Map<String, Object> attributes = descriptor.getAttributes();
+
+        if (constraintType == NotNull.class) {
+            return new NotNullEvaluator(descriptor);
+        } else if (constraintType == Size.class) {
+            return new SizeEvaluator(descriptor, (Integer) attributes.get("min"), (Integer) attributes.get("max"));
+        } else if (constraintType == Min.class) {
+            return new MinEvaluator(descriptor, (Long) attributes.get("value"));
+        } else if (constraintType == Max.class) {
+            return new MaxEvaluator(descriptor, (Long) attributes.get("value"));
+        } else if (constraintType == NotBlank.class) {
+            return new NotBlankEvaluator(descriptor);
+        } else if (constraintType == NotEmpty.class) {
+            return new NotEmptyEvaluator(descriptor);
+        } else if (constraintType == Pattern.class) {
+            try {
+                return new PatternEvaluator(descriptor, (String) attributes.get("regexp"),
+                        (Pattern.Flag[]) attributes.get("flags"));
+            } catch (PatternSyntaxException ex) {
+                // Leave it to the validator to report the invalid pattern
+                return null;
+            }
+        }
+        return null;
+    }
+
+
+    ConstraintDescriptor<?> getDescriptor() {
+        return descriptor;
+    }
+
+
+    /**
+     * Evaluates the constraint for a value.
+     *
+     * @return {@link #VALID}, {@link #INVALID} or {@link #UNSUPPORTED}
+     */
+    abstract int evaluate(@Nullable Object value);
+
+
+    private static int result(boolean valid) {
+        return valid ? VALID : INVALID;
+    }
+
+
+    /**
+     * Compares a number with a {@code long}, or returns {@code null} if the type of number is not supported.
+     * Floating-point numbers are left to the validator, which has special rules for infinity and NaN.
+     */
+    @Nullable
+    private static Integer compare(Object value, long bound) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return Long.compare(((Number) value).longValue(), bound);
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).compareTo(BigInteger.valueOf(bound));
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).compareTo(BigDecimal.valueOf(bound));
+        }
+        return null;
+    }
+
+
+    private static final class NotNullEvaluator extends ConstraintEvaluator {
+
+        NotNullEvaluator(ConstraintDescriptor<?> descriptor) {
+            super(descriptor);
+        }
+
+
+        @Override
+        int evaluate(@Nullable Object value) {
+            return result(value != null);
+        }
+    }
+
+
+    private static final class SizeEvaluator extends ConstraintEvaluator {
+
+        private final int min;
+        private final int max;
+
+
+        SizeEvaluator(ConstraintDescriptor<?> descriptor, int min, int max) {
+            super(descriptor);
+            this.min = min;
+            this.max = max;
+        }
+
+
+        @Override
+        int evaluate(@Nullable Object value) {
+            if (value == null) {
+                return VALID;
+            }
+            int size = ConstraintChecks.sizeOf(value);
+            if (size < 0) {
+                return UNSUPPORTED;
+            }
+            return result(size >= min && size <= max);
+        }
+    }
+
+
+    private static final class MinEvaluator extends ConstraintEvaluator {
+
+        private final long min;
+
+
+        MinEvaluator(ConstraintDescriptor<?> descriptor, long min) {
+            super(descriptor);
+            this.min = min;
+        }
+
+
+        @Override
+        int evaluate(@Nullable Object value) {
+            if (value == null) {
+                return VALID;
+            }
+            Integer comparison = compare(value, min);
+            return (comparison != null) ? result(comparison >= 0) : UNSUPPORTED;
+        }
+    }
+
+
+    private static final class MaxEvaluator extends ConstraintEvaluator {
+
+        private final long max;
+
+
+        MaxEvaluator(ConstraintDescriptor<?> descriptor, long max) {
+            super(descriptor);
+            this.max = max;
+        }
+
+
+        @Override
+        int evaluate(@Nullable Object value) {
+            if (value == null) {
+                return VALID;
+            }
+            Integer comparison = compare(value, max);
+            return (comparison != null) ? result(comparison <= 0) : UNSUPPORTED;
+        }
+    }
+
+
+    private static final class NotBlankEvaluator extends ConstraintEvaluator {
+
+        NotBlankEvaluator(ConstraintDescriptor<?> descriptor) {
+            super(descriptor);
+        }
+
+
+        @Override
+        int evaluate(@Nullable Object value) {
+            if (value == null) {
+                return INVALID;
+            } else if (!(value instanceof CharSequence)) {
+                return UNSUPPORTED;
+            }
+            return result(ConstraintChecks.isNotBlank(value));
+        }
+    }
+
+
+    private static final class NotEmptyEvaluator extends ConstraintEvaluator {
+
+        NotEmptyEvaluator(ConstraintDescriptor<?> descriptor) {
+            super(descriptor);
+        }
+
+
+        @Override
+        int evaluate(@Nullable Object value) {
+            if (value == null) {
+                return INVALID;
+            }
+            int size = ConstraintChecks.sizeOf(value);
+            if (size < 0) {
+                return UNSUPPORTED;
+            }
+            return result(size > 0);
+        }
+    }
+
+
+    private static final class PatternEvaluator extends ConstraintEvaluator {
+
+        private final java.util.regex.Pattern pattern;
+
+
+        PatternEvaluator(ConstraintDescriptor<?> descriptor, String regexp, Pattern.Flag[] flags) {
+            super(descriptor);
+            int patternFlags = 0;
+            for (Pattern.Flag flag : flags) {
+                patternFlags |= flag.getValue();
+            }
+            this.pattern = java.util.regex.Pattern.compile(regexp, patternFlags);
+        }
+
+
+        @Override
+        int evaluate(@Nullable Object value) {
+            if (value == null) {
+                return VALID;
+            } else if (!(value instanceof CharSequence)) {
+                return UNSUPPORTED;
+            }
+            return result(pattern.matcher((CharSequence) value).matches());
+        }
+    }
+}
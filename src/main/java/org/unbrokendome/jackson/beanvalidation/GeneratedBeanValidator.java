@@ -0,0 +1,62 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+
+/**
+ * Validation support for a {@link JsonValidated} bean type that is generated at build time by the
+ * {@code jackson-bean-validation-processor} annotation processor.
+ * <p>
+ * Implementations are discovered with {@link java.util.ServiceLoader} from the class loader of the bean type. They
+ * give the module direct access to the bean properties, without reflection, and check the standard constraints of
+ * a property, so that the {@link javax.validation.Validator} only needs to be called for values that may actually
+ * be invalid.
+ * <p>
+ * The checks are only used for the default validation group, and only for properties where the constraints known
+ * to the validator are exactly the ones the implementation was generated for. This interface is not meant to be
+ * implemented by hand.
+ *
+ * @param <T> the bean type
+ */
+public interface GeneratedBeanValidator<T> {
+
+    /**
+     * The bean type that this validator was generated for.
+     */
+    @Nonnull
+    Class<T> getBeanType();
+
+
+    /**
+     * Determines whether the value of the given bean property can be read with {@link #getProperty}.
+     */
+    boolean hasProperty(String propertyName);
+
+
+    /**
+     * Gets the value of a bean property.
+     *
+     * @throws IllegalArgumentException if the property cannot be read, see {@link #hasProperty}
+     */
+    @Nullable
+    Object getProperty(T bean, String propertyName);
+
+
+    /**
+     * Gets the constraints of a bean property that are checked by {@link #isKnownValid}, or an empty list if the
+     * property is not checked at all.
+     */
+    @Nonnull
+    List<GeneratedConstraint> getConstraints(String propertyName);
+
+
+    /**
+     * Checks the constraints of a bean property against a value.
+     *
+     * @return {@code true} if the value certainly satisfies all constraints of the property; {@code false} if it
+     *         violates any of them, or if that can't be decided without the validator
+     */
+    boolean isKnownValid(String propertyName, @Nullable Object value);
+}
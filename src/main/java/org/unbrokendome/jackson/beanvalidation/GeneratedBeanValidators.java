@@ -0,0 +1,125 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+
+
+/**
+ * Looks up the {@link GeneratedBeanValidator} for a bean type. The validator is loaded by the name that the
+ * annotation processor gives it; if there is no class of that name (e.g. in a native image, where generated classes
+ * are not registered for reflection), the {@link ServiceLoader} of the bean's class loader is used instead.
+ * Lookups only happen when a validation plan is built, and the result is cached per bean type.
+ */
+final class GeneratedBeanValidators {
+
+    private static final String VALIDATOR_SUFFIX = "_GeneratedBeanValidator";
+
+    private static final ClassValue<Optional<GeneratedBeanValidator<?>>> validators =
+            new ClassValue<Optional<GeneratedBeanValidator<?>>>() {
+                @Override
+                protected Optional<GeneratedBeanValidator<?>> computeValue(Class<?> type) {
+                    return Optional.ofNullable(load(type));
+                }
+            };
+
+    // Bean type names to validator class names, from the service files of each class loader. Only names are kept,
+    // so that the entries don't keep their class loader reachable.
+    private static final Map<ClassLoader, Map<String, String>> serviceIndexes = new WeakHashMap<>();
+
+
+    private GeneratedBeanValidators() {
+    }
+
+
+    /**
+     * Finds the generated validator for the given bean type, or returns {@code null} if there is none.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static GeneratedBeanValidator<Object> find(Class<?> beanType) {
+        return (GeneratedBeanValidator<Object>) validators.get(beanType).orElse(null);
+    }
+
+
+    @Nullable
+    private static GeneratedBeanValidator<?> load(Class<?> beanType) {
+        ClassLoader classLoader = beanType.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        String validatorName = getValidatorName(beanType);
+        if (validatorName != null) {
+            GeneratedBeanValidator<?> validator = instantiate(validatorName, beanType, classLoader);
+            if (validator != null) {
+                return validator;
+            }
+        }
+        String indexedName = getServiceIndex(classLoader).get(beanType.getName());
+        if (indexedName != null && !indexedName.equals(validatorName)) {
+            return instantiate(indexedName, beanType, classLoader);
+        }
+        return null;
+    }
+
+
+    /**
+     * Returns the binary name of the class that the annotation processor generates for the given bean type: the
+     * nested name of the bean type with '_' in place of '.', in the package of the bean type.
+     */
+    @Nullable
+    static String getValidatorName(Class<?> beanType) {
+        String canonicalName = beanType.getCanonicalName();
+        if (canonicalName == null) {
+            // local and anonymous classes don't get a generated validator
+            return null;
+        }
+        String binaryName = beanType.getName();
+        int packageEnd = binaryName.lastIndexOf('.') + 1;
+        return binaryName.substring(0, packageEnd) +
+                canonicalName.substring(packageEnd).replace('.', '_') + VALIDATOR_SUFFIX;
+    }
+
+
+    @Nullable
+    private static GeneratedBeanValidator<?> instantiate(String className, Class<?> beanType, ClassLoader classLoader) {
+        try {
+            Class<?> validatorClass = Class.forName(className, true, classLoader);
+            if (GeneratedBeanValidator.class.isAssignableFrom(validatorClass)) {
+                GeneratedBeanValidator<?> validator =
+                        (GeneratedBeanValidator<?>) validatorClass.getDeclaredConstructor().newInstance();
+                if (validator.getBeanType() == beanType) {
+                    return validator;
+                }
+            }
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            // no generated validator, or one that was compiled against a different version of the bean
+        }
+        return null;
+    }
+
+
+    private static Map<String, String> getServiceIndex(ClassLoader classLoader) {
+        synchronized (serviceIndexes) {
+            return serviceIndexes.computeIfAbsent(classLoader, GeneratedBeanValidators::loadServiceIndex);
+        }
+    }
+
+
+    private static Map<String, String> loadServiceIndex(ClassLoader classLoader) {
+        Map<String, String> index = new HashMap<>();
+        try {
+            for (GeneratedBeanValidator<?> validator : ServiceLoader.load(GeneratedBeanValidator.class, classLoader)) {
+                index.put(validator.getBeanType().getName(), validator.getClass().getName());
+            }
+        } catch (ServiceConfigurationError ex) {
+            // e.g. a stale service file that lists a class which no longer exists; use reflection instead
+        }
+        return index.isEmpty() ? Collections.emptyMap() : index;
+    }
+}
@@ -0,0 +1,85 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import javax.annotation.Nonnull;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * A constraint of a bean property as translated by a {@link GeneratedBeanValidator}: the type of the constraint
+ * annotation, and the attributes that the generated check depends on.
+ * <p>
+ * The module compares these with the constraints known to the {@link javax.validation.Validator}, and only uses
+ * the generated check if they are the same. This class is not meant to be used outside of generated code.
+ */
+public final class GeneratedConstraint {
+
+    private final Class<? extends Annotation> type;
+    private final Map<String, Object> attributes;
+
+
+    private GeneratedConstraint(Class<? extends Annotation> type, Map<String, Object> attributes) {
+        this.type = type;
+        this.attributes = attributes;
+    }
+
+
+    /**
+     * Creates a constraint.
+     *
+     * @param type       the type of the constraint annotation
+     * @param attributes alternating names and values of the attributes that the check depends on
+     */
+    @Nonnull
+    public static GeneratedConstraint of(Class<? extends Annotation> type, Object... attributes) {
+        if (attributes.length % 2 != 0) {
+            throw new IllegalArgumentException("Attributes must be pairs of names and values");
+        }
+        Map<String, Object> attributeMap = new LinkedHashMap<>();
+        for (int i = 0; i < attributes.length; i += 2) {
+            attributeMap.put((String) attributes[i], attributes[i + 1]);
+        }
+        return new GeneratedConstraint(type, Collections.unmodifiableMap(attributeMap));
+    }
+
+
+    @Nonnull
+    public Class<? extends Annotation> getType() {
+        return type;
+    }
+
+
+    @Nonnull
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+
+    /**
+     * Determines whether a constraint known to the validator has the same type, and the same values for all
+     * attributes of this constraint.
+     */
+    boolean matches(ConstraintDescriptor<?> constraint) {
+        if (constraint.getAnnotation().annotationType() != type) {
+            return false;
+        }
+        Map<String, Object> constraintAttributes = constraint.getAttributes();
+        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+            if (!constraintAttributes.containsKey(entry.getKey()) ||
+                    !Objects.deepEquals(entry.getValue(), constraintAttributes.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public String toString() {
+        return "@" + type.getName() + attributes;
+    }
+}
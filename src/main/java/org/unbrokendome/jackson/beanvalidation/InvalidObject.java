@@ -1,8 +1,6 @@
 package org.unbrokendome.jackson.beanvalidation;
 
 import javax.validation.ConstraintViolation;
-import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 
@@ -13,12 +11,14 @@ import java.util.Set;
 final class InvalidObject {
 
     private final Class<?> type;
-    private Set<ConstraintViolation<?>> violations;
+    private final ViolationCollector violations;
+    private final ValidationPlan validationPlan;
 
 
-    InvalidObject(Class<?> type, Set<ConstraintViolation<?>> violations) {
+    InvalidObject(Class<?> type, ViolationCollector violations, ValidationPlan validationPlan) {
         this.type = type;
-        this.violations = new LinkedHashSet<>(violations);
+        this.violations = violations;
+        this.validationPlan = validationPlan;
     }
 
 
@@ -27,8 +27,11 @@ final class InvalidObject {
     }
 
 
-    Set<ConstraintViolation<?>> getViolations() {
-        return Collections.unmodifiableSet(violations);
+    /**
+     * The plan (for the active validation groups) that properties of the object are validated with.
+     */
+    ValidationPlan getValidationPlan() {
+        return validationPlan;
     }
 
 
@@ -0,0 +1,270 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import javax.annotation.Nonnull;
+import javax.validation.ConstraintViolationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+
+/**
+ * Deserializes and validates newline-delimited JSON (JSON Lines) input in parallel.
+ * <p>
+ * The input is read on the calling thread and split into chunks of lines, which are deserialized by the
+ * {@link ObjectReader} on an {@link Executor}. The results are passed to the consumer on the calling thread,
+ * in the order of the input, with one {@link ValidationResult} per non-blank line. Only a limited number of chunks
+ * is in progress at any time, so memory use does not depend on the size of the input.
+ * <p>
+ * Violations of a record are reported in its result. Other errors, such as malformed JSON, end the batch with
+ * an exception.
+ * <p>
+ * Instances are immutable and can be shared.
+ *
+ * <pre>
+ * JsonLinesBatchReader&lt;PersonRequest&gt; batchReader =
+ *         new JsonLinesBatchReader&lt;&gt;(objectMapper.readerFor(PersonRequest.class))
+ *                 .withChunkSize(500);
+ * batchReader.read(input, result -&gt; { ... });
+ * </pre>
+ *
+ * @param <T> the type of the records
+ */
+public final class JsonLinesBatchReader<T> {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final ObjectReader reader;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+
+
+    /**
+     * Creates a batch reader that uses the common {@link ForkJoinPool}.
+     *
+     * @param reader the reader for the type of the records
+     */
+    public JsonLinesBatchReader(ObjectReader reader) {
+        this(reader, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE,
+                Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+
+    private JsonLinesBatchReader(ObjectReader reader, Executor executor, int chunkSize, int maxPendingChunks) {
+        this.reader = reader;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = maxPendingChunks;
+    }
+
+
+    @Nonnull
+    public JsonLinesBatchReader<T> withExecutor(Executor executor) {
+        return new JsonLinesBatchReader<>(reader, executor, chunkSize, maxPendingChunks);
+    }
+
+
+    /**
+     * Sets the number of lines that are deserialized together in a single task.
+     */
+    @Nonnull
+    public JsonLinesBatchReader<T> withChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        return new JsonLinesBatchReader<>(reader, executor, chunkSize, maxPendingChunks);
+    }
+
+
+    /**
+     * Sets the maximum number of chunks that are in progress (or whose results have not been consumed yet).
+     */
+    @Nonnull
+    public JsonLinesBatchReader<T> withMaxPendingChunks(int maxPendingChunks) {
+        if (maxPendingChunks <= 0) {
+            throw new IllegalArgumentException("maxPendingChunks must be positive");
+        }
+        return new JsonLinesBatchReader<>(reader, executor, chunkSize, maxPendingChunks);
+    }
+
+
+    /**
+     * Reads all records from the input, passing the results to the consumer in the order of the input.
+     * The input is not closed.
+     */
+    public void read(Reader input, Consumer<? super ValidationResult<T>> consumer) throws IOException {
+        BufferedReader lineReader = (input instanceof BufferedReader) ?
+                (BufferedReader) input : new BufferedReader(input);
+
+        Deque<CompletableFuture<List<ValidationResult<T>>>> pending = new ArrayDeque<>();
+        Chunk chunk = new Chunk(0L, chunkSize);
+        long nextIndex = 0L;
+        int lineNumber = 0;
+
+        try {
+            String line;
+            while ((line = lineReader.readLine()) != null) {
+                lineNumber++;
+                if (isBlank(line)) {
+                    continue;
+                }
+
+                chunk.add(line, lineNumber);
+                nextIndex++;
+
+                if (chunk.size() == chunkSize) {
+                    pending.addLast(submit(chunk));
+                    chunk = new Chunk(nextIndex, chunkSize);
+
+                    if (pending.size() >= maxPendingChunks) {
+                        deliver(pending.removeFirst(), consumer);
+                    }
+                }
+            }
+
+            if (chunk.size() > 0) {
+                pending.addLast(submit(chunk));
+            }
+            while (!pending.isEmpty()) {
+                deliver(pending.removeFirst(), consumer);
+            }
+
+        } finally {
+            // Don't leave any work behind if we failed
+            for (CompletableFuture<?> future : pending) {
+                future.cancel(false);
+            }
+        }
+    }
+
+
+    /**
+     * Reads all records from the input as UTF-8. The input is not closed.
+     */
+    public void read(InputStream input, Consumer<? super ValidationResult<T>> consumer) throws IOException {
+        read(new InputStreamReader(input, StandardCharsets.UTF_8), consumer);
+    }
+
+
+    /**
+     * Reads all records from the input, and returns the results in the order of the input.
+     */
+    @Nonnull
+    public List<ValidationResult<T>> readAll(Reader input) throws IOException {
+        List<ValidationResult<T>> results = new ArrayList<>();
+        read(input, results::add);
+        return results;
+    }
+
+
+    private CompletableFuture<List<ValidationResult<T>>> submit(Chunk chunk) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return chunk.deserialize();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, executor);
+    }
+
+
+    private void deliver(
+            CompletableFuture<List<ValidationResult<T>>> future, Consumer<? super ValidationResult<T>> consumer
+    ) throws IOException {
+        List<ValidationResult<T>> results;
+        try {
+            results = future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+        results.forEach(consumer);
+    }
+
+
+    private static boolean isBlank(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (!Character.isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private final class Chunk {
+
+        private final long firstIndex;
+        private final String[] lines;
+        private final int[] lineNumbers;
+        private int size;
+
+
+        Chunk(long firstIndex, int capacity) {
+            this.firstIndex = firstIndex;
+            this.lines = new String[capacity];
+            this.lineNumbers = new int[capacity];
+        }
+
+
+        void add(String line, int lineNumber) {
+            lines[size] = line;
+            lineNumbers[size] = lineNumber;
+            size++;
+        }
+
+
+        int size() {
+            return size;
+        }
+
+
+        List<ValidationResult<T>> deserialize() throws IOException {
+            List<ValidationResult<T>> results = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                long index = firstIndex + i;
+                JsonLocation location = new JsonLocation(null, -1L, -1L, lineNumbers[i], 1);
+                try {
+                    T value = reader.readValue(lines[i]);
+                    results.add(ValidationResult.valid(index, location, value));
+
+                } catch (ConstraintViolationException ex) {
+                    results.add(ValidationResult.invalid(index, location, ex.getConstraintViolations()));
+
+                } catch (JsonMappingException ex) {
+                    if (ex.getCause() instanceof ConstraintViolationException) {
+                        results.add(ValidationResult.invalid(index, location,
+                                ((ConstraintViolationException) ex.getCause()).getConstraintViolations()));
+                    } else {
+                        throw ex;
+                    }
+                }
+            }
+            return results;
+        }
+    }
+}
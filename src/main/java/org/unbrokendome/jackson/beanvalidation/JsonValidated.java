@@ -15,4 +15,13 @@ public @interface JsonValidated {
     String validInputMessage() default JsonValidInput.DEFAULT_MESSAGE;
 
     String requiredMessage() default JsonRequired.DEFAULT_MESSAGE;
+
+    /**
+     * The validation groups to validate. If empty, the {@link javax.validation.groups.Default Default} group
+     * is validated.
+     * <p>
+     * The groups can be overridden for a single {@code ObjectReader} using the
+     * {@link BeanValidationModule#VALIDATION_GROUPS} attribute.
+     */
+    Class<?>[] groups() default {};
 }
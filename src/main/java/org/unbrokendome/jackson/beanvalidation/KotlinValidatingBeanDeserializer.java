@@ -4,126 +4,151 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
 import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.BeanPropertyMap;
 
 import javax.annotation.Nullable;
 import javax.validation.ConstraintViolation;
-import javax.validation.ConstraintViolationException;
 import javax.validation.ValidatorFactory;
-import javax.validation.constraints.NotNull;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
 
 
 class KotlinValidatingBeanDeserializer extends ValidatingBeanDeserializer {
 
-    private static final Object INVALID_VALUE = new Object();
+    // Flags for the Kotlin metadata of each property, by index in the validation plan
+    private static final byte NOT_NULL = 1;
+    private static final byte LATEINIT = 2;
+    private static final byte UNRESOLVED = 4;
 
     private final boolean validateLateinitVars;
+    private final byte[] propertyFlags;
 
 
     KotlinValidatingBeanDeserializer(
             BeanDeserializerBase src, ValidatorFactory validatorFactory,
-            BeanValidationFeatureSet features, @Nullable JsonValidated validationAnnotation
+            BeanValidationFeatureSet features, @Nullable ValidationPlan validationPlan
     ) {
-        super(src, validatorFactory, features, validationAnnotation);
+        super(src, validatorFactory, features, validationPlan);
 
         validateLateinitVars = features.isEnabled(BeanValidationFeature.VALIDATE_KOTLIN_LATEINIT_VARS);
+        propertyFlags = resolvePropertyFlags();
+    }
+
+
+    private KotlinValidatingBeanDeserializer(KotlinValidatingBeanDeserializer src, BeanPropertyMap properties) {
+        super(src, properties);
+        this.validateLateinitVars = src.validateLateinitVars;
+        this.propertyFlags = src.propertyFlags;
     }
 
 
-    @Nullable
     @Override
-    protected Set<ConstraintViolation<?>> _validateProperty(
-            Object bean, String propName, @Nullable Set<ConstraintViolation<?>> violationsCollector
-    ) {
+    public KotlinValidatingBeanDeserializer withBeanProperties(BeanPropertyMap props) {
+        return new KotlinValidatingBeanDeserializer(this, props);
+    }
+
+
+    /**
+     * Resolves the Kotlin metadata of all properties up front, so that deserializing a document doesn't need
+     * any calls to Kotlin reflection.
+     */
+    private byte[] resolvePropertyFlags() {
+        if (validationPlan == null || !KotlinDetector.isKotlinReflectPresent()) {
+            return new byte[0];
+        }
+
+        byte[] flags = new byte[validationPlan.getPropertyCount()];
+        properties().forEachRemaining(prop -> {
+            int index = getPropertyPlan(prop).getIndex();
+            if (index >= 0) {
+                try {
+                    flags[index] = resolveFlags(prop);
+                } catch (RuntimeException ex) {
+                    // Let it fail later, if the property is ever checked
+                    flags[index] = UNRESOLVED;
+                }
+            }
+        });
+        return flags;
+    }
+
+
+    private static byte resolveFlags(SettableBeanProperty prop) {
+        byte flags = 0;
+        if (KotlinPropertyUtils.isNotNullProperty(prop)) {
+            flags |= NOT_NULL;
+        }
+        if (KotlinPropertyUtils.isKotlinLateinitVar(prop)) {
+            flags |= LATEINIT;
+        }
+        return flags;
+    }
+
+
+    private boolean hasFlag(SettableBeanProperty prop, byte flag) {
+        int index = getPropertyPlan(prop).getIndex();
+        byte flags;
+        if (index >= 0 && index < propertyFlags.length && propertyFlags[index] != UNRESOLVED) {
+            flags = propertyFlags[index];
+        } else if (KotlinDetector.isKotlinReflectPresent()) {
+            flags = resolveFlags(prop);
+        } else {
+            return false;
+        }
+        return (flags & flag) != 0;
+    }
+
+
+    @Override
+    protected void _validateProperty(Object bean, SettableBeanProperty prop, ViolationCollector violations) {
         // This method will be called to validate any properties that were omitted in the JSON source.
         // For lateinit properties that will always mean a NotNull violation.
         if (validateLateinitVars) {
-            SettableBeanProperty prop = _beanProperties.find(propName);
-            if (KotlinPropertyUtils.isKotlinLateinitVar(prop)) {
-                ConstraintViolation<?> violation = _createNotNullViolation(bean, prop);
-
-                if (violationsCollector == null) {
-                    violationsCollector = new HashSet<>();
-                }
-                violationsCollector.add(violation);
-                return violationsCollector;
+            if (hasFlag(prop, LATEINIT)) {
+                violations.add(_createNotNullViolation(bean, prop));
+                return;
             }
         }
 
-        return super._validateProperty(bean, propName, violationsCollector);
+        super._validateProperty(bean, prop, violations);
     }
 
 
     @Override
-    protected Set<? extends ConstraintViolation<?>> _validateValue(
-            Class<?> beanType, SettableBeanProperty prop, @Nullable Object value
+    protected void _validateValue(
+            Class<?> beanType, SettableBeanProperty prop, @Nullable Object value, ViolationCollector violations
     ) {
-        if (value == null && validateLateinitVars && KotlinPropertyUtils.isKotlinLateinitVar(prop)) {
-            ConstraintViolation<?> violation = _createNotNullViolation(null, prop);
-            return Collections.singleton(violation);
+        if (value == null && validateLateinitVars && hasFlag(prop, LATEINIT)) {
+            violations.add(_createNotNullViolation(null, prop));
 
         } else {
-            return super._validateValue(beanType, prop, value);
+            super._validateValue(beanType, prop, value, violations);
         }
     }
 
 
     @Override
     protected Object _deserializeProperty(
-            JsonParser p, DeserializationContext ctxt, @Nullable Object bean, SettableBeanProperty prop
+            JsonParser p, DeserializationContext ctxt, @Nullable Object bean, SettableBeanProperty prop,
+            ViolationCollector violations
     ) throws IOException {
 
-        Object value;
-        Set<? extends ConstraintViolation<?>> violations;
-
-        try {
-            value = super._deserializeProperty(p, ctxt, bean, prop);
-            violations = null;
-        } catch (ConstraintViolationException ex) {
-            value = INVALID_VALUE;
-            violations = ex.getConstraintViolations();
-        }
+        int mark = violations.mark();
+        Object value = super._deserializeProperty(p, ctxt, bean, prop, violations);
 
-        if (value == null && !_hasAnyNotNullViolation(violations) && KotlinDetector.isKotlinReflectPresent()) {
+        if (value == null && !violations.hasViolationsSince(mark) && KotlinDetector.isKotlinReflectPresent()) {
             ConstraintViolation<?> notNullViolation = handleKotlinNull(bean, prop);
             if (notNullViolation != null) {
-                if (violations == null) {
-                    violations = Collections.singleton(notNullViolation);
-                } else {
-                    Set<ConstraintViolation<?>> newViolations = new HashSet<>(violations.size() + 1);
-                    newViolations.addAll(violations);
-                    newViolations.add(notNullViolation);
-                    violations = newViolations;
-                }
+                violations.add(notNullViolation);
             }
         }
 
-        if (violations != null) {
-            throw new ConstraintViolationException(violations);
-        }
-
         return value;
     }
 
 
-    private boolean _hasAnyNotNullViolation(@Nullable Iterable<? extends ConstraintViolation<?>> violations) {
-        if (violations != null) {
-            for (ConstraintViolation<?> violation : violations) {
-                if (violation.getConstraintDescriptor().getAnnotation() instanceof NotNull) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-
     @Nullable
     private ConstraintViolation<?> handleKotlinNull(@Nullable Object bean, SettableBeanProperty prop) {
-        if (KotlinPropertyUtils.isNotNullProperty(prop)) {
+        if (hasFlag(prop, NOT_NULL)) {
             return _createNotNullViolation(bean, prop);
         }
         return null;
@@ -0,0 +1,203 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Faster access to the properties of a validating deserializer, used for vanilla processing if
+ * {@link BeanValidationFeature#OPTIMIZE_PROPERTY_ACCESS} is enabled.
+ * <p>
+ * Properties are looked up by position first: documents usually list the properties in the same order as the
+ * bean declares them, so the name is compared with the property that follows the previous one, before falling back
+ * to the property map. Values of public setter methods are set through a class that is spun at runtime by the
+ * {@link LambdaMetafactory} and calls the setter directly, instead of going through the validation-aware wrapper
+ * property and reflection.
+ * <p>
+ * Whether to use it is decided once when the deserializer is created, so the feature can't be enabled or disabled
+ * for a single {@code ObjectReader}.
+ */
+final class OptimizedPropertyAccess {
+
+    /**
+     * Generated setters per declaring class and setter method. An empty value means that the setter can't be
+     * called from a generated class.
+     */
+    private static final ClassValue<Map<Method, Optional<Setter>>> generatedSetters =
+            new ClassValue<Map<Method, Optional<Setter>>>() {
+                @Override
+                protected Map<Method, Optional<Setter>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    // Classes can't be spun at runtime in a GraalVM native image, so setters are always called through the property
+    private static final boolean IN_NATIVE_IMAGE =
+            "runtime".equals(System.getProperty("org.graalvm.nativeimage.imagecode"));
+
+    private static final MethodType SETTER_FACTORY_TYPE = MethodType.methodType(Setter.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final String[] names;
+    private final SettableBeanProperty[] properties;
+    private final Setter[] setters;
+
+
+    /**
+     * @param indexedProperties the properties of the deserializer by their index in the validation plan, which
+     *                          may contain {@code null} for properties that the deserializer doesn't have
+     */
+    OptimizedPropertyAccess(SettableBeanProperty[] indexedProperties) {
+        int propertyCount = indexedProperties.length;
+        this.names = new String[propertyCount];
+        this.properties = indexedProperties;
+        this.setters = new Setter[propertyCount];
+
+        for (int i = 0; i < propertyCount; i++) {
+            SettableBeanProperty prop = indexedProperties[i];
+            if (prop != null) {
+                names[i] = prop.getName();
+                setters[i] = createSetter(prop);
+            }
+        }
+    }
+
+
+    /**
+     * Finds a property by name, if it is the one at the expected index.
+     *
+     * @return the index of the property, or {@code -1} if the property at the expected index has a different name
+     */
+    int findExpected(String name, int expectedIndex) {
+        if (expectedIndex < names.length && name.equals(names[expectedIndex])) {
+            return expectedIndex;
+        }
+        return -1;
+    }
+
+
+    SettableBeanProperty getProperty(int index) {
+        return properties[index];
+    }
+
+
+    /**
+     * Sets the value of a property on a bean that is not an {@link InvalidObject}.
+     *
+     * @param index the index of the property in the validation plan, or {@code -1}
+     */
+    void set(int index, SettableBeanProperty prop, Object bean, @Nullable Object value) throws IOException {
+        if (index >= 0 && properties[index] == prop) {
+            setters[index].set(bean, value);
+        } else {
+            prop.set(bean, value);
+        }
+    }
+
+
+    private static Setter createSetter(SettableBeanProperty prop) {
+        if (prop instanceof ValidationAwareBeanProperty<?>) {
+            SettableBeanProperty delegate = ((ValidationAwareBeanProperty<?>) prop).delegate;
+            if (delegate.getClass() == MethodProperty.class && !IN_NATIVE_IMAGE) {
+                Setter setter = findGeneratedSetter(delegate.getMember());
+                if (setter != null) {
+                    return setter;
+                }
+            }
+            // The wrapper only handles InvalidObjects, which never get here
+            return delegate::set;
+        }
+        return prop::set;
+    }
+
+
+    @Nullable
+    private static Setter findGeneratedSetter(AnnotatedMember member) {
+        if (!(member.getMember() instanceof Method)) {
+            return null;
+        }
+        Method method = (Method) member.getMember();
+        return generatedSetters.get(method.getDeclaringClass())
+                .computeIfAbsent(method, OptimizedPropertyAccess::generateSetter)
+                .orElse(null);
+    }
+
+
+    private static Optional<Setter> generateSetter(Method method) {
+        // The generated class lives in this package, so it can only call public methods with public types that
+        // its class loader can see; a bean from a child class loader would fail to link when the setter is called
+        Class<?> declaringClass = method.getDeclaringClass();
+        Class<?> valueType = method.getParameterTypes()[0];
+        if (!Modifier.isPublic(method.getModifiers()) || !isPublic(declaringClass) || !isPublic(valueType) ||
+                !isVisible(declaringClass) || !isVisible(valueType)) {
+            return Optional.empty();
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle setterHandle = lookup.unreflect(method);
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup, "set", SETTER_FACTORY_TYPE, SETTER_TYPE, setterHandle,
+                    MethodType.methodType(void.class, declaringClass, boxed(valueType)));
+            return Optional.of((Setter) callSite.getTarget().invoke());
+
+        } catch (VirtualMachineError ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            // e.g. the setter is not accessible after all; fall back to the property
+            return Optional.empty();
+        }
+    }
+
+
+    private static boolean isPublic(Class<?> type) {
+        if (type.isArray()) {
+            return isPublic(type.getComponentType());
+        }
+        return type.isPrimitive() || Modifier.isPublic(type.getModifiers());
+    }
+
+
+    /**
+     * Determines whether a type is the same when resolved by its name from the class loader of this class.
+     */
+    private static boolean isVisible(Class<?> type) {
+        if (type.isArray()) {
+            return isVisible(type.getComponentType());
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, OptimizedPropertyAccess.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+
+    private static Class<?> boxed(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+
+    @FunctionalInterface
+    interface Setter {
+
+        void set(Object bean, @Nullable Object value) throws IOException;
+    }
+}
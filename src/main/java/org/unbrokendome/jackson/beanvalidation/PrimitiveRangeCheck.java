@@ -0,0 +1,190 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Negative;
+import javax.validation.constraints.NegativeOrZero;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.groups.Default;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Checks the range constraints of a property of a primitive numeric type on the deserialized value, without the
+ * validator. The value is checked as it was deserialized, e.g. after Jackson wrapped a number that is out of the
+ * range of {@code byte}.
+ * <p>
+ * For integral types, all bounds are converted into inclusive {@code long} bounds when the check is created. For
+ * {@code float} and {@code double}, only the constraints with integral bounds ({@link Min}, {@link Max} and the
+ * sign constraints) are supported, and {@code NaN} violates all of them, like in the built-in validators.
+ */
+final class PrimitiveRangeCheck {
+
+    private static final Set<Class<?>> DEFAULT_GROUP = Collections.singleton(Default.class);
+
+    private final boolean floatingPoint;
+    private final ConstraintDescriptor<?>[] constraints;
+    private final long[] minimums;
+    private final long[] maximums;
+    // Only used for floating-point types; integral bounds are always inclusive
+    private final boolean[] exclusiveMinimums;
+    private final boolean[] exclusiveMaximums;
+
+
+    private PrimitiveRangeCheck(boolean floatingPoint, int constraintCount) {
+        this.floatingPoint = floatingPoint;
+        this.constraints = new ConstraintDescriptor<?>[constraintCount];
+        this.minimums = new long[constraintCount];
+        this.maximums = new long[constraintCount];
+        this.exclusiveMinimums = new boolean[constraintCount];
+        this.exclusiveMaximums = new boolean[constraintCount];
+    }
+
+
+    /**
+     * Creates a check for a property, or returns {@code null} if the property is not of a primitive numeric type,
+     * or has any constraints (in other groups than the default group) that are not supported.
+     */
+    @Nullable
+    static PrimitiveRangeCheck create(Class<?> propertyType, @Nullable PropertyDescriptor propertyDescriptor) {
+        boolean floatingPoint = propertyType == double.class || propertyType == float.class;
+        if (!floatingPoint && propertyType != int.class && propertyType != long.class &&
+                propertyType != short.class && propertyType != byte.class) {
+            return null;
+        }
+        if (propertyDescriptor == null || !propertyDescriptor.getConstrainedContainerElementTypes().isEmpty()) {
+            return null;
+        }
+        Set<ConstraintDescriptor<?>> constraints = propertyDescriptor.getConstraintDescriptors();
+        if (constraints.isEmpty()) {
+            return null;
+        }
+
+        PrimitiveRangeCheck check = new PrimitiveRangeCheck(floatingPoint, constraints.size());
+        int i = 0;
+        for (ConstraintDescriptor<?> constraint : constraints) {
+            if (!constraint.getGroups().equals(DEFAULT_GROUP) || !constraint.getComposingConstraints().isEmpty() ||
+                    !check.setBounds(i++, constraint)) {
+                return null;
+            }
+        }
+        return check;
+    }
+
+
+    private boolean setBounds(int index, ConstraintDescriptor<?> constraint) {
+        Class<? extends Annotation> constraintType = constraint.getAnnotation().annotationType();
+        Map<String, Object> attributes = constraint.getAttributes();
+        constraints[index] = constraint;
+        minimums[index] = Long.MIN_VALUE;
+        maximums[index] = Long.MAX_VALUE;
+
+        if (constraintType == Min.class) {
+            minimums[index] = (Long) attributes.get("value");
+        } else if (constraintType == Max.class) {
+            maximums[index] = (Long) attributes.get("value");
+        } else if (constraintType == Positive.class) {
+            setExclusiveMinimum(index, 0L);
+        } else if (constraintType == PositiveOrZero.class) {
+            minimums[index] = 0L;
+        } else if (constraintType == Negative.class) {
+            setExclusiveMaximum(index, 0L);
+        } else if (constraintType == NegativeOrZero.class) {
+            maximums[index] = 0L;
+        } else if (constraintType == DecimalMin.class && !floatingPoint) {
+            BigDecimal min = new BigDecimal((String) attributes.get("value"));
+            boolean inclusive = (Boolean) attributes.get("inclusive");
+            // v >= m  <=>  v >= ceil(m);  v > m  <=>  v >= floor(m) + 1
+            BigDecimal bound = inclusive ?
+                    min.setScale(0, RoundingMode.CEILING) : min.setScale(0, RoundingMode.FLOOR).add(BigDecimal.ONE);
+            return setBound(minimums, index, bound);
+        } else if (constraintType == DecimalMax.class && !floatingPoint) {
+            BigDecimal max = new BigDecimal((String) attributes.get("value"));
+            boolean inclusive = (Boolean) attributes.get("inclusive");
+            // v <= m  <=>  v <= floor(m);  v < m  <=>  v <= ceil(m) - 1
+            BigDecimal bound = inclusive ?
+                    max.setScale(0, RoundingMode.FLOOR) :
+                    max.setScale(0, RoundingMode.CEILING).subtract(BigDecimal.ONE);
+            return setBound(maximums, index, bound);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+
+    private void setExclusiveMinimum(int index, long min) {
+        if (floatingPoint) {
+            minimums[index] = min;
+            exclusiveMinimums[index] = true;
+        } else {
+            minimums[index] = min + 1;
+        }
+    }
+
+
+    private void setExclusiveMaximum(int index, long max) {
+        if (floatingPoint) {
+            maximums[index] = max;
+            exclusiveMaximums[index] = true;
+        } else {
+            maximums[index] = max - 1;
+        }
+    }
+
+
+    private static boolean setBound(long[] bounds, int index, BigDecimal bound) {
+        try {
+            bounds[index] = bound.longValueExact();
+            return true;
+        } catch (ArithmeticException ex) {
+            // Out of the range of long; leave it to the validator
+            return false;
+        }
+    }
+
+
+    int getConstraintCount() {
+        return constraints.length;
+    }
+
+
+    ConstraintDescriptor<?> getConstraint(int index) {
+        return constraints[index];
+    }
+
+
+    /**
+     * Checks a constraint on the deserialized value of the property.
+     */
+    boolean isValid(int index, Number value) {
+        if (floatingPoint) {
+            // A Float is widened exactly, so it is checked with single precision
+            return isValid(index, value.doubleValue());
+        }
+        long longValue = value.longValue();
+        return longValue >= minimums[index] && longValue <= maximums[index];
+    }
+
+
+    private boolean isValid(int index, double value) {
+        if (Double.isNaN(value)) {
+            return false;
+        }
+        long min = minimums[index];
+        long max = maximums[index];
+        return (min == Long.MIN_VALUE || (exclusiveMinimums[index] ? value > min : value >= min)) &&
+                (max == Long.MAX_VALUE || (exclusiveMaximums[index] ? value < max : value <= max));
+    }
+}
@@ -0,0 +1,83 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+
+/**
+ * Minimal fixed-size bit set over property indices, used to keep track of the properties that still need
+ * validation while deserializing a single object.
+ * <p>
+ * Unlike {@link java.util.BitSet}, instances are created by copying a precomputed template, which is a single
+ * array copy for the typical bean with up to 64 properties.
+ */
+final class PropertyBitSet {
+
+    private static final long[] EMPTY_WORDS = new long[0];
+
+    private final long[] words;
+
+
+    private PropertyBitSet(long[] words) {
+        this.words = words;
+    }
+
+
+    /**
+     * Creates a template containing the given property indices. Negative indices are ignored.
+     */
+    static long[] template(int[] indices) {
+        int maxIndex = -1;
+        for (int index : indices) {
+            maxIndex = Math.max(maxIndex, index);
+        }
+        if (maxIndex < 0) {
+            return EMPTY_WORDS;
+        }
+
+        long[] words = new long[(maxIndex >> 6) + 1];
+        for (int index : indices) {
+            if (index >= 0) {
+                words[index >> 6] |= 1L << index;
+            }
+        }
+        return words;
+    }
+
+
+    static PropertyBitSet copyOf(long[] template) {
+        return new PropertyBitSet(template.length != 0 ? template.clone() : EMPTY_WORDS);
+    }
+
+
+    static PropertyBitSet empty() {
+        return new PropertyBitSet(EMPTY_WORDS);
+    }
+
+
+    void clear(int index) {
+        int wordIndex = index >> 6;
+        if (index >= 0 && wordIndex < words.length) {
+            words[wordIndex] &= ~(1L << index);
+        }
+    }
+
+
+    /**
+     * Returns the index of the first set bit at or after {@code fromIndex}, or {@code -1} if there is none.
+     */
+    int nextSetBit(int fromIndex) {
+        int wordIndex = fromIndex >> 6;
+        if (wordIndex >= words.length) {
+            return -1;
+        }
+
+        long word = words[wordIndex] & (-1L << fromIndex);
+        while (true) {
+            if (word != 0) {
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+    }
+}
@@ -19,37 +19,45 @@ final class PropertyPathUtils {
     }
 
 
-    @Nonnull
-    static Path constructPropertyPath(SettableBeanProperty prop, BeanValidationFeatureSet features) {
-        return constructPropertyPath(prop, features, null);
+    /**
+     * Gets the index of the current array element if the given parsing context is inside an array, or
+     * {@link ViolationCollector#NO_INDEX} otherwise.
+     */
+    static int getArrayIndex(@Nullable JsonStreamContext parsingContext) {
+        if (parsingContext != null && parsingContext.inArray()) {
+            if (parsingContext.hasCurrentIndex()) {
+                return parsingContext.getCurrentIndex();
+            } else if (parsingContext.getParent().getCurrentValue() instanceof Collection) {
+                Collection currentValue = (Collection) parsingContext.getParent().getCurrentValue();
+                return currentValue.size();
+            }
+        }
+        return ViolationCollector.NO_INDEX;
     }
 
+
     @Nonnull
-    static Path constructPropertyPath(SettableBeanProperty prop, BeanValidationFeatureSet features,
+    static Path constructPropertyPath(SettableBeanProperty prop, String propertyName,
+                                      BeanValidationFeatureSet features,
                                       @Nullable JsonStreamContext parsingContext) {
+        return constructPropertyPath(prop, propertyName, features, getArrayIndex(parsingContext));
+    }
 
-        PathBuilder propertyPathBuilder = PathBuilder.create()
-                .appendBeanNode();
 
-        String propertyName;
-        if (features.isEnabled(BeanValidationFeature.REPORT_BEAN_PROPERTY_PATHS_IN_VIOLATIONS)) {
-            propertyName = PropertyUtils.getPropertyNameFromMember(prop.getMember());
+    @Nonnull
+    static Path constructPropertyPath(SettableBeanProperty prop, String propertyName,
+                                      BeanValidationFeatureSet features, int arrayIndex) {
 
-        } else {
-            propertyName = prop.getName();
-        }
+        PathBuilder propertyPathBuilder = PathBuilder.create()
+                .appendBeanNode();
 
-        if (parsingContext != null && parsingContext.inArray()) {
-            if (parsingContext.hasCurrentIndex()) {
-                propertyName += "[" + parsingContext.getCurrentIndex() + "]";
-            } else if (parsingContext.getParent().getCurrentValue() instanceof Collection) {
-                Collection currentValue = (Collection) parsingContext.getParent().getCurrentValue();
-                propertyName += "[" + currentValue.size() + "]";
-            }
+        if (arrayIndex != ViolationCollector.NO_INDEX) {
+            propertyName += "[" + arrayIndex + "]";
         }
 
         if (prop instanceof CreatorProperty &&
-                features.isDisabled(BeanValidationFeature.MAP_CREATOR_VIOLATIONS_TO_PROPERTY_VIOLATIONS)) {
+                features.isDisabled(BeanValidationFeature.MAP_CREATOR_VIOLATIONS_TO_PROPERTY_VIOLATIONS) &&
+                prop.getMember() != null && prop.getMember().getMember() instanceof Constructor) {
             Constructor<?> constructor = (Constructor<?>) prop.getMember().getMember();
             propertyPathBuilder
                     .appendConstructor(constructor)
@@ -2,13 +2,34 @@ package org.unbrokendome.jackson.beanvalidation;
 
 import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 final class PropertyUtils {
 
+    /**
+     * Resolved property getters per bean class, as {@link MethodHandle}s of type {@code (Object)Object}.
+     * Looking up the accessor method involves string concatenation and reflection, which we only want to do
+     * once per class and property.
+     */
+    private static final ClassValue<Map<String, MethodHandle>> GETTERS = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+
     private PropertyUtils() {
     }
 
@@ -54,6 +75,29 @@ final class PropertyUtils {
     static Object getProperty(Object bean, String propertyName) {
 
         Class<?> beanClass = bean.getClass();
+        Map<String, MethodHandle> getters = GETTERS.get(beanClass);
+
+        MethodHandle getter = getters.get(propertyName);
+        if (getter == null) {
+            getter = findGetter(beanClass, propertyName);
+            getters.put(propertyName, getter);
+        }
+
+        try {
+            return getter.invokeExact(bean);
+
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new UncheckedReflectiveOperationException("Exception trying to invoke property " +
+                    "accessor for property " + propertyName + " on class " + beanClass,
+                    new InvocationTargetException(ex));
+        }
+    }
+
+
+    private static MethodHandle findGetter(Class<?> beanClass, String propertyName) {
+
         String capitalizedPropertyName = StringUtils.capitalize(propertyName);
 
         Method accessorMethod;
@@ -80,10 +124,10 @@ final class PropertyUtils {
         }
 
         try {
-            return accessorMethod.invoke(bean);
+            return MethodHandles.lookup().unreflect(accessorMethod).asType(GETTER_TYPE);
 
-        } catch (ReflectiveOperationException ex) {
-            throw new UncheckedReflectiveOperationException("Exception trying to invoke property " +
+        } catch (IllegalAccessException ex) {
+            throw new UncheckedReflectiveOperationException("Exception trying to access property " +
                     "accessor " + accessorMethod, ex);
         }
     }
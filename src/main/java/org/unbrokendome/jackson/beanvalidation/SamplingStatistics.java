@@ -0,0 +1,87 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Counts the documents that were validated or skipped in {@link BeanValidationModule#setSamplingRate sampling}
+ * mode, and the violations found in the validated documents.
+ * <p>
+ * Documents are only counted while sampling is in effect, i.e. with a sampling rate below 1. A rising number
+ * of {@link #getInvalidDocuments() invalid documents} among the validated ones indicates that a producer has
+ * started sending invalid input.
+ */
+public final class SamplingStatistics {
+
+    private final LongAdder validatedDocuments = new LongAdder();
+    private final LongAdder skippedDocuments = new LongAdder();
+    private final LongAdder invalidDocuments = new LongAdder();
+    private final LongAdder violations = new LongAdder();
+
+
+    SamplingStatistics() {
+    }
+
+
+    void recordSkipped() {
+        skippedDocuments.increment();
+    }
+
+
+    void recordValidated(int violationCount) {
+        validatedDocuments.increment();
+        if (violationCount != 0) {
+            invalidDocuments.increment();
+            violations.add(violationCount);
+        }
+    }
+
+
+    /**
+     * The number of documents that were selected for validation.
+     */
+    public long getValidatedDocuments() {
+        return validatedDocuments.sum();
+    }
+
+
+    /**
+     * The number of documents that were deserialized without validation.
+     */
+    public long getSkippedDocuments() {
+        return skippedDocuments.sum();
+    }
+
+
+    /**
+     * The number of validated documents that had at least one violation.
+     */
+    public long getInvalidDocuments() {
+        return invalidDocuments.sum();
+    }
+
+
+    /**
+     * The total number of violations in the validated documents.
+     */
+    public long getViolations() {
+        return violations.sum();
+    }
+
+
+    public void reset() {
+        validatedDocuments.reset();
+        skippedDocuments.reset();
+        invalidDocuments.reset();
+        violations.reset();
+    }
+
+
+    @Override
+    public String toString() {
+        return "SamplingStatistics{validated=" + getValidatedDocuments() +
+                ", skipped=" + getSkippedDocuments() +
+                ", invalid=" + getInvalidDocuments() +
+                ", violations=" + getViolations() + "}";
+    }
+}
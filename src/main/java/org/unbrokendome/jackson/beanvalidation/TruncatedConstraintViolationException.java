@@ -0,0 +1,49 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+/**
+ * Thrown instead of a plain {@link ConstraintViolationException} if deserialization of a document was aborted
+ * because the maximum number of violations was reached (see {@link BeanValidationModule#setMaxViolations} and
+ * {@link BeanValidationFeature#FAIL_FAST}). The document may contain more violations than the ones reported.
+ */
+public class TruncatedConstraintViolationException extends ConstraintViolationException {
+
+    private final int maxViolations;
+
+
+    public TruncatedConstraintViolationException(
+            Set<? extends ConstraintViolation<?>> constraintViolations, int maxViolations
+    ) {
+        this(createMessage(constraintViolations, maxViolations), constraintViolations, maxViolations);
+    }
+
+
+    public TruncatedConstraintViolationException(
+            String message, Set<? extends ConstraintViolation<?>> constraintViolations, int maxViolations
+    ) {
+        super(message, constraintViolations);
+        this.maxViolations = maxViolations;
+    }
+
+
+    private static String createMessage(Set<? extends ConstraintViolation<?>> constraintViolations,
+                                        int maxViolations) {
+        return "Validation stopped after " + maxViolations + " violation(s): " +
+                constraintViolations.stream()
+                        .map(cv -> cv.getPropertyPath() + ": " + cv.getMessage())
+                        .collect(Collectors.joining(", "));
+    }
+
+
+    /**
+     * The maximum number of violations that was in effect.
+     */
+    public int getMaxViolations() {
+        return maxViolations;
+    }
+}
@@ -1,6 +1,7 @@
 package org.unbrokendome.jackson.beanvalidation;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.JsonTokenId;
 import com.fasterxml.jackson.databind.BeanProperty;
@@ -8,26 +9,24 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.deser.*;
+import com.fasterxml.jackson.databind.deser.impl.BeanPropertyMap;
 import com.fasterxml.jackson.databind.deser.impl.NullsConstantProvider;
 import com.fasterxml.jackson.databind.deser.impl.PropertyBasedCreator;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
-import org.unbrokendome.jackson.beanvalidation.path.PathBuilder;
 import org.unbrokendome.jackson.beanvalidation.violation.ConstraintViolationUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.validation.*;
-import javax.validation.constraints.NotNull;
 import javax.validation.metadata.ConstraintDescriptor;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
-import java.util.Stack;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 
 class ValidatingBeanDeserializer extends BeanDeserializer {
@@ -38,47 +37,143 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
     private final MessageInterpolator messageInterpolator;
     @Nullable
     private final JsonValidated validationAnnotation;
+    @Nullable
+    protected final ValidationPlan validationPlan;
+
+    // Current properties of this deserializer by their index in the validation plan, and the sets of
+    // property indices that need validation if they are not encountered in the input
+    private SettableBeanProperty[] indexedProperties;
+    private long[] propertiesToValidate;
+    private long[] nonCreatorPropertiesToValidate;
+    @Nullable
+    private OptimizedPropertyAccess optimizedPropertyAccess;
+
 
+    // Attribute of the DeserializationContext that holds the @JsonValidated annotation of the bean that is
+    // currently being resolved, for @Valid-annotated properties in createContextual
+    private static final Object RESOLVING_ANNOTATION_KEY = JsonValidated.class;
 
-    private static final ThreadLocal<Stack<JsonValidated>> TL_VALIDATION_ANNOTATION =
-            ThreadLocal.withInitial(Stack::new);
+    // The deserialization steps that run with a violation collector, see deserializeValidated
+    private static final int STEP_DESERIALIZE = 0;
+    private static final int STEP_DESERIALIZE_INTO_BEAN = 1;
+    private static final int STEP_UPDATE_BEAN = 2;
+    private static final int STEP_DESERIALIZE_USING_PROPERTY_BASED = 3;
 
 
     ValidatingBeanDeserializer(
             BeanDeserializerBase src, ValidatorFactory validatorFactory,
-            BeanValidationFeatureSet features, @Nullable JsonValidated validationAnnotation
+            BeanValidationFeatureSet features, @Nullable ValidationPlan validationPlan
     ) {
         super(src);
         this.validatorFactory = validatorFactory;
         this.validator = validatorFactory.getValidator();
         this.messageInterpolator = validatorFactory.getMessageInterpolator();
         this.features = features;
-        this.validationAnnotation = validationAnnotation;
+        this.validationPlan = validationPlan;
+        this.validationAnnotation = validationPlan != null ? validationPlan.getValidationAnnotation() : null;
 
-        if (validationAnnotation != null) {
+        if (validationPlan != null) {
             ValueInstantiator valueInstantiator = getValueInstantiator();
             if (valueInstantiator instanceof ValidatingValueInstantiator) {
-                ((ValidatingValueInstantiator) valueInstantiator).enableValidation(true);
+                ((ValidatingValueInstantiator) valueInstantiator).enableValidation(validationPlan);
             }
+        }
 
-            properties().forEachRemaining(property -> {
-                if (property instanceof ValidationAwareBeanProperty<?>) {
-                    ((ValidationAwareBeanProperty<?>) property).enableValidation();
-                }
-            });
+        indexProperties();
+    }
+
+
+    protected ValidatingBeanDeserializer(ValidatingBeanDeserializer src, BeanPropertyMap properties) {
+        super(src, properties);
+        this.validatorFactory = src.validatorFactory;
+        this.validator = src.validator;
+        this.messageInterpolator = src.messageInterpolator;
+        this.features = src.features;
+        this.validationPlan = src.validationPlan;
+        this.validationAnnotation = src.validationAnnotation;
+
+        indexProperties();
+    }
+
+
+    private void indexProperties() {
+        if (validationPlan == null) {
+            return;
         }
+
+        int propertyCount = validationPlan.getPropertyCount();
+        SettableBeanProperty[] indexedProperties = new SettableBeanProperty[propertyCount];
+        int[] allIndices = new int[propertyCount];
+        int[] nonCreatorIndices = new int[propertyCount];
+
+        for (int i = 0; i < propertyCount; i++) {
+            SettableBeanProperty prop = _beanProperties.find(validationPlan.getProperty(i).getName());
+            indexedProperties[i] = prop;
+            allIndices[i] = (prop != null) ? i : -1;
+            nonCreatorIndices[i] = (prop != null && !(prop instanceof CreatorProperty)) ? i : -1;
+        }
+
+        this.indexedProperties = indexedProperties;
+        this.propertiesToValidate = PropertyBitSet.template(allIndices);
+        this.nonCreatorPropertiesToValidate = PropertyBitSet.template(nonCreatorIndices);
+        this.optimizedPropertyAccess = features.isEnabled(BeanValidationFeature.OPTIMIZE_PROPERTY_ACCESS) ?
+                new OptimizedPropertyAccess(indexedProperties) : null;
     }
 
 
     static ValidatingBeanDeserializer create(
             BeanDeserializerBase src, ValidatorFactory validatorFactory,
-            BeanValidationFeatureSet features, @Nullable JsonValidated validationAnnotation
+            BeanValidationFeatureSet features, @Nullable ValidationPlan validationPlan
     ) {
-        if (KotlinDetector.isKotlinType(src.handledType())) {
-            return new KotlinValidatingBeanDeserializer(src, validatorFactory, features, validationAnnotation);
+        ValidatingBeanDeserializer deserializer = KotlinDetector.isKotlinType(src.handledType()) ?
+                new KotlinValidatingBeanDeserializer(src, validatorFactory, features, validationPlan) :
+                new ValidatingBeanDeserializer(src, validatorFactory, features, validationPlan);
+        return deserializer.withPropertiesBoundToPlan();
+    }
+
+
+    @Override
+    public ValidatingBeanDeserializer withBeanProperties(BeanPropertyMap props) {
+        return new ValidatingBeanDeserializer(this, props);
+    }
+
+
+    /**
+     * Returns a deserializer whose properties validate according to our validation plan.
+     * <p>
+     * Properties (and the property map) may be shared with other deserializers for the same type that are in use
+     * on other threads, e.g. when a contextual deserializer with a different plan is created. So instead of
+     * modifying them, the properties are copied into a new property map.
+     */
+    private ValidatingBeanDeserializer withPropertiesBoundToPlan() {
+        if (validationPlan == null) {
+            return this;
+        }
+
+        List<SettableBeanProperty> boundProperties = new ArrayList<>();
+        for (SettableBeanProperty property : _beanProperties) {
+            if (property instanceof ValidationAwareBeanProperty<?>) {
+                SettableBeanProperty boundProperty = ((ValidationAwareBeanProperty<?>) property)
+                        .withPropertyPlan(validationPlan.getProperty(property));
+                if (boundProperty != property) {
+                    boundProperties.add(boundProperty);
+                }
+            }
+        }
+        if (boundProperties.isEmpty()) {
+            return this;
         }
 
-        return new ValidatingBeanDeserializer(src, validatorFactory, features, validationAnnotation);
+        // withoutProperties always creates a new map, whereas withProperty may replace an existing property in place
+        List<String> names = new ArrayList<>(boundProperties.size());
+        for (SettableBeanProperty property : boundProperties) {
+            names.add(property.getName());
+        }
+        BeanPropertyMap properties = _beanProperties.withoutProperties(names);
+        for (SettableBeanProperty property : boundProperties) {
+            properties = properties.withProperty(property);
+        }
+        return withBeanProperties(properties);
     }
 
 
@@ -99,12 +194,17 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
             validationAnnotation = this.validationAnnotation;
         }
         if (validationAnnotation == null && property.getAnnotation(Valid.class) != null) {
-            Stack<JsonValidated> validationAnnotations = TL_VALIDATION_ANNOTATION.get();
-            validationAnnotation = validationAnnotations.isEmpty() ? null : validationAnnotations.peek();
+            Object resolvingAnnotation = ctxt.getAttribute(RESOLVING_ANNOTATION_KEY);
+            validationAnnotation = (resolvingAnnotation instanceof JsonValidated) ?
+                    (JsonValidated) resolvingAnnotation : null;
         }
 
         if (validationAnnotation != null) {
-            return create(deser, validatorFactory, features, validationAnnotation);
+            ValidationPlan plan = this.validationPlan;
+            if (plan == null || plan.getValidationAnnotation() != validationAnnotation) {
+                plan = ValidationPlan.create(deser, ctxt.getConfig(), validatorFactory, features, validationAnnotation);
+            }
+            return create(deser, validatorFactory, features, plan);
         } else {
             return deser;
         }
@@ -115,14 +215,18 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
     public void resolve(DeserializationContext ctxt) throws JsonMappingException {
 
         if (this.validationAnnotation != null) {
-            Stack<JsonValidated> validationAnnotations = TL_VALIDATION_ANNOTATION.get();
-            validationAnnotations.push(this.validationAnnotation);
+            Object previousAnnotation = ctxt.getAttribute(RESOLVING_ANNOTATION_KEY);
+            ctxt.setAttribute(RESOLVING_ANNOTATION_KEY, this.validationAnnotation);
 
             try {
                 super.resolve(ctxt);
             } finally {
-                validationAnnotations.pop();
+                ctxt.setAttribute(RESOLVING_ANNOTATION_KEY, previousAnnotation);
             }
+
+            // resolving may have replaced some of the properties
+            indexProperties();
+
         } else {
             super.resolve(ctxt);
         }
@@ -135,16 +239,30 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
     @Override
     public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
 
-        if (validationAnnotation == null) {
+        if (validationAnnotation == null || ViolationCollector.isValidationSkipped(ctxt)) {
             return super.deserialize(p, ctxt);
         }
 
-        Object bean = _deserialize(p, ctxt);
+        return deserializeValidated(p, ctxt, STEP_DESERIALIZE, null);
+    }
+
+
+    private Object deserializeAndValidate(JsonParser p, DeserializationContext ctxt, ViolationCollector violations)
+            throws IOException {
+        int mark = violations.mark();
 
-        if (bean != null && features.isEnabled(BeanValidationFeature.VALIDATE_BEAN_AFTER_CONSTRUCTION)) {
-            Set<? extends ConstraintViolation<?>> violations = validator.validate(bean);
-            if (violations != null && !violations.isEmpty()) {
-                throw new ConstraintViolationException(violations);
+        Object bean = _deserialize(p, ctxt, violations);
+
+        if (bean != null && !violations.hasViolationsSince(mark) &&
+                features.isEnabled(BeanValidationFeature.VALIDATE_BEAN_AFTER_CONSTRUCTION)) {
+            long start = features.startValidation();
+            int validationMark = violations.mark();
+            try {
+                violations.addAll(validator.validate(bean, getActivePlan(violations).getGroups()));
+            } finally {
+                // Also when adding the violations aborts the document
+                features.endValidation(handledType(), ValidationPhase.POST_CONSTRUCTION, start,
+                        violations.mark() - validationMark);
             }
         }
 
@@ -152,12 +270,141 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
     }
 
 
-    private Object _deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    /**
+     * Runs a deserialization step (one of the {@code STEP_} constants) with a {@link ViolationCollector}. The
+     * steps are dispatched by constant rather than passed as lambdas, so that nothing is allocated per bean.
+     * <p>
+     * If this bean is the value of a property that is being deserialized by another validating deserializer,
+     * the violations are recorded in the collector of the enclosing deserializer, which will prepend the
+     * property path. Otherwise this is the root of the document (as far as validation is concerned): the
+     * violations are collected separately and thrown once as a {@link ConstraintViolationException}.
+     * <p>
+     * In sampling mode, the root decides whether the document is validated at all. If not, it runs the
+     * step without validation instead, and nested validating deserializers skip validation as well.
+     *
+     * @param bean the existing bean for the steps that deserialize into one
+     */
+    private Object deserializeValidated(
+            JsonParser p, DeserializationContext ctxt, int step, @Nullable Object bean
+    ) throws IOException {
+
+        ViolationCollector outer = ViolationCollector.get(ctxt);
+
+        if (outer != null && outer.isPropertyValue(p.getParsingContext())) {
+            int mark = outer.mark();
+
+            Object result;
+            JsonStreamContext propertyValueContext = outer.swapPropertyValueContext(null);
+            ValidationPlan outerPlan = outer.swapActivePlan(getActivePlan(outer));
+            try {
+                result = runStep(step, p, ctxt, bean, outer);
+
+            } catch (IOException | RuntimeException ex) {
+                // When aborting we are still inside this bean, but the array (if any) is still at our index
+                if (outer.isAborted() && outer.hasViolationsSince(mark)) {
+                    outer.setArrayIndexSince(mark, PropertyPathUtils.getArrayIndex(propertyValueContext));
+                }
+                throw ex;
+
+            } finally {
+                outer.swapPropertyValueContext(propertyValueContext);
+                outer.swapActivePlan(outerPlan);
+            }
+
+            // If we are an array element, the enclosing deserializer needs the index for the path
+            if (outer.hasViolationsSince(mark)) {
+                outer.setArrayIndexSince(mark, PropertyPathUtils.getArrayIndex(p.getParsingContext()));
+            }
+            return result;
+        }
+
+        double samplingRate = (outer == null) ? features.getSamplingRate(ctxt) : 1.0;
+        if (samplingRate < 1.0 && !features.sampleDocument(samplingRate)) {
+            ViolationCollector.skipValidation(ctxt);
+            try {
+                return runStepWithoutValidation(step, p, ctxt, bean);
+            } finally {
+                ViolationCollector.restore(ctxt, null);
+            }
+        }
+
+        ViolationCollector violations = ViolationCollector.install(
+                ctxt, features.getMaxViolations(ctxt), features.isEnabled(BeanValidationFeature.FAIL_FAST, ctxt),
+                features.getGroupsOverride(ctxt),
+                features.isEnabled(BeanValidationFeature.MEMOIZE_VALUE_OBJECT_VALIDATION, ctxt),
+                features.isEnabled(BeanValidationFeature.INTERPOLATE_MESSAGES_LAZILY));
+        violations.swapActivePlan(getActivePlan(violations));
+        Object result = null;
+        try {
+            result = runStep(step, p, ctxt, bean, violations);
+
+        } catch (IOException | RuntimeException ex) {
+            // If the document was aborted, the exception (possibly wrapped by Jackson) only carries the abort;
+            // the rest of the input is not read
+            if (!violations.isAborted()) {
+                throw ex;
+            }
+
+        } finally {
+            ViolationCollector.restore(ctxt, outer);
+        }
+
+        if (samplingRate < 1.0) {
+            features.getSamplingStatistics().recordValidated(violations.size());
+        }
+        violations.throwIfNotEmpty();
+        return result;
+    }
+
+
+    private Object runStep(
+            int step, JsonParser p, DeserializationContext ctxt, @Nullable Object bean, ViolationCollector violations
+    ) throws IOException {
+        switch (step) {
+            case STEP_DESERIALIZE:
+                return deserializeAndValidate(p, ctxt, violations);
+            case STEP_DESERIALIZE_INTO_BEAN:
+                // Start with all non-creator properties (bean has already been instantiated, so we don't need to
+                // deal with them anymore).
+                return _deserializeWithBean(
+                        p, ctxt, bean, PropertyBitSet.copyOf(nonCreatorPropertiesToValidate), violations);
+            case STEP_UPDATE_BEAN: {
+                Object result = _deserializeWithBean(p, ctxt, bean, PropertyBitSet.empty(), violations);
+                validateClassConstraints(result, violations);
+                return result;
+            }
+            case STEP_DESERIALIZE_USING_PROPERTY_BASED:
+                return _deserializeUsingPropertyBased(p, ctxt, violations);
+            default:
+                throw new IllegalArgumentException("Unknown deserialization step: " + step);
+        }
+    }
+
+
+    private Object runStepWithoutValidation(
+            int step, JsonParser p, DeserializationContext ctxt, @Nullable Object bean
+    ) throws IOException {
+        switch (step) {
+            case STEP_DESERIALIZE:
+                return super.deserialize(p, ctxt);
+            case STEP_DESERIALIZE_INTO_BEAN:
+            case STEP_UPDATE_BEAN:
+                return super.deserialize(p, ctxt, bean);
+            case STEP_DESERIALIZE_USING_PROPERTY_BASED:
+                return super._deserializeUsingPropertyBased(p, ctxt);
+            default:
+                throw new IllegalArgumentException("Unknown deserialization step: " + step);
+        }
+    }
+
+
+    private Object _deserialize(JsonParser p, DeserializationContext ctxt, ViolationCollector violations)
+            throws IOException {
         // common case first
         if (p.isExpectedStartObjectToken()) {
             if (_vanillaProcessing) {
                 p.nextToken();
-                return vanillaDeserialize(p, ctxt);
+                return vanillaDeserialize(p, ctxt, violations);
             }
             // 23-Sep-2015, tatu: This is wrong at some many levels, but for now... it is
             //    what it is, including "expected behavior".
@@ -179,10 +426,32 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
     @Override
     public Object deserialize(JsonParser p, DeserializationContext ctxt, Object bean) throws IOException {
 
-        if (validationAnnotation == null) {
+        if (validationAnnotation == null || ViolationCollector.isValidationSkipped(ctxt)) {
             return super.deserialize(p, ctxt, bean);
         }
 
+        if (features.isEnabled(BeanValidationFeature.VALIDATE_UPDATED_PROPERTIES_ONLY, ctxt)) {
+            // The bean is known to be valid, so only the properties in the input (and the class-level constraints,
+            // which may depend on any of them) need validation
+            return deserializeValidated(p, ctxt, STEP_UPDATE_BEAN, bean);
+        }
+
+        return deserializeValidated(p, ctxt, STEP_DESERIALIZE_INTO_BEAN, bean);
+    }
+
+
+    /**
+     * Deserializes the remaining properties into an existing bean. The properties in the input are validated
+     * as they are set.
+     *
+     * @param propsToValidate the properties that need validation if they are not in the input
+     */
+    @SuppressWarnings("unchecked")
+    private Object _deserializeWithBean(
+            JsonParser p, DeserializationContext ctxt, Object bean, PropertyBitSet propsToValidate,
+            ViolationCollector violations
+    ) throws IOException {
+
         // [databind#631]: Assign current value, to be accessible by custom serializers
         p.setCurrentValue(bean);
         if (_injectables != null) {
@@ -195,30 +464,22 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
             return deserializeWithExternalTypeId(p, ctxt, bean);
         }
 
-        // Keep track of the properties that still need validation.
-        // Start with all non-creator properties (bean has already been instantiated, so we don't need to deal with
-        // them anymore).
-        Set<String> propsToValidate = new HashSet<>(_beanProperties.size());
-        for (SettableBeanProperty beanProperty : _beanProperties) {
-            if (!(beanProperty instanceof CreatorProperty)) {
-                propsToValidate.add(beanProperty.getName());
-            }
-        }
-
         String propName;
 
         // 23-Mar-2010, tatu: In some cases, we start with full JSON object too...
         if (p.isExpectedStartObjectToken()) {
             propName = p.nextFieldName();
             if (propName == null) {
-                return validateRemainingProperties(bean, ctxt, propsToValidate, null);
+                validateRemainingProperties(bean, ctxt, propsToValidate, violations);
+                return bean;
             }
 
         } else if (p.hasTokenId(JsonTokenId.ID_FIELD_NAME)) {
             propName = p.getCurrentName();
 
         } else {
-            return validateRemainingProperties(bean, ctxt, propsToValidate, null);
+            validateRemainingProperties(bean, ctxt, propsToValidate, violations);
+            return bean;
         }
 
         if (_needViewProcesing) {
@@ -228,77 +489,135 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
             }
         }
 
-        Set<ConstraintViolation<?>> violations = null;
         do {
             p.nextToken();
             SettableBeanProperty prop = _beanProperties.find(propName);
 
             if (prop != null) { // normal case
-                try {
-                    prop.deserializeAndSet(p, ctxt, bean);
+                if (bean instanceof InvalidObject) {
+                    // Instance wasn't even created because there were already violations in the creator.
+                    // Just validate the property value but don't set it.
+                    if (!p.hasToken(JsonToken.VALUE_NULL) ||
+                            !NullsConstantProvider.isSkipper(prop.getNullValueProvider())) {
+                        _deserializeProperty(p, ctxt, null, prop, violations);
+                    }
+
+                } else if (!rejectTooLongText(p, prop, violations)) {
+                    int mark = violations.mark();
+                    Set<ConstraintViolation<?>> thrownViolations = null;
+
+                    JsonStreamContext previousValueContext =
+                            violations.swapPropertyValueContext(p.getParsingContext());
+                    try {
+                        prop.deserializeAndSet(p, ctxt, bean);
+
+                    } catch (ConstraintViolationException ex) {
+                        thrownViolations = ex.getConstraintViolations();
 
-                } catch (ConstraintViolationException ex) {
-                    if (violations == null) {
-                        violations = new HashSet<>();
+                    } catch (Exception e) {
+                        if (violations.isAborted()) {
+                            rebaseNestedViolations(violations, mark, bean, prop);
+                            throw ViolationCollector.Abort.INSTANCE;
+                        }
+                        wrapAndThrow(e, bean, propName, ctxt);
+
+                    } finally {
+                        violations.swapPropertyValueContext(previousValueContext);
                     }
-                    violations.addAll(ex.getConstraintViolations());
 
-                } catch (Exception e) {
-                    wrapAndThrow(e, bean, propName, ctxt);
+                    if (violations.hasViolationsSince(mark)) {
+                        rebaseNestedViolations(violations, mark, bean, prop);
 
-                } finally {
-                    propsToValidate.remove(propName);
+                    } else if (thrownViolations == null && getPropertyPlan(prop).isBeanProperty()) {
+                        long start = features.startValidation();
+                        try {
+                            validateBeanProperty(bean, prop, violations);
+                        } finally {
+                            features.endValidation(handledType(), ValidationPhase.PROPERTY, start,
+                                    violations.mark() - mark);
+                        }
+                    }
+                    violations.addAll(thrownViolations);
                 }
+
+                propsToValidate.clear(getPropertyPlan(prop).getIndex());
                 continue;
             }
             handleUnknownVanilla(p, ctxt, bean, propName);
         } while ((propName = p.nextFieldName()) != null);
 
-        return validateRemainingProperties(bean, ctxt, propsToValidate, violations);
+        validateRemainingProperties(bean, ctxt, propsToValidate, violations);
+        return bean;
     }
 
 
-    private Object validateRemainingProperties(
-            Object bean, DeserializationContext ctxt, Set<String> propsToValidate,
-            @Nullable Set<ConstraintViolation<?>> previousViolations
+    private void validateRemainingProperties(
+            Object bean, DeserializationContext ctxt, PropertyBitSet propsToValidate, ViolationCollector violations
     ) throws JsonMappingException {
 
-        Set<ConstraintViolation<?>> violations = null;
-        if (previousViolations != null) {
-            violations = new LinkedHashSet<>(previousViolations);
+        if (propsToValidate.nextSetBit(0) < 0) {
+            return;
         }
 
-        if (bean instanceof InvalidObject) {
+        long start = features.startValidation();
+        int mark = violations.mark();
+        try {
+            if (bean instanceof InvalidObject) {
 
-            Class<?> beanType = ((InvalidObject) bean).getType();
+                Class<?> beanType = ((InvalidObject) bean).getType();
 
-            // If we haven't instantiated the bean, we can only guess that unset properties would be
-            // left to the default value for the Java type (e.g. 0 for ints and null for reference types)
-            for (String propNameToValidate : propsToValidate) {
-                SettableBeanProperty prop = _beanProperties.find(propNameToValidate);
-                Object value = prop.getNullValueProvider().getNullValue(ctxt);
+                // If we haven't instantiated the bean, we can only guess that unset properties would be
+                // left to the default value for the Java type (e.g. 0 for ints and null for reference types)
+                for (int i = propsToValidate.nextSetBit(0); i >= 0; i = propsToValidate.nextSetBit(i + 1)) {
+                    SettableBeanProperty prop = indexedProperties[i];
+                    Object value = prop.getNullValueProvider().getNullValue(ctxt);
 
-                Set<? extends ConstraintViolation<?>> propertyViolations = _validateValue(beanType, prop, value);
+                    _validateValue(beanType, prop, value, violations);
+                }
 
-                if (!propertyViolations.isEmpty()) {
-                    if (violations == null) {
-                        violations = new HashSet<>();
-                    }
-                    violations.addAll(propertyViolations);
+            } else {
+                // if we have an actual bean, we can validate the properties directly
+                for (int i = propsToValidate.nextSetBit(0); i >= 0; i = propsToValidate.nextSetBit(i + 1)) {
+                    _validateProperty(bean, indexedProperties[i], violations);
                 }
             }
 
-        } else {
-            // if we have an actual bean, we can validate the properties directly
-            for (String propNameToValidate : propsToValidate) {
-                violations = _validateProperty(bean, propNameToValidate, violations);
-            }
+        } finally {
+            features.endValidation(handledType(), ValidationPhase.REMAINING_PROPERTIES, start,
+                    violations.mark() - mark);
         }
+    }
 
-        if (violations != null && !violations.isEmpty()) {
-            throw new ConstraintViolationException(violations);
+
+    /**
+     * Validates only the class-level constraints of a bean. The validator can't do that on its own, so the
+     * bean is validated as a whole (if it has any class-level constraints at all) and the violations of the
+     * properties are ignored.
+     */
+    private void validateClassConstraints(@Nullable Object bean, ViolationCollector violations) {
+        ValidationPlan activePlan = getActivePlan(violations);
+        if (bean == null || bean instanceof InvalidObject || !activePlan.isClassConstrained()) {
+            return;
         }
-        return bean;
+
+        long start = features.startValidation();
+        int mark = violations.mark();
+        try {
+            for (ConstraintViolation<Object> violation : validator.validate(bean, activePlan.getGroups())) {
+                if (isClassLevel(violation.getPropertyPath())) {
+                    violations.add(violation);
+                }
+            }
+        } finally {
+            features.endValidation(handledType(), ValidationPhase.POST_CONSTRUCTION, start,
+                    violations.mark() - mark);
+        }
+    }
+
+
+    private static boolean isClassLevel(Path path) {
+        Iterator<Path.Node> nodes = path.iterator();
+        return !nodes.hasNext() || (nodes.next().getKind() == ElementKind.BEAN && !nodes.hasNext());
     }
 
 
@@ -306,23 +625,27 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
      * Streamlined version that is only used when no "special"
      * features are enabled.
      */
-    private Object vanillaDeserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        Set<ConstraintViolation<?>> violations = null;
+    private Object vanillaDeserialize(
+            JsonParser p, DeserializationContext ctxt, ViolationCollector violations
+    ) throws IOException {
 
         final Object bean = _valueInstantiator.createUsingDefault(ctxt);
         // [databind#631]: Assign current value, to be accessible by custom serializers
         p.setCurrentValue(bean);
 
         // Keep track of the properties that still need validation
-        Set<String> propsToValidate = StreamSupport.stream(_beanProperties.spliterator(), true)
-                .map(SettableBeanProperty::getName)
-                .collect(Collectors.toSet());
+        PropertyBitSet propsToValidate = PropertyBitSet.copyOf(propertiesToValidate);
+
+        OptimizedPropertyAccess propertyAccess = this.optimizedPropertyAccess;
+        int expectedIndex = 0;
 
         if (p.hasTokenId(JsonTokenId.ID_FIELD_NAME)) {
             String propName = p.getCurrentName();
             do {
                 p.nextToken();
-                SettableBeanProperty prop = _beanProperties.find(propName);
+                int index = (propertyAccess != null) ? propertyAccess.findExpected(propName, expectedIndex) : -1;
+                SettableBeanProperty prop = (index >= 0) ?
+                        propertyAccess.getProperty(index) : _beanProperties.find(propName);
 
                 if (prop != null) { // normal case
                     try {
@@ -331,17 +654,29 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
                             continue;
                         }
 
-                        Object value = _deserializeProperty(p, ctxt, bean, prop);
-                        prop.set(bean, value);
-
-                    } catch (ConstraintViolationException ex) {
-                        if (violations == null) {
-                            violations = new LinkedHashSet<>();
+                        int mark = violations.mark();
+                        Object value = _deserializeProperty(p, ctxt, bean, prop, violations);
+                        ValidationPlan.PropertyPlan propertyPlan = (index >= 0) ?
+                                validationPlan.getProperty(index) : getPropertyPlan(prop);
+                        expectedIndex = propertyPlan.getIndex() + 1;
+
+                        if (!violations.hasViolationsSince(mark)) {
+                            if (propertyAccess != null) {
+                                propertyAccess.set(propertyPlan.getIndex(), prop, bean, value);
+                            } else {
+                                prop.set(bean, value);
+                            }
+
+                            // The value has already been validated; only cascaded properties still need
+                            // to be validated on the bean
+                            if (!propertyPlan.isCascaded()) {
+                                propsToValidate.clear(propertyPlan.getIndex());
+                            }
+
+                        } else {
+                            // We can consider this property fully validated
+                            propsToValidate.clear(propertyPlan.getIndex());
                         }
-                        violations.addAll(ex.getConstraintViolations());
-
-                        // We can consider this property fully validated
-                        propsToValidate.remove(prop.getName());
 
                     } catch (Exception e) {
                         wrapAndThrow(e, bean, propName, ctxt);
@@ -356,64 +691,81 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
         // If there are any properties left that we haven't encountered, they will be left with their
         // default value (or whatever the constructor initialized them with). Since these properties didn't
         // go through deserialization, we have to validate them now.
-        return validateRemainingProperties(bean, ctxt, propsToValidate, violations);
+        validateRemainingProperties(bean, ctxt, propsToValidate, violations);
+        return bean;
     }
 
 
-    @Nullable
-    protected Set<ConstraintViolation<?>> _validateProperty(
-            Object bean, String propName, @Nullable Set<ConstraintViolation<?>> violationsCollector
-    ) {
-        SettableBeanProperty prop = _beanProperties.find(propName);
-        assert !(prop instanceof CreatorProperty);
+    @Nonnull
+    protected final ValidationPlan.PropertyPlan getPropertyPlan(SettableBeanProperty prop) {
+        assert validationPlan != null;
+        return validationPlan.getProperty(prop);
+    }
 
-        String beanPropertyName = PropertyUtils.getPropertyNameFromMember(prop.getMember());
 
-        Set<ConstraintViolation<Object>> propertyViolations = validator.validateProperty(bean, beanPropertyName);
+    /**
+     * Gets the plan for the validation groups of the current document, which decides which properties are
+     * constrained and which groups are passed to the validator.
+     */
+    @Nonnull
+    private ValidationPlan getActivePlan(ViolationCollector violations) {
+        assert validationPlan != null;
+        return validationPlan.forGroups(violations.getGroupsOverride());
+    }
 
-        if (propertyViolations != null && !propertyViolations.isEmpty()) {
-            if (violationsCollector == null) {
-                violationsCollector = new LinkedHashSet<>();
-            }
-            violationsCollector.addAll(propertyViolations);
+
+    /**
+     * Validates a property of the bean after deserialization, mostly for properties that were not in the input.
+     */
+    protected void _validateProperty(Object bean, SettableBeanProperty prop, ViolationCollector violations) {
+        validateBeanProperty(bean, prop, violations);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private void validateBeanProperty(Object bean, SettableBeanProperty prop, ViolationCollector violations) {
+        assert !(prop instanceof CreatorProperty);
+
+        ValidationPlan activePlan = getActivePlan(violations);
+        ValidationPlan.PropertyPlan propertyPlan = activePlan.getProperty(prop);
+        String beanPropertyName = propertyPlan.getBeanPropertyName();
+
+        if (propertyPlan.isConstrained() && !propertyPlan.isKnownValidOn(bean)) {
+            violations.addAll(validator.validateProperty(bean, beanPropertyName, activePlan.getGroups()));
         }
 
         // If the property is annotated with @Valid, validateProperty won't cascade, so we have to
         // validate the bean value manually
-        if (prop.getAnnotation(Valid.class) != null) {
-            Object value = PropertyUtils.getProperty(bean, beanPropertyName);
+        if (propertyPlan.isCascaded()) {
+            Object value = propertyPlan.getValue(bean);
             if (value != null) {
-                Set<ConstraintViolation<Object>> cascadedViolations = validator.validate(value);
+                Set<ConstraintViolation<Object>> cascadedViolations = violations.validateValueObject(
+                        value, activePlan.getGroups(), validator);
                 if (cascadedViolations != null && !cascadedViolations.isEmpty()) {
-                    if (violationsCollector == null) {
-                        violationsCollector = new HashSet<>();
-                    }
 
-                    Path propertyBasePath = PathBuilder.create()
-                            .appendBeanNode()
-                            .appendProperty(propName)
-                            .build();
+                    Path propertyBasePath = propertyPlan.getCascadeBasePath();
 
                     for (ConstraintViolation<Object> cascadedViolation : cascadedViolations) {
-                        @SuppressWarnings("unchecked")
-                        ConstraintViolation<?> resolvedViolation =
-                                ConstraintViolationUtils.withBasePath(cascadedViolation,
-                                        bean, (Class) handledType(), propertyBasePath);
-                        violationsCollector.add(resolvedViolation);
+                        violations.add(ConstraintViolationUtils.withBasePath(cascadedViolation,
+                                bean, (Class) handledType(), propertyBasePath));
                     }
                 }
             }
         }
-
-        return violationsCollector;
     }
 
 
-    protected Set<? extends ConstraintViolation<?>> _validateValue(
-            Class<?> beanType, SettableBeanProperty prop, @Nullable Object value
+    protected void _validateValue(
+            Class<?> beanType, SettableBeanProperty prop, @Nullable Object value, ViolationCollector violations
     ) {
-        String beanPropertyName = PropertyUtils.getPropertyNameFromMember(prop.getMember());
-        return validator.validateValue(beanType, beanPropertyName, value);
+        ValidationPlan activePlan = getActivePlan(violations);
+        ValidationPlan.PropertyPlan propertyPlan = activePlan.getProperty(prop);
+        if (propertyPlan.isConstrained() && !propertyPlan.isKnownValid(value) &&
+                !(beanType == activePlan.getBeanType() &&
+                        propertyPlan.evaluateConstraints(value, activePlan, messageInterpolator, violations))) {
+            violations.addAll(validator.validateValue(
+                    beanType, propertyPlan.getBeanPropertyName(), value, activePlan.getGroups()));
+        }
     }
 
 
@@ -426,19 +778,37 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
      * as well.
      */
     @Override
-    @SuppressWarnings("resource")
     protected Object _deserializeUsingPropertyBased(JsonParser p, DeserializationContext ctxt) throws IOException {
 
-        if (validationAnnotation == null) {
+        if (validationAnnotation == null || ViolationCollector.isValidationSkipped(ctxt)) {
             return super._deserializeUsingPropertyBased(p, ctxt);
         }
 
+        ViolationCollector violations = ViolationCollector.get(ctxt);
+        if (violations == null) {
+            // not called through deserialize(), so we don't have a collector yet
+            return deserializeValidated(p, ctxt, STEP_DESERIALIZE_USING_PROPERTY_BASED, null);
+        }
+        return _deserializeUsingPropertyBased(p, ctxt, violations);
+    }
+
+
+    @SuppressWarnings("resource")
+    private Object _deserializeUsingPropertyBased(
+            JsonParser p, DeserializationContext ctxt, ViolationCollector violations
+    ) throws IOException {
+
         final PropertyBasedCreator creator = _propertyBasedCreator;
 
-        // In addition to the default PropertyValueBuffer we also need to store constraint violations
+        // In addition to the default PropertyValueBuffer we also need to keep track of invalid parameters
         ValidationAwarePropertyValueBuffer buffer = new ValidationAwarePropertyValueBuffer(
-                p, ctxt, creator.properties().size(), _objectIdReader, this._beanType, features,
-                messageInterpolator, validationAnnotation);
+                p, ctxt, creator.properties().size(), _objectIdReader, this._beanType,
+                messageInterpolator, getActivePlan(violations), violations);
+
+        // Keep track of the non-creator properties that still need validation, and of the buffered values
+        // that need cascaded validation once the bean has been created
+        PropertyBitSet propsToValidate = PropertyBitSet.copyOf(nonCreatorPropertiesToValidate);
+        List<SettableBeanProperty> cascadedProps = null;
 
         TokenBuffer unknown = null;
         final Class<?> activeView = _needViewProcesing ? ctxt.getActiveView() : null;
@@ -461,12 +831,11 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
                     continue;
                 }
 
-                Object value;
-                try {
-                    value = _deserializeProperty(p, ctxt, null, creatorProp);
+                int mark = violations.mark();
+                Object value = _deserializeProperty(p, ctxt, null, creatorProp, violations);
 
-                } catch (ConstraintViolationException ex) {
-                    buffer.assignViolations(creatorProp, ex.getConstraintViolations());
+                if (violations.hasViolationsSince(mark)) {
+                    buffer.markParameterInvalid(creatorProp.getCreatorIndex());
 
                     // We still need to call buffer.assignParameter with any value to indicate
                     // that this parameter has been processed
@@ -478,14 +847,9 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
                     p.nextToken(); // to move to following FIELD_NAME/END_OBJECT
                     Object bean;
                     try {
+                        // returns an InvalidObject if there were any violations on the creator parameters
                         bean = creator.build(ctxt, buffer);
 
-                    } catch (ConstraintViolationException ex) {
-                        // Retrieve any violation from the set, to find out which concrete type was
-                        // being instantiated
-                        ConstraintViolation<?> violation = ex.getConstraintViolations().iterator().next();
-                        bean = new InvalidObject(violation.getRootBeanClass(), ex.getConstraintViolations());
-
                     } catch (Exception e) {
                         bean = wrapInstantiationProblem(e, ctxt);
                     }
@@ -504,8 +868,9 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
                     if (unknown != null) { // nope, just extra unknown stuff...
                         bean = handleUnknownProperties(ctxt, bean, unknown);
                     }
+                    validateCascadedProperties(bean, cascadedProps, violations);
                     // or just clean?
-                    bean = deserialize(p, ctxt, bean);
+                    bean = _deserializeWithBean(p, ctxt, bean, propsToValidate, violations);
                     return unwrapInvalidObject(bean);
                 }
                 continue;
@@ -513,7 +878,23 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
             // regular property? needs buffering
             SettableBeanProperty prop = _beanProperties.find(propName);
             if (prop != null) {
-                buffer.bufferProperty(prop, _deserializeProperty(p, ctxt, null, prop));
+                int mark = violations.mark();
+                Object value = _deserializeProperty(p, ctxt, null, prop, violations);
+                ValidationPlan.PropertyPlan propertyPlan = getPropertyPlan(prop);
+
+                // Only valid values are buffered, the others have already been reported
+                if (!violations.hasViolationsSince(mark)) {
+                    buffer.bufferProperty(prop, value);
+
+                    if (propertyPlan.isCascaded()) {
+                        if (cascadedProps == null) {
+                            cascadedProps = new ArrayList<>();
+                        }
+                        cascadedProps.add(prop);
+                    }
+                }
+                propsToValidate.clear(propertyPlan.getIndex());
+                continue;
             }
             // Things marked as ignorable should not be passed to any setter
             if (_ignorableProps != null && _ignorableProps.contains(propName)) {
@@ -545,6 +926,10 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
             wrapInstantiationProblem(e, ctxt);
             assert false; // never gets here
         }
+        if (bean instanceof InvalidObject) {
+            return null;
+        }
+        validateCascadedProperties(bean, cascadedProps, violations);
         if (unknown != null) {
             // polymorphic?
             if (bean.getClass() != _beanType.getRawClass()) {
@@ -557,39 +942,76 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
     }
 
 
-    private Object unwrapInvalidObject(Object bean) {
-        if (bean instanceof InvalidObject) {
-            throw new ConstraintViolationException(((InvalidObject) bean).getViolations());
-        } else {
-            return bean;
+    private void validateCascadedProperties(
+            Object bean, @Nullable List<SettableBeanProperty> cascadedProps, ViolationCollector violations
+    ) {
+        if (cascadedProps != null && !(bean instanceof InvalidObject)) {
+            long start = features.startValidation();
+            int mark = violations.mark();
+            try {
+                for (SettableBeanProperty prop : cascadedProps) {
+                    _validateProperty(bean, prop, violations);
+                }
+            } finally {
+                features.endValidation(handledType(), ValidationPhase.REMAINING_PROPERTIES, start,
+                        violations.mark() - mark);
+            }
         }
     }
 
 
+    /**
+     * The violations of an invalid object have already been recorded, so the caller only needs to know that
+     * there is no value.
+     */
+    @Nullable
+    private Object unwrapInvalidObject(Object bean) {
+        return (bean instanceof InvalidObject) ? null : bean;
+    }
+
+
+    /**
+     * Deserializes the value of a property and validates it, recording any violations in the collector. If
+     * there are any violations, the returned value should not be used.
+     */
     @SuppressWarnings("unchecked")
     protected Object _deserializeProperty(
-            JsonParser p, DeserializationContext ctxt, @Nullable Object bean, SettableBeanProperty prop
+            JsonParser p, DeserializationContext ctxt, @Nullable Object bean, SettableBeanProperty prop,
+            ViolationCollector violations
     ) throws IOException {
 
+        if (rejectTooLongText(p, prop, violations)) {
+            return null;
+        }
+
+        int mark = violations.mark();
         Object value = null;
-        Set<ConstraintViolation<?>> propertyViolations = Collections.emptySet();
+        Collection<ConstraintViolation<?>> propertyViolations = null;
 
+        JsonStreamContext previousValueContext = violations.swapPropertyValueContext(p.getParsingContext());
         try {
-            value = prop.deserialize(p, ctxt);
-
-            if (!(prop instanceof CreatorProperty)) {
-                String beanPropertyName = PropertyUtils.getPropertyNameFromMember(prop.getMember());
-                propertyViolations =
-                        (Set) validator.validateValue(handledType(), beanPropertyName, value);
+            ArraySizeLimitingParser limitingParser = limitArraySize(p, prop, violations);
+            if (limitingParser == null) {
+                value = prop.deserialize(p, ctxt);
+
+            } else {
+                value = prop.deserialize(limitingParser, ctxt);
+                if (limitingParser.isLimitExceeded()) {
+                    limitingParser.skipRemainingElements();
+                    ValidationPlan activePlan = getActivePlan(violations);
+                    propertyViolations = Collections.singleton(activePlan.getProperty(prop)
+                            .createMaxSizeViolation(activePlan, messageInterpolator));
+                }
             }
 
         } catch (MismatchedInputException ex) {
             propertyViolations = Collections.singleton(handleMismatchedInput(p, bean, prop));
 
         } catch (ConstraintViolationException ex) {
+            // thrown by a nested validating deserializer that couldn't record into our collector
 
-            Path propertyBasePath = PropertyPathUtils.constructPropertyPath(prop, features, p.getParsingContext());
-            propertyViolations = new LinkedHashSet<>(ex.getConstraintViolations().size());
+            Path propertyBasePath = getPropertyPlan(prop).getPropertyPath(prop, features, p.getParsingContext());
+            propertyViolations = new ArrayList<>(ex.getConstraintViolations().size());
 
             for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
                 ConstraintViolation<?> resolvedViolation = ConstraintViolationUtils.withBasePath(
@@ -598,22 +1020,108 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
             }
 
         } catch (Exception ex) {
+            if (violations.isAborted()) {
+                rebaseNestedViolations(violations, mark, bean, prop);
+                throw ViolationCollector.Abort.INSTANCE;
+            }
             wrapAndThrow(ex, handledType(), prop.getName(), ctxt);
+
+        } finally {
+            violations.swapPropertyValueContext(previousValueContext);
         }
 
-        if (!propertyViolations.isEmpty()) {
-            throw new ConstraintViolationException(propertyViolations);
+        // Violations recorded by nested beans are relative to the nested bean
+        if (violations.hasViolationsSince(mark)) {
+            rebaseNestedViolations(violations, mark, bean, prop);
         }
+
+        if (propertyViolations != null) {
+            violations.addAll(propertyViolations);
+
+        } else if (!violations.hasViolationsSince(mark) && !(prop instanceof CreatorProperty)) {
+            ValidationPlan activePlan = getActivePlan(violations);
+            ValidationPlan.PropertyPlan propertyPlan = activePlan.getProperty(prop);
+            // Most properties typically don't have any constraints (in the active groups), don't bother the
+            // validator with them, nor with values that a generated validator has already found to be valid.
+            // Standard constraints may be evaluated by the module itself
+            if (propertyPlan.isConstrained() && !propertyPlan.isKnownValid(value)) {
+                long start = features.startValidation();
+                int violationsMark = violations.mark();
+                try {
+                    if (!propertyPlan.evaluateRange(value, activePlan, messageInterpolator, violations) &&
+                            !propertyPlan.evaluateConstraints(value, activePlan, messageInterpolator, violations)) {
+                        violations.addAll(validator.validateValue(
+                                handledType(), propertyPlan.getBeanPropertyName(), value, activePlan.getGroups()));
+                    }
+                } finally {
+                    features.endValidation(handledType(), ValidationPhase.PROPERTY, start,
+                            violations.size() - violationsMark);
+                }
+            }
+        }
+
         return value;
     }
 
 
+    /**
+     * Checks the length of a string value against the maximum size of its property before it is deserialized, if
+     * {@link BeanValidationFeature#CHECK_STRING_SIZE_BEFORE_DESERIALIZATION} is enabled.
+     *
+     * @return {@code true} if the value is too long, in which case a violation was recorded and the value must
+     * not be deserialized
+     */
+    private boolean rejectTooLongText(
+            JsonParser p, SettableBeanProperty prop, ViolationCollector violations
+    ) throws IOException {
+        if (!p.hasToken(JsonToken.VALUE_STRING) ||
+                features.isDisabled(BeanValidationFeature.CHECK_STRING_SIZE_BEFORE_DESERIALIZATION)) {
+            return false;
+        }
+        ValidationPlan activePlan = getActivePlan(violations);
+        ConstraintViolation<?> sizeViolation = activePlan.getProperty(prop)
+                .checkTextLength(p, prop, activePlan, messageInterpolator);
+        if (sizeViolation == null) {
+            return false;
+        }
+        violations.add(sizeViolation);
+        return true;
+    }
+
+
+    /**
+     * Wraps the parser to stop deserializing an array after the maximum size of its property has been exceeded, if
+     * {@link BeanValidationFeature#LIMIT_ARRAY_SIZE_DURING_DESERIALIZATION} is enabled.
+     *
+     * @return the wrapped parser, or {@code null} if the size of the array is not limited
+     */
+    @Nullable
+    private ArraySizeLimitingParser limitArraySize(
+            JsonParser p, SettableBeanProperty prop, ViolationCollector violations
+    ) {
+        if (!p.hasToken(JsonToken.START_ARRAY) ||
+                features.isDisabled(BeanValidationFeature.LIMIT_ARRAY_SIZE_DURING_DESERIALIZATION)) {
+            return null;
+        }
+        return getActivePlan(violations).getProperty(prop).limitArraySize(p, prop);
+    }
+
+
+    private void rebaseNestedViolations(
+            ViolationCollector violations, int mark, @Nullable Object bean, SettableBeanProperty prop
+    ) {
+        ValidationPlan.PropertyPlan propertyPlan = getPropertyPlan(prop);
+        violations.rebaseSince(mark,
+                arrayIndex -> propertyPlan.getPropertyPath(prop, features, arrayIndex),
+                bean, handledType());
+    }
+
+
     @Nonnull
-    @SuppressWarnings("unchecked")
     private ConstraintViolation<?> handleMismatchedInput(
             JsonParser p, @Nullable Object bean, SettableBeanProperty prop
     ) {
-        assert validationAnnotation != null;
+        ValidationPlan.PropertyPlan propertyPlan = getPropertyPlan(prop);
 
         Object invalidValue;
         ConstraintDescriptor<?> constraintDescriptor;
@@ -622,16 +1130,12 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
                 p.currentToken() == JsonToken.VALUE_NULL &&
                 prop.getType().isPrimitive()) {
 
-            constraintDescriptor = createNotNullConstraintDescriptor(prop);
+            constraintDescriptor = propertyPlan.getNotNullConstraint();
             invalidValue = null;
 
         } else {
 
-            JsonValidInput constraintAnnotation = prop.getAnnotation(JsonValidInput.class);
-            if (constraintAnnotation == null) {
-                constraintAnnotation = JsonConstraints.validInput(validationAnnotation.validInputMessage());
-            }
-            constraintDescriptor = new JsonValidInputConstraintDescriptor(constraintAnnotation);
+            constraintDescriptor = propertyPlan.getValidInputConstraint();
 
             try {
                 invalidValue = p.getText();
@@ -640,28 +1144,16 @@ class ValidatingBeanDeserializer extends BeanDeserializer {
             }
         }
 
-        return ConstraintViolationUtils.create(
-                bean, (Class) handledType(), null,
-                PropertyPathUtils.constructPropertyPath(prop, features, p.getParsingContext()),
+        return validationPlan.createViolation(
+                bean, propertyPlan.getPropertyPath(prop, features, p.getParsingContext()),
                 invalidValue, constraintDescriptor, messageInterpolator);
     }
 
 
-    @SuppressWarnings("unchecked")
     protected ConstraintViolation<?> _createNotNullViolation(@Nullable Object bean, SettableBeanProperty prop) {
-        ConstraintDescriptor<?> constraintDescriptor = createNotNullConstraintDescriptor(prop);
-        return ConstraintViolationUtils.create(
-                bean, (Class) handledType(), null, PropertyPathUtils.constructPropertyPath(prop, features),
-                null, constraintDescriptor, messageInterpolator);
+        ValidationPlan.PropertyPlan propertyPlan = getPropertyPlan(prop);
+        return validationPlan.createViolation(
+                bean, propertyPlan.getPropertyPath(), null, propertyPlan.getNotNullConstraint(), messageInterpolator);
     }
 
-
-    @Nonnull
-    private ConstraintDescriptor<?> createNotNullConstraintDescriptor(SettableBeanProperty prop) {
-        NotNull notNullAnnotation = prop.getAnnotation(NotNull.class);
-        if (notNullAnnotation == null) {
-            notNullAnnotation = JsonConstraints.notNull();
-        }
-        return new NotNullConstraintDescriptor(notNullAnnotation);
-    }
 }
@@ -0,0 +1,144 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import javax.annotation.Nonnull;
+import javax.validation.ConstraintViolationException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Iterates over the elements of a top-level JSON array or a sequence of root-level values (e.g. JSON Lines),
+ * validating each element separately.
+ * <p>
+ * Every element is returned as a {@link ValidationResult} that contains either the value or its violations.
+ * A {@link ConstraintViolationException} for one element does not end the iteration; the input is skipped to the
+ * start of the next element. Elements are read one at a time, so memory use does not depend on the size of the
+ * input.
+ *
+ * <pre>
+ * ObjectReader reader = objectMapper.readerFor(PersonRequest.class);
+ * try (ValidatingMappingIterator&lt;PersonRequest&gt; iterator = ValidatingMappingIterator.readValues(reader, input)) {
+ *     while (iterator.hasNextValue()) {
+ *         ValidationResult&lt;PersonRequest&gt; result = iterator.nextValue();
+ *         // ...
+ *     }
+ * }
+ * </pre>
+ *
+ * Other errors, such as malformed JSON, are thrown as usual.
+ *
+ * @param <T> the type of the elements
+ */
+public final class ValidatingMappingIterator<T> implements Iterator<ValidationResult<T>>, Closeable {
+
+    private final MappingIterator<T> delegate;
+    private long nextIndex;
+
+
+    public ValidatingMappingIterator(MappingIterator<T> delegate) {
+        this.delegate = delegate;
+    }
+
+
+    @Nonnull
+    public static <T> ValidatingMappingIterator<T> readValues(ObjectReader reader, JsonParser parser)
+            throws IOException {
+        return new ValidatingMappingIterator<>(reader.readValues(parser));
+    }
+
+
+    @Nonnull
+    public static <T> ValidatingMappingIterator<T> readValues(ObjectReader reader, InputStream input)
+            throws IOException {
+        return new ValidatingMappingIterator<>(reader.readValues(input));
+    }
+
+
+    @Nonnull
+    public static <T> ValidatingMappingIterator<T> readValues(ObjectReader reader, Reader input)
+            throws IOException {
+        return new ValidatingMappingIterator<>(reader.readValues(input));
+    }
+
+
+    @Nonnull
+    public static <T> ValidatingMappingIterator<T> readValues(ObjectReader reader, String input)
+            throws IOException {
+        return new ValidatingMappingIterator<>(reader.readValues(input));
+    }
+
+
+    public boolean hasNextValue() throws IOException {
+        return delegate.hasNextValue();
+    }
+
+
+    /**
+     * Reads and validates the next element.
+     *
+     * @throws NoSuchElementException if there are no more elements
+     * @throws IOException            if the input cannot be read or parsed
+     */
+    @Nonnull
+    public ValidationResult<T> nextValue() throws IOException {
+        if (!delegate.hasNextValue()) {
+            throw new NoSuchElementException();
+        }
+
+        JsonParser parser = delegate.getParser();
+        JsonLocation location = (parser != null) ? parser.getTokenLocation() : null;
+        long index = nextIndex++;
+
+        try {
+            return ValidationResult.valid(index, location, delegate.nextValue());
+
+        } catch (ConstraintViolationException ex) {
+            return ValidationResult.invalid(index, location, ex.getConstraintViolations());
+
+        } catch (JsonMappingException ex) {
+            // e.g. the element is a collection, and the collection deserializer wrapped the exception
+            if (ex.getCause() instanceof ConstraintViolationException) {
+                return ValidationResult.invalid(
+                        index, location, ((ConstraintViolationException) ex.getCause()).getConstraintViolations());
+            }
+            throw ex;
+        }
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return hasNextValue();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+
+    @Override
+    public ValidationResult<T> next() {
+        try {
+            return nextValue();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
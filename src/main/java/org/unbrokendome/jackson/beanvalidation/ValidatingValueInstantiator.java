@@ -13,7 +13,6 @@ import org.unbrokendome.jackson.beanvalidation.violation.ConstraintViolationUtil
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.validation.ConstraintViolation;
-import javax.validation.ConstraintViolationException;
 import javax.validation.ElementKind;
 import javax.validation.Path;
 import javax.validation.ValidatorFactory;
@@ -23,16 +22,17 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.Collections;
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 
 class ValidatingValueInstantiator extends AbstractDelegatingValueInstantiator {
 
-    private final ValidatorFactory validatorFactory;
+    private final ExecutableValidator executableValidator;
     private final BeanValidationFeatureSet features;
-    private boolean validationEnabled = false;
+    // Set once by the first validating deserializer that uses this instantiator. All plans for the same bean
+    // type agree on the creator parameters, but not on the validation groups (see getGroups).
+    @Nullable
+    private volatile ValidationPlan validationPlan;
 
 
     ValidatingValueInstantiator(
@@ -40,18 +40,20 @@ class ValidatingValueInstantiator extends AbstractDelegatingValueInstantiator {
             BeanValidationFeatureSet features
     ) {
         super(delegate);
-        this.validatorFactory = validatorFactory;
+        this.executableValidator = validatorFactory.getValidator().forExecutables();
         this.features = features;
     }
 
 
     public boolean isValidationEnabled() {
-        return validationEnabled;
+        return validationPlan != null;
     }
 
 
-    void enableValidation(boolean enabled) {
-        this.validationEnabled = enabled;
+    void enableValidation(ValidationPlan validationPlan) {
+        if (this.validationPlan == null) {
+            this.validationPlan = validationPlan;
+        }
     }
 
 
@@ -60,7 +62,7 @@ class ValidatingValueInstantiator extends AbstractDelegatingValueInstantiator {
             DeserializationContext ctxt, SettableBeanProperty[] props, PropertyValueBuffer buffer
     ) throws IOException {
 
-        if (!validationEnabled) {
+        if (!isValidationEnabled() || ViolationCollector.isValidationSkipped(ctxt)) {
             return super.createFromObjectWith(ctxt, props, buffer);
         }
 
@@ -68,30 +70,21 @@ class ValidatingValueInstantiator extends AbstractDelegatingValueInstantiator {
             return super.createFromObjectWith(ctxt, props, buffer);
         }
 
-        // Call getParameters eagerly to make sure all the violations are known (result will be cached)
-        buffer.getParameters(props);
-
-        Map<Integer, Set<ConstraintViolation<?>>> parameterViolations;
         if (buffer instanceof ValidationAwarePropertyValueBuffer) {
-            parameterViolations = ((ValidationAwarePropertyValueBuffer) buffer).getParameterViolations();
-        } else {
-            parameterViolations = Collections.emptyMap();
+            ValidationAwarePropertyValueBuffer validationBuffer = (ValidationAwarePropertyValueBuffer) buffer;
+            if (!validateCreatorArgs(ctxt, props, validationBuffer)) {
+                // Don't call the creator, the caller will find the violations in the collector
+                validationBuffer.markCreatorFailed();
+                return new InvalidObject(validationBuffer.getBeanClass(), validationBuffer.getViolations(),
+                        validationBuffer.getValidationPlan());
+            }
+            return super.createFromObjectWith(ctxt, props, buffer);
         }
 
-        return createFromObjectWith(ctxt, props, buffer, parameterViolations);
-    }
-
-
-    private Object createFromObjectWith(
-            DeserializationContext ctxt,
-            SettableBeanProperty[] props, PropertyValueBuffer buffer,
-            Map<Integer, Set<ConstraintViolation<?>>> parameterViolations
-    ) throws IOException {
-
-        Set<? extends ConstraintViolation<?>> creatorViolations =
-                validateCreatorArgs(props, buffer, parameterViolations);
-
-        throwIfHasViolations(ctxt, parameterViolations, creatorViolations);
+        // Not called from a validating deserializer, so there is nobody to collect the violations
+        ViolationCollector violations = createCollector();
+        collectCreatorViolations(ctxt, buffer.getParameters(props), getGroups(ctxt), null, violations);
+        violations.throwIfNotEmpty();
 
         return super.createFromObjectWith(ctxt, props, buffer);
     }
@@ -99,94 +92,109 @@ class ValidatingValueInstantiator extends AbstractDelegatingValueInstantiator {
 
     @Override
     public Object createFromObjectWith(DeserializationContext ctxt, Object[] args) throws IOException {
-        if (validationEnabled) {
-            return createFromObjectWith(ctxt, args, Collections.emptyMap());
-        } else {
-            return super.createFromObjectWith(ctxt, args);
+        if (isValidationEnabled() && !ViolationCollector.isValidationSkipped(ctxt)) {
+            ViolationCollector violations = createCollector();
+            collectCreatorViolations(ctxt, args, getGroups(ctxt), null, violations);
+            violations.throwIfNotEmpty();
         }
+        return super.createFromObjectWith(ctxt, args);
     }
 
 
-    private Object createFromObjectWith(
-            DeserializationContext ctxt, Object[] args,
-            Map<Integer, Set<ConstraintViolation<?>>> parameterViolations
+    /**
+     * Validates the creator arguments, recording any violations in the collector of the buffer.
+     *
+     * @return {@code true} if the creator can be called, {@code false} if there are violations on any
+     *         of the parameters
+     */
+    private boolean validateCreatorArgs(
+            DeserializationContext ctxt, SettableBeanProperty[] props, ValidationAwarePropertyValueBuffer buffer
     ) throws IOException {
 
-        Set<? extends ConstraintViolation<?>> creatorViolations = validateCreatorArgs(args, parameterViolations);
+        ViolationCollector violations = buffer.getViolations();
+        int mark = violations.mark();
 
-        throwIfHasViolations(ctxt, parameterViolations, creatorViolations);
+        // Call getParameters eagerly to make sure all the missing parameters are known
+        Object[] args = buffer.getParameters(props);
 
-        return super.createFromObjectWith(ctxt, args);
+        if (!buffer.areAllParametersInvalid(args.length)) {
+            collectCreatorViolations(ctxt, args, buffer.getValidationPlan().getGroups(), buffer, violations);
+        }
+
+        return !buffer.hasInvalidParameters() && !violations.hasViolationsSince(mark);
     }
 
 
-    private void throwIfHasViolations(
-            DeserializationContext ctxt, Map<Integer,
-            Set<ConstraintViolation<?>>> parameterViolations,
-            Set<? extends ConstraintViolation<?>> creatorViolations
-    ) {
-        if (!creatorViolations.isEmpty() || !parameterViolations.isEmpty()) {
+    /**
+     * Gets the validation groups for a creator call without a {@link ValidationAwarePropertyValueBuffer}.
+     * <p>
+     * The instantiator is shared by all deserializers for the bean type, whose plans may have different groups
+     * (e.g. from {@link JsonValidated} on a property), so the groups are taken from the plan of the validating
+     * deserializer that is currently deserializing a bean of this type. Only if there is none, they are
+     * resolved from the plan that enabled validation.
+     */
+    @Nonnull
+    private Class<?>[] getGroups(DeserializationContext ctxt) {
+        ValidationPlan validationPlan = this.validationPlan;
+        assert validationPlan != null;
 
-            Set<ConstraintViolation<?>> allViolations = new LinkedHashSet<>();
+        ViolationCollector collector = ViolationCollector.get(ctxt);
+        if (collector == null) {
+            return validationPlan.forGroups(features.getGroupsOverride(ctxt)).getGroups();
+        }
+        ValidationPlan activePlan = collector.getActivePlan();
+        if (activePlan != null && activePlan.getBeanType() == validationPlan.getBeanType()) {
+            return activePlan.getGroups();
+        }
+        return validationPlan.forGroups(collector.getGroupsOverride()).getGroups();
+    }
 
-            if (!creatorViolations.isEmpty()) {
 
-                for (ConstraintViolation<?> violation : creatorViolations) {
-                    Path.Node parameterNode = PathUtils.firstNodeOfKind(violation.getPropertyPath(), ElementKind.PARAMETER);
-                    if (parameterNode == null) {
-                        continue;
-                    }
-                    int parameterIndex = parameterNode.as(Path.ParameterNode.class).getParameterIndex();
+    /**
+     * Creates a collector for violations that are thrown directly, because there is no document to record them in.
+     */
+    @Nonnull
+    private ViolationCollector createCollector() {
+        return new ViolationCollector(features.isEnabled(BeanValidationFeature.INTERPOLATE_MESSAGES_LAZILY));
+    }
 
-                    // Only use the violation from the constructor argument if there was no previous violation
-                    if (parameterViolations.containsKey(parameterIndex)) {
-                        continue;
-                    }
 
-                    allViolations.add(
-                            mapParameterViolation(violation, parameterNode, parameterIndex, ctxt));
-                }
+    private void collectCreatorViolations(
+            DeserializationContext ctxt, Object[] args, Class<?>[] groups,
+            @Nullable ValidationAwarePropertyValueBuffer buffer, ViolationCollector violations
+    ) {
+        for (ConstraintViolation<?> violation : validateCreatorArgs(args, groups)) {
+            Path.Node parameterNode = PathUtils.firstNodeOfKind(violation.getPropertyPath(), ElementKind.PARAMETER);
+            if (parameterNode == null) {
+                // e.g. a cross-parameter constraint, which we can't map to a property
+                violations.add(violation);
+                continue;
             }
+            int parameterIndex = parameterNode.as(Path.ParameterNode.class).getParameterIndex();
 
-            for (Set<ConstraintViolation<?>> constraintViolations : parameterViolations.values()) {
-                allViolations.addAll(constraintViolations);
+            // Only use the violation from the constructor argument if there was no previous violation
+            if (buffer != null && buffer.isParameterInvalid(parameterIndex)) {
+                continue;
             }
 
-            throw new ConstraintViolationException(allViolations);
-        }
-    }
-
-
-    @Nonnull
-    private Set<ConstraintViolation<?>> validateCreatorArgs(
-            SettableBeanProperty[] props, PropertyValueBuffer buffer,
-            Map<Integer, Set<ConstraintViolation<?>>> parameterViolations
-    ) throws IOException {
-
-        if (allParametersHaveViolations(props.length, parameterViolations)) {
-            return Collections.emptySet();
+            violations.add(mapParameterViolation(violation, parameterNode, parameterIndex, ctxt));
         }
-
-        Object[] args = buffer.getParameters(props);
-        return validateCreatorArgs(args, parameterViolations);
     }
 
 
     @Nonnull
     @SuppressWarnings("unchecked")
-    private Set<ConstraintViolation<?>> validateCreatorArgs(
-            Object[] args, Map<Integer, Set<ConstraintViolation<?>>> parameterViolations
-    ) {
-        if (allParametersHaveViolations(args.length, parameterViolations)) {
-            return Collections.emptySet();
-        }
+    private Set<ConstraintViolation<?>> validateCreatorArgs(Object[] args, Class<?>[] groups) {
 
         Member creatorMember = getWithArgsCreator().getMember();
-        ExecutableValidator executableValidator = validatorFactory.getValidator().forExecutables();
 
         if (creatorMember instanceof Constructor) {
-            return (Set) executableValidator.validateConstructorParameters(
-                    (Constructor<?>) creatorMember, args);
+            long start = features.startValidation();
+            Set<ConstraintViolation<?>> violations = (Set) executableValidator.validateConstructorParameters(
+                    (Constructor<?>) creatorMember, args, groups);
+            features.endValidation(creatorMember.getDeclaringClass(), ValidationPhase.CREATOR, start,
+                    violations.size());
+            return violations;
 
         } else if (creatorMember instanceof Method) {
             // Bean validation doesn't support parameter validation for static methods :-(
@@ -198,26 +206,12 @@ class ValidatingValueInstantiator extends AbstractDelegatingValueInstantiator {
     }
 
 
-    private boolean allParametersHaveViolations(
-            int parameterCount, Map<Integer, Set<ConstraintViolation<?>>> parameterViolations
-    ) {
-        for (int i = 0; i < parameterCount; i++) {
-            if (!parameterViolations.containsKey(i)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-
     @Nonnull
     private ConstraintViolation<?> mapParameterViolation(
             ConstraintViolation<?> violation,
             Path.Node parameterNode, int parameterIndex,
             DeserializationContext context
     ) {
-        SettableBeanProperty[] constructorArguments = getFromObjectArguments(context.getConfig());
-
         if (features.isEnabled(BeanValidationFeature.MAP_CREATOR_VIOLATIONS_TO_PROPERTY_VIOLATIONS)) {
 
             String propertyName;
@@ -225,7 +219,7 @@ class ValidatingValueInstantiator extends AbstractDelegatingValueInstantiator {
             if (features.isEnabled(BeanValidationFeature.REPORT_BEAN_PROPERTY_PATHS_IN_VIOLATIONS)) {
                 propertyName = parameterNode.getName();
             } else {
-                propertyName = constructorArguments[parameterIndex].getName();
+                propertyName = getCreatorParameterName(parameterIndex, context);
             }
             Path newPath = PathBuilder.create()
                     .appendBeanNode()
@@ -239,7 +233,7 @@ class ValidatingValueInstantiator extends AbstractDelegatingValueInstantiator {
 
             Path newPath = PathBuilder.create()
                     .appendPath(PathUtils.takeUntil(violation.getPropertyPath(), ElementKind.CONSTRUCTOR))
-                    .appendParameter(constructorArguments[parameterIndex].getName(), parameterIndex)
+                    .appendParameter(getCreatorParameterName(parameterIndex, context), parameterIndex)
                     .appendPath(PathUtils.dropUntil(violation.getPropertyPath(), ElementKind.PARAMETER))
                     .build();
             return ConstraintViolationUtils.withNewPath(violation, newPath);
@@ -251,47 +245,77 @@ class ValidatingValueInstantiator extends AbstractDelegatingValueInstantiator {
     }
 
 
+    private String getCreatorParameterName(int parameterIndex, DeserializationContext context) {
+        String parameterName = validationPlan != null ? validationPlan.getCreatorParameterName(parameterIndex) : null;
+        if (parameterName == null) {
+            parameterName = getFromObjectArguments(context.getConfig())[parameterIndex].getName();
+        }
+        return parameterName;
+    }
+
+
     @Override
     public Object createFromString(DeserializationContext ctxt, String value) throws IOException {
-        validateSimpleConstructor(_fromStringCreator, value);
+        if (!validateSimpleConstructor(ctxt, _fromStringCreator, value)) {
+            return null;
+        }
         return super.createFromString(ctxt, value);
     }
 
 
     @Override
     public Object createFromInt(DeserializationContext ctxt, int value) throws IOException {
-        validateSimpleConstructor(_fromIntCreator, value);
+        if (!validateSimpleConstructor(ctxt, _fromIntCreator, value)) {
+            return null;
+        }
         return super.createFromInt(ctxt, value);
     }
 
 
     @Override
     public Object createFromLong(DeserializationContext ctxt, long value) throws IOException {
-        validateSimpleConstructor(_fromLongCreator, value);
+        if (!validateSimpleConstructor(ctxt, _fromLongCreator, value)) {
+            return null;
+        }
         return super.createFromLong(ctxt, value);
     }
 
 
     @Override
     public Object createFromDouble(DeserializationContext ctxt, double value) throws IOException {
-        validateSimpleConstructor(_fromDoubleCreator, value);
+        if (!validateSimpleConstructor(ctxt, _fromDoubleCreator, value)) {
+            return null;
+        }
         return super.createFromDouble(ctxt, value);
     }
 
 
     @Override
     public Object createFromBoolean(DeserializationContext ctxt, boolean value) throws IOException {
-        validateSimpleConstructor(_fromBooleanCreator, value);
+        if (!validateSimpleConstructor(ctxt, _fromBooleanCreator, value)) {
+            return null;
+        }
         return super.createFromBoolean(ctxt, value);
     }
 
 
-    private void validateSimpleConstructor(@Nullable AnnotatedWithParams creator, @Nullable Object value) {
-        if (validationEnabled && creator instanceof AnnotatedConstructor) {
-            ExecutableValidator validator = validatorFactory.getValidator().forExecutables();
-            Set<? extends ConstraintViolation<?>> violations = validator.validateConstructorParameters(
-                    ((AnnotatedConstructor) _fromStringCreator).getAnnotated(),
-                    new Object[]{value});
+    /**
+     * Validates the argument of a single-argument creator. Violations are recorded in the collector of the
+     * current document if there is one, otherwise they are thrown.
+     *
+     * @return {@code true} if the creator can be called
+     */
+    private boolean validateSimpleConstructor(
+            DeserializationContext ctxt, @Nullable AnnotatedWithParams creator, @Nullable Object value
+    ) {
+        if (isValidationEnabled() && creator instanceof AnnotatedConstructor &&
+                !ViolationCollector.isValidationSkipped(ctxt)) {
+            long start = features.startValidation();
+            Set<? extends ConstraintViolation<?>> violations = executableValidator.validateConstructorParameters(
+                    ((AnnotatedConstructor) creator).getAnnotated(),
+                    new Object[]{value}, getGroups(ctxt));
+            features.endValidation(creator.getDeclaringClass(), ValidationPhase.CREATOR, start,
+                    violations != null ? violations.size() : 0);
 
             if (violations != null && !violations.isEmpty()) {
 
@@ -299,16 +323,22 @@ class ValidatingValueInstantiator extends AbstractDelegatingValueInstantiator {
                 // ".value" or ".arg0" appended to it - so strip it down to the BEAN node
                 Path strippedPath = PathBuilder.create().appendBeanNode().build();
 
-                Set<ConstraintViolation<?>> mappedViolations = new LinkedHashSet<>(violations.size());
+                ViolationCollector collector = ViolationCollector.get(ctxt);
+                boolean throwViolations = (collector == null);
+                if (throwViolations) {
+                    collector = createCollector();
+                }
 
                 for (ConstraintViolation<?> violation : violations) {
-                    ConstraintViolation<?> mappedViolation =
-                            ConstraintViolationUtils.withNewPath(violation, strippedPath);
-                    mappedViolations.add(mappedViolation);
+                    collector.add(ConstraintViolationUtils.withNewPath(violation, strippedPath));
                 }
 
-                throw new ConstraintViolationException(mappedViolations);
+                if (throwViolations) {
+                    collector.throwIfNotEmpty();
+                }
+                return false;
             }
         }
+        return true;
     }
 }
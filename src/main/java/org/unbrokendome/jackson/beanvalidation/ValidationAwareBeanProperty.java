@@ -10,6 +10,7 @@ import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
 import com.fasterxml.jackson.databind.deser.impl.NullsConstantProvider;
 import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
 
+import javax.annotation.Nullable;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 import java.io.IOException;
@@ -25,45 +26,61 @@ abstract class ValidationAwareBeanProperty<P extends SettableBeanProperty>
 
     protected final P delegate;
     protected final Validator validator;
-    private boolean validationEnabled;
+    @Nullable
+    private final ValidationPlan.PropertyPlan propertyPlan;
 
 
     @SuppressWarnings("unchecked")
-    protected ValidationAwareBeanProperty(SettableBeanProperty src, Validator validator, boolean validationEnabled) {
+    protected ValidationAwareBeanProperty(
+            SettableBeanProperty src, Validator validator, @Nullable ValidationPlan.PropertyPlan propertyPlan
+    ) {
         super(src);
         this.delegate = (P) src;
         this.validator = validator;
-        this.validationEnabled = validationEnabled;
+        this.propertyPlan = propertyPlan;
     }
 
 
-    protected abstract SettableBeanProperty withDelegate(SettableBeanProperty delegate, boolean validationEnabled);
+    protected abstract SettableBeanProperty withDelegate(
+            SettableBeanProperty delegate, @Nullable ValidationPlan.PropertyPlan propertyPlan);
 
 
     @Override
     public final SettableBeanProperty withValueDeserializer(JsonDeserializer<?> deser) {
-        return withDelegate(delegate.withValueDeserializer(deser), validationEnabled);
+        return withDelegate(delegate.withValueDeserializer(deser), propertyPlan);
     }
 
 
     @Override
     public final SettableBeanProperty withName(PropertyName newName) {
-        return withDelegate(delegate.withName(newName), validationEnabled);
+        return withDelegate(delegate.withName(newName), propertyPlan);
     }
 
 
     @Override
     public final SettableBeanProperty withNullProvider(NullValueProvider nva) {
-        return withDelegate(delegate.withNullProvider(nva), validationEnabled);
+        return withDelegate(delegate.withNullProvider(nva), propertyPlan);
     }
 
 
-    void enableValidation() {
-        this.validationEnabled = true;
+    /**
+     * Returns a copy of this property that validates according to the given plan. Properties are shared between
+     * deserializers (and threads), so they are never modified.
+     */
+    SettableBeanProperty withPropertyPlan(ValidationPlan.PropertyPlan propertyPlan) {
+        return (propertyPlan == this.propertyPlan) ? this : withDelegate(delegate, propertyPlan);
+    }
+
+
+    private boolean isConstrained(InvalidObject instance) {
+        return propertyPlan == null || instance.getValidationPlan().getProperty(this).isConstrained();
     }
 
 
     protected String getBeanPropertyName() {
+        if (propertyPlan != null) {
+            return propertyPlan.getBeanPropertyName();
+        }
         return PropertyUtils.getPropertyNameFromMember(getMember());
     }
 
@@ -96,14 +113,16 @@ abstract class ValidationAwareBeanProperty<P extends SettableBeanProperty>
     private boolean validatePropertyOnInvalidOject(
             JsonParser p, DeserializationContext ctxt, Object instance
     ) throws IOException {
-        if (validationEnabled && instance instanceof InvalidObject) {
+        if (propertyPlan != null && instance instanceof InvalidObject) {
             // Instance wasn't even created because there were already validation errors in the creator.
             // Just validate the properties but don't set them.
+            InvalidObject invalidObject = (InvalidObject) instance;
             Object value = deserializeValue(p, ctxt);
-            if (value != SKIP_NULL_VALUE) {
+            if (value != SKIP_NULL_VALUE && isConstrained(invalidObject)) {
                 Set<? extends ConstraintViolation<?>> violations = validator.validateValue(
-                        getMember().getDeclaringClass(), getBeanPropertyName(), value);
-                ((InvalidObject) instance).addAdditionalViolations(violations);
+                        getMember().getDeclaringClass(), getBeanPropertyName(), value,
+                        invalidObject.getValidationPlan().getGroups());
+                invalidObject.addAdditionalViolations(violations);
             }
             return true;
         } else {
@@ -141,9 +160,13 @@ abstract class ValidationAwareBeanProperty<P extends SettableBeanProperty>
         if (instance instanceof InvalidObject) {
             // Instance wasn't even created because there were already validation errors in the creator.
             // Just validate the properties but don't set them.
-            Set<? extends ConstraintViolation<?>> violations = validator.validateValue(
-                    getMember().getDeclaringClass(), getBeanPropertyName(), value);
-            ((InvalidObject) instance).addAdditionalViolations(violations);
+            InvalidObject invalidObject = (InvalidObject) instance;
+            if (isConstrained(invalidObject)) {
+                Set<? extends ConstraintViolation<?>> violations = validator.validateValue(
+                        getMember().getDeclaringClass(), getBeanPropertyName(), value,
+                        invalidObject.getValidationPlan().getGroups());
+                invalidObject.addAdditionalViolations(violations);
+            }
             return true;
         } else {
             return false;
@@ -3,19 +3,21 @@ package org.unbrokendome.jackson.beanvalidation;
 import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
 import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
 
+import javax.annotation.Nullable;
 import javax.validation.Validator;
 
 
 final class ValidationAwareFieldProperty extends ValidationAwareBeanProperty<FieldProperty> {
 
     ValidationAwareFieldProperty(
-            SettableBeanProperty src, Validator validator, boolean validationEnabled) {
-        super(src, validator, validationEnabled);
+            SettableBeanProperty src, Validator validator, @Nullable ValidationPlan.PropertyPlan propertyPlan) {
+        super(src, validator, propertyPlan);
     }
 
 
     @Override
-    protected SettableBeanProperty withDelegate(SettableBeanProperty delegate, boolean validationEnabled) {
-        return new ValidationAwareFieldProperty(delegate, validator, validationEnabled);
+    protected SettableBeanProperty withDelegate(
+            SettableBeanProperty delegate, @Nullable ValidationPlan.PropertyPlan propertyPlan) {
+        return new ValidationAwareFieldProperty(delegate, validator, propertyPlan);
     }
 }
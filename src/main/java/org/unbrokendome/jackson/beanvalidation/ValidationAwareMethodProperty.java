@@ -3,20 +3,22 @@ package org.unbrokendome.jackson.beanvalidation;
 import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
 import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
 
+import javax.annotation.Nullable;
 import javax.validation.Validator;
 
 
 final class ValidationAwareMethodProperty extends ValidationAwareBeanProperty<MethodProperty> {
 
     ValidationAwareMethodProperty(
-            SettableBeanProperty src, Validator validator, boolean validationEnabled
+            SettableBeanProperty src, Validator validator, @Nullable ValidationPlan.PropertyPlan propertyPlan
     ) {
-        super(src, validator, validationEnabled);
+        super(src, validator, propertyPlan);
     }
 
 
     @Override
-    protected SettableBeanProperty withDelegate(SettableBeanProperty delegate, boolean validationEnabled) {
-        return new ValidationAwareMethodProperty(delegate, validator, validationEnabled);
+    protected SettableBeanProperty withDelegate(
+            SettableBeanProperty delegate, @Nullable ValidationPlan.PropertyPlan propertyPlan) {
+        return new ValidationAwareMethodProperty(delegate, validator, propertyPlan);
     }
 }
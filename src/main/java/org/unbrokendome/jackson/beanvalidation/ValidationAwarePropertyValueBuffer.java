@@ -8,53 +8,106 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.deser.CreatorProperty;
 import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
 import com.fasterxml.jackson.databind.deser.impl.ObjectIdReader;
+import com.fasterxml.jackson.databind.deser.impl.PropertyValue;
 import com.fasterxml.jackson.databind.deser.impl.PropertyValueBuffer;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.fasterxml.jackson.databind.util.ClassUtil;
-import org.unbrokendome.jackson.beanvalidation.violation.ConstraintViolationUtils;
 
+import javax.annotation.Nullable;
 import javax.validation.ConstraintViolation;
 import javax.validation.MessageInterpolator;
-import javax.validation.metadata.ConstraintDescriptor;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.io.IOException;
+import java.util.BitSet;
 
 
 /**
- * Extension of {@link PropertyValueBuffer} that also stores constraint violations for each property.
+ * Extension of {@link PropertyValueBuffer} that also keeps track of the creator parameters that have
+ * constraint violations. The violations themselves are recorded in the {@link ViolationCollector} of the
+ * document.
  */
 class ValidationAwarePropertyValueBuffer extends PropertyValueBuffer {
 
     private final JavaType beanType;
-    private final BeanValidationFeatureSet features;
     private final MessageInterpolator messageInterpolator;
-    private Map<Integer, Set<ConstraintViolation<?>>> parameterViolations;
-    private final JsonValidated validationAnnotation;
+    private final ValidationPlan validationPlan;
+    private final ViolationCollector violations;
+    @Nullable
+    private BitSet invalidParameters;
+    private boolean creatorFailed;
 
 
     ValidationAwarePropertyValueBuffer(
             JsonParser p, DeserializationContext ctxt, int paramCount, ObjectIdReader oir,
-            JavaType beanType, BeanValidationFeatureSet features, MessageInterpolator messageInterpolator,
-            JsonValidated validationAnnotation
+            JavaType beanType, MessageInterpolator messageInterpolator,
+            ValidationPlan validationPlan, ViolationCollector violations
     ) {
         super(p, ctxt, paramCount, oir);
         this.beanType = beanType;
-        this.features = features;
         this.messageInterpolator = messageInterpolator;
-        this.validationAnnotation = validationAnnotation;
+        this.validationPlan = validationPlan;
+        this.violations = violations;
     }
 
 
-    void assignViolations(SettableBeanProperty prop, Set<ConstraintViolation<?>> violations) {
+    ViolationCollector getViolations() {
+        return violations;
+    }
+
+
+    ValidationPlan getValidationPlan() {
+        return validationPlan;
+    }
+
+
+    Class<?> getBeanClass() {
+        return beanType.getRawClass();
+    }
+
 
-        if (parameterViolations == null) {
-            parameterViolations = new HashMap<>(this._creatorParameters.length);
+    void markParameterInvalid(int parameterIndex) {
+        if (invalidParameters == null) {
+            invalidParameters = new BitSet(_creatorParameters.length);
         }
+        invalidParameters.set(parameterIndex);
+    }
+
+
+    boolean isParameterInvalid(int parameterIndex) {
+        return invalidParameters != null && invalidParameters.get(parameterIndex);
+    }
+
+
+    boolean hasInvalidParameters() {
+        return invalidParameters != null && !invalidParameters.isEmpty();
+    }
+
 
-        int index = prop.getCreatorIndex();
-        parameterViolations.put(index, violations);
+    boolean areAllParametersInvalid(int parameterCount) {
+        return invalidParameters != null && invalidParameters.cardinality() >= parameterCount;
+    }
+
+
+    /**
+     * Indicates that the creator will not be called because of constraint violations. The buffered properties
+     * are then not assigned to the resulting {@link InvalidObject}.
+     */
+    void markCreatorFailed() {
+        this.creatorFailed = true;
+    }
+
+
+    @Override
+    protected PropertyValue buffered() {
+        return creatorFailed ? null : super.buffered();
+    }
+
+
+    @Override
+    public Object handleIdValue(DeserializationContext ctxt, Object bean) throws IOException {
+        if (bean instanceof InvalidObject) {
+            return bean;
+        }
+        return super.handleIdValue(ctxt, bean);
     }
 
 
@@ -70,22 +123,17 @@ class ValidationAwarePropertyValueBuffer extends PropertyValueBuffer {
                     prop, null);
         }
 
-        JsonRequired requiredAnnotation = prop.getAnnotation(JsonRequired.class);
+        ValidationPlan.PropertyPlan propertyPlan = validationPlan.getProperty(prop);
 
-        if (prop.isRequired() || (requiredAnnotation != null)) {
+        // getParameters may be called more than once, make sure to report the violation only once
+        if (propertyPlan.isRequired() && !isParameterInvalid(prop.getCreatorIndex())) {
 
-            if (requiredAnnotation == null) {
-                requiredAnnotation = JsonConstraints.required(validationAnnotation.requiredMessage());
-            }
-            ConstraintDescriptor<?> constraintDescriptor =
-                    new JsonRequiredConstraintDescriptor(requiredAnnotation);
+            ConstraintViolation<?> violation = validationPlan.createViolation(
+                    null, propertyPlan.getPropertyPath(), null,
+                    propertyPlan.getRequiredConstraint(), messageInterpolator);
 
-            ConstraintViolation<?> violation = ConstraintViolationUtils.create(
-                    null, beanType.getRawClass(), null,
-                    PropertyPathUtils.constructPropertyPath(prop, features), null,
-                    constraintDescriptor, messageInterpolator);
-
-            assignViolations(prop, Collections.singleton(violation));
+            violations.add(violation);
+            markParameterInvalid(prop.getCreatorIndex());
         }
 
         try {
@@ -100,9 +148,4 @@ class ValidationAwarePropertyValueBuffer extends PropertyValueBuffer {
             return ClassUtil.defaultValue(prop.getType().getRawClass());
         }
     }
-
-
-    Map<Integer, Set<ConstraintViolation<?>>> getParameterViolations() {
-        return parameterViolations != null ? Collections.unmodifiableMap(parameterViolations) : Collections.emptyMap();
-    }
 }
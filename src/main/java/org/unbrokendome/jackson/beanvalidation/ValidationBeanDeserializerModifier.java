@@ -40,9 +40,9 @@ final class ValidationBeanDeserializerModifier extends BeanDeserializerModifier
                 continue;
             }
             if (property instanceof MethodProperty) {
-                builder.addOrReplaceProperty(new ValidationAwareMethodProperty(property, validator, false), true);
+                builder.addOrReplaceProperty(new ValidationAwareMethodProperty(property, validator, null), true);
             } else if (property instanceof FieldProperty) {
-                builder.addOrReplaceProperty(new ValidationAwareFieldProperty(property, validator, false), true);
+                builder.addOrReplaceProperty(new ValidationAwareFieldProperty(property, validator, null), true);
             }
         }
 
@@ -67,10 +67,16 @@ final class ValidationBeanDeserializerModifier extends BeanDeserializerModifier
 
         if (deserializer instanceof BeanDeserializerBase) {
 
+            BeanDeserializerBase beanDeserializer = (BeanDeserializerBase) deserializer;
+
             // If the bean class is annotated with @JsonValidated, construct a validating deserializer
             JsonValidated annotation = beanDesc.getClassAnnotations().get(JsonValidated.class);
+            ValidationPlan validationPlan = (annotation != null) ?
+                    ValidationPlan.create(beanDeserializer, config, validatorFactory, features, annotation) :
+                    null;
+
             return ValidatingBeanDeserializer.create(
-                    (BeanDeserializerBase) deserializer, validatorFactory, features, annotation
+                    beanDeserializer, validatorFactory, features, validationPlan
             );
 
         } else {
@@ -0,0 +1,26 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+
+/**
+ * Receives a callback for every validation that is performed during deserialization.
+ * <p>
+ * Listeners are registered using {@link BeanValidationModule#addListener}. They are called synchronously on
+ * the deserializing thread, possibly from several threads at the same time, so implementations must be
+ * thread-safe and should return quickly. Exceptions thrown by a listener are propagated to the caller of
+ * the {@code ObjectMapper}.
+ *
+ * @see ValidationMetrics
+ */
+@FunctionalInterface
+public interface ValidationListener {
+
+    /**
+     * Called after a validation has been performed.
+     *
+     * @param beanType       the type of the bean that was validated
+     * @param phase          the phase of validation
+     * @param durationNanos  the time spent in validation, in nanoseconds
+     * @param violationCount the number of constraint violations found
+     */
+    void onValidation(Class<?> beanType, ValidationPhase phase, long durationNanos, int violationCount);
+}
@@ -0,0 +1,169 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A {@link ValidationListener} that aggregates the number of validations, the time spent and the number of
+ * violations per bean type and {@link ValidationPhase}.
+ * <p>
+ * Recording uses {@link LongAdder}s, so it is cheap even under contention. A consistent view of the
+ * aggregated values can be obtained with {@link #snapshot()}.
+ *
+ * <pre>
+ * ValidationMetrics metrics = new ValidationMetrics();
+ * BeanValidationModule module = new BeanValidationModule(validatorFactory)
+ *         .addListener(metrics);
+ * </pre>
+ */
+public final class ValidationMetrics implements ValidationListener {
+
+    private static final ValidationPhase[] PHASES = ValidationPhase.values();
+
+    private final Map<Class<?>, Counters[]> countersByType = new ConcurrentHashMap<>();
+
+
+    @Override
+    public void onValidation(Class<?> beanType, ValidationPhase phase, long durationNanos, int violationCount) {
+        Counters[] countersByPhase = countersByType.get(beanType);
+        if (countersByPhase == null) {
+            countersByPhase = countersByType.computeIfAbsent(beanType, t -> createCounters());
+        }
+        countersByPhase[phase.ordinal()].record(durationNanos, violationCount);
+    }
+
+
+    /**
+     * Returns the values aggregated so far, with one entry for each bean type and phase that has been
+     * recorded at least once.
+     * <p>
+     * The snapshot is not atomic with respect to concurrent recording; values of an entry may include a
+     * validation that is still being recorded.
+     */
+    @Nonnull
+    public List<Entry> snapshot() {
+        List<Entry> entries = new ArrayList<>();
+        countersByType.forEach((beanType, countersByPhase) -> {
+            for (ValidationPhase phase : PHASES) {
+                Counters counters = countersByPhase[phase.ordinal()];
+                long count = counters.count.sum();
+                if (count != 0) {
+                    entries.add(new Entry(beanType, phase, count, counters.totalNanos.sum(),
+                            counters.maxNanos.get(), counters.violations.sum()));
+                }
+            }
+        });
+        return Collections.unmodifiableList(entries);
+    }
+
+
+    /**
+     * Resets all aggregated values.
+     */
+    public void reset() {
+        countersByType.clear();
+    }
+
+
+    private static Counters[] createCounters() {
+        Counters[] counters = new Counters[PHASES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new Counters();
+        }
+        return counters;
+    }
+
+
+    private static final class Counters {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+        final LongAdder violations = new LongAdder();
+
+
+        void record(long durationNanos, int violationCount) {
+            count.increment();
+            totalNanos.add(durationNanos);
+            maxNanos.accumulate(durationNanos);
+            if (violationCount != 0) {
+                violations.add(violationCount);
+            }
+        }
+    }
+
+
+    /**
+     * Aggregated values for a single bean type and phase.
+     */
+    public static final class Entry {
+
+        private final Class<?> beanType;
+        private final ValidationPhase phase;
+        private final long count;
+        private final long totalTimeNanos;
+        private final long maxTimeNanos;
+        private final long violationCount;
+
+
+        Entry(Class<?> beanType, ValidationPhase phase, long count, long totalTimeNanos, long maxTimeNanos,
+              long violationCount) {
+            this.beanType = beanType;
+            this.phase = phase;
+            this.count = count;
+            this.totalTimeNanos = totalTimeNanos;
+            this.maxTimeNanos = maxTimeNanos;
+            this.violationCount = violationCount;
+        }
+
+
+        public Class<?> getBeanType() {
+            return beanType;
+        }
+
+
+        public ValidationPhase getPhase() {
+            return phase;
+        }
+
+
+        /**
+         * The number of validations.
+         */
+        public long getCount() {
+            return count;
+        }
+
+
+        public long getTotalTimeNanos() {
+            return totalTimeNanos;
+        }
+
+
+        public long getMaxTimeNanos() {
+            return maxTimeNanos;
+        }
+
+
+        /**
+         * The total number of violations found by all validations.
+         */
+        public long getViolationCount() {
+            return violationCount;
+        }
+
+
+        @Override
+        public String toString() {
+            return beanType.getName() + "/" + phase + ": count=" + count + ", totalTimeNanos=" + totalTimeNanos +
+                    ", maxTimeNanos=" + maxTimeNanos + ", violationCount=" + violationCount;
+        }
+    }
+}
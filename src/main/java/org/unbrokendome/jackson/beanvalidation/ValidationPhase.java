@@ -0,0 +1,30 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+
+/**
+ * The phases of validation that are reported to a {@link ValidationListener}.
+ */
+public enum ValidationPhase {
+
+    /**
+     * Validation of a single property value while it is being deserialized.
+     */
+    PROPERTY,
+
+    /**
+     * Validation of the arguments of a creator (constructor), before it is called.
+     */
+    CREATOR,
+
+    /**
+     * Validation of the properties of a bean that could not be validated while they were deserialized, e.g.
+     * because they were missing from the input or need cascaded validation.
+     */
+    REMAINING_PROPERTIES,
+
+    /**
+     * Validation of the complete bean after it has been constructed, if
+     * {@link BeanValidationFeature#VALIDATE_BEAN_AFTER_CONSTRUCTION} is enabled.
+     */
+    POST_CONSTRUCTION
+}
@@ -0,0 +1,966 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.CreatorProperty;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.std.CollectionDeserializer;
+import com.fasterxml.jackson.databind.deser.std.ObjectArrayDeserializer;
+import com.fasterxml.jackson.databind.deser.std.PrimitiveArrayDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StringArrayDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringCollectionDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import org.unbrokendome.jackson.beanvalidation.path.PathBuilder;
+import org.unbrokendome.jackson.beanvalidation.violation.ConstraintViolationUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.validation.ConstraintViolation;
+import javax.validation.GroupSequence;
+import javax.validation.MessageInterpolator;
+import javax.validation.Path;
+import javax.validation.Valid;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.ContainerDescriptor;
+import javax.validation.metadata.ContainerElementTypeDescriptor;
+import javax.validation.metadata.ElementDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * Immutable, precomputed validation metadata for a bean type and a {@link JsonValidated} annotation.
+ * <p>
+ * Everything that depends only on the bean type and the module configuration (bean property names,
+ * cascading, constraint presence, creator parameter names and property paths) is resolved once when the
+ * validating deserializer is constructed, so that the per-document code paths only need to look it up.
+ * <p>
+ * Constraint presence depends on the validation groups. A plan is built for the groups of its annotation; plans
+ * for other groups (overridden for an {@code ObjectReader}) are derived from it on first use and cached, see
+ * {@link #forGroups}.
+ * <p>
+ * If the bean type has a {@link GeneratedBeanValidator}, the plan uses it to read property values without
+ * reflection, and to skip the validator for values that certainly satisfy the constraints of their property.
+ * <p>
+ * If {@link BeanValidationFeature#EVALUATE_STANDARD_CONSTRAINTS} is enabled, properties that only have standard
+ * constraints in the default group are checked with {@link ConstraintEvaluator}s instead of the validator, and
+ * range constraints of primitive numeric properties with a {@link PrimitiveRangeCheck}.
+ * If {@link BeanValidationFeature#CHECK_STRING_SIZE_BEFORE_DESERIALIZATION} is enabled, the maximum
+ * {@link Size} of string properties is checked against the length of the JSON token, see
+ * {@link PropertyPlan#checkTextLength}. Likewise for the number of elements of collections and arrays if
+ * {@link BeanValidationFeature#LIMIT_ARRAY_SIZE_DURING_DESERIALIZATION} is enabled, see
+ * {@link PropertyPlan#limitArraySize}.
+ */
+final class ValidationPlan {
+
+    private static final Set<Class<?>> DEFAULT_GROUP = Collections.singleton(Default.class);
+    private static final String GROUP_SEQUENCE_PROVIDER_ANNOTATION =
+            "org.hibernate.validator.group.GroupSequenceProvider";
+    private static final int MAX_GROUPS_ARRAYS = 64;
+
+    private final Class<?> beanType;
+    private final JsonValidated validationAnnotation;
+    private final BeanValidationFeatureSet features;
+    private final BeanDescriptor beanDescriptor;
+    @Nullable
+    private final GeneratedBeanValidator<Object> generatedValidator;
+    private final boolean evaluateStandardConstraints;
+    private final Map<String, PropertyPlan> properties;
+    // Plans of properties that were not known when the plan was built, resolved on first use
+    private final ConcurrentMap<String, PropertyPlan> unknownProperties = new ConcurrentHashMap<>();
+    private final PropertyPlan[] indexedProperties;
+    private final String[] creatorParameterNames;
+    private final Class<?>[] groups;
+    private final boolean classConstrained;
+    private final ConcurrentMap<List<Class<?>>, ValidationPlan> plansByGroups;
+    // Derived plans by the identity of the groups array. Readers pass the same array for each document, so
+    // looking it up doesn't allocate
+    private final ConcurrentMap<Class<?>[], ValidationPlan> plansByGroupsArray = new ConcurrentHashMap<>();
+
+
+    private ValidationPlan(
+            Class<?> beanType, JsonValidated validationAnnotation, BeanValidationFeatureSet features,
+            BeanDescriptor beanDescriptor, @Nullable GeneratedBeanValidator<Object> generatedValidator,
+            boolean evaluateStandardConstraints, Map<String, PropertyPlan> properties,
+            PropertyPlan[] indexedProperties, String[] creatorParameterNames, Class<?>[] groups,
+            ConcurrentMap<List<Class<?>>, ValidationPlan> plansByGroups
+    ) {
+        this.beanType = beanType;
+        this.validationAnnotation = validationAnnotation;
+        this.features = features;
+        this.beanDescriptor = beanDescriptor;
+        this.generatedValidator = generatedValidator;
+        this.evaluateStandardConstraints = evaluateStandardConstraints;
+        this.properties = properties;
+        this.indexedProperties = indexedProperties;
+        this.creatorParameterNames = creatorParameterNames;
+        this.groups = groups;
+        this.classConstrained = hasClassConstraints(beanDescriptor, groups);
+        this.plansByGroups = plansByGroups;
+    }
+
+
+    @Nonnull
+    static ValidationPlan create(
+            BeanDeserializerBase deserializer, DeserializationConfig config, ValidatorFactory validatorFactory,
+            BeanValidationFeatureSet features, JsonValidated validationAnnotation
+    ) {
+        Class<?> beanType = deserializer.handledType();
+        BeanDescriptor beanDescriptor = validatorFactory.getValidator().getConstraintsForClass(beanType);
+        Class<?>[] groups = validationAnnotation.groups();
+        GeneratedBeanValidator<Object> generatedValidator =
+                features.isEnabled(BeanValidationFeature.USE_GENERATED_VALIDATORS) ?
+                        GeneratedBeanValidators.find(beanType) : null;
+        boolean evaluateStandardConstraints =
+                features.isEnabled(BeanValidationFeature.EVALUATE_STANDARD_CONSTRAINTS) &&
+                        !redefinesDefaultGroup(beanType);
+
+        Map<String, PropertyPlan> properties = new HashMap<>();
+        List<PropertyPlan> indexedProperties = new ArrayList<>();
+        Iterator<SettableBeanProperty> propertyIterator = deserializer.properties();
+        while (propertyIterator.hasNext()) {
+            SettableBeanProperty prop = propertyIterator.next();
+            PropertyPlan propertyPlan = createPropertyPlan(prop, indexedProperties.size(), beanDescriptor,
+                    generatedValidator, evaluateStandardConstraints, groups, features, validationAnnotation);
+            properties.put(prop.getName(), propertyPlan);
+            indexedProperties.add(propertyPlan);
+        }
+
+        String[] creatorParameterNames = new String[0];
+        ValueInstantiator valueInstantiator = deserializer.getValueInstantiator();
+        if (valueInstantiator != null && valueInstantiator.canCreateFromObjectWith()) {
+            SettableBeanProperty[] creatorProps = valueInstantiator.getFromObjectArguments(config);
+            if (creatorProps != null) {
+                creatorParameterNames = new String[creatorProps.length];
+                for (int i = 0; i < creatorProps.length; i++) {
+                    creatorParameterNames[i] = creatorProps[i].getName();
+                }
+            }
+        }
+
+        return new ValidationPlan(beanType, validationAnnotation, features, beanDescriptor, generatedValidator,
+                evaluateStandardConstraints, Collections.unmodifiableMap(properties),
+                indexedProperties.toArray(new PropertyPlan[0]), creatorParameterNames, groups,
+                new ConcurrentHashMap<>());
+    }
+
+
+    /**
+     * Gets the plan for the given validation groups, which is this plan if the groups are {@code null} or
+     * the same as the groups of this plan.
+     */
+    @Nonnull
+    ValidationPlan forGroups(@Nullable Class<?>[] groups) {
+        if (groups == null || groups == this.groups) {
+            return this;
+        }
+
+        ValidationPlan plan = plansByGroupsArray.get(groups);
+        if (plan != null) {
+            return plan;
+        }
+
+        if (Arrays.equals(groups, this.groups)) {
+            plan = this;
+        } else {
+            plan = plansByGroups.computeIfAbsent(Arrays.asList(groups.clone()),
+                    key -> withGroups(key.toArray(new Class<?>[0])));
+        }
+        // Don't keep arrays that are created for each document forever
+        if (plansByGroupsArray.size() < MAX_GROUPS_ARRAYS) {
+            plansByGroupsArray.put(groups, plan);
+        }
+        return plan;
+    }
+
+
+    @Nonnull
+    private ValidationPlan withGroups(Class<?>[] groups) {
+        Map<String, PropertyPlan> properties = new HashMap<>();
+        PropertyPlan[] indexedProperties = new PropertyPlan[this.indexedProperties.length];
+        for (int i = 0; i < indexedProperties.length; i++) {
+            PropertyPlan propertyPlan = this.indexedProperties[i];
+            boolean constrained = propertyPlan.beanPropertyName != null &&
+                    hasConstraints(beanDescriptor.getConstraintsForProperty(propertyPlan.beanPropertyName), groups);
+            indexedProperties[i] = propertyPlan.withConstrained(constrained, isDefaultGroup(groups));
+            properties.put(propertyPlan.getName(), indexedProperties[i]);
+        }
+
+        return new ValidationPlan(beanType, validationAnnotation, features, beanDescriptor, generatedValidator,
+                evaluateStandardConstraints, Collections.unmodifiableMap(properties), indexedProperties,
+                creatorParameterNames, groups, plansByGroups);
+    }
+
+
+    @Nonnull
+    private static PropertyPlan createPropertyPlan(
+            SettableBeanProperty prop, int index, BeanDescriptor beanDescriptor,
+            @Nullable GeneratedBeanValidator<Object> generatedValidator, boolean evaluateStandardConstraints,
+            Class<?>[] groups, BeanValidationFeatureSet features, JsonValidated validationAnnotation
+    ) {
+        String beanPropertyName = findBeanPropertyName(prop);
+        PropertyDescriptor propertyDescriptor = (beanPropertyName != null) ?
+                beanDescriptor.getConstraintsForProperty(beanPropertyName) : null;
+
+        boolean constrained = hasConstraints(propertyDescriptor, groups);
+
+        boolean generatedAccess = generatedValidator != null && beanPropertyName != null &&
+                generatedValidator.hasProperty(beanPropertyName);
+        boolean generatedChecks = isCheckedByGeneratedValidator(propertyDescriptor, generatedValidator);
+        ConstraintEvaluator[] constraintEvaluators = evaluateStandardConstraints ?
+                createConstraintEvaluators(propertyDescriptor) : null;
+        Class<?> rawType = prop.getType().getRawClass();
+        PrimitiveRangeCheck rangeCheck = evaluateStandardConstraints ?
+                PrimitiveRangeCheck.create(rawType, propertyDescriptor) : null;
+        ConstraintDescriptor<?> maxSizeConstraint =
+                ((features.isEnabled(BeanValidationFeature.CHECK_STRING_SIZE_BEFORE_DESERIALIZATION) &&
+                        rawType == String.class) ||
+                        (features.isEnabled(BeanValidationFeature.LIMIT_ARRAY_SIZE_DURING_DESERIALIZATION) &&
+                                hasSizeOfJsonArray(rawType))) ?
+                        findMaxSizeConstraint(propertyDescriptor) : null;
+
+        String pathPropertyName =
+                (beanPropertyName != null &&
+                        features.isEnabled(BeanValidationFeature.REPORT_BEAN_PROPERTY_PATHS_IN_VIOLATIONS)) ?
+                        beanPropertyName : prop.getName();
+
+        Path cascadeBasePath = PathBuilder.create()
+                .appendBeanNode()
+                .appendProperty(prop.getName())
+                .build();
+
+        JsonValidInput validInputAnnotation = prop.getAnnotation(JsonValidInput.class);
+        if (validInputAnnotation == null) {
+            validInputAnnotation = JsonConstraints.validInput(validationAnnotation.validInputMessage());
+        }
+
+        JsonRequired requiredAnnotation = prop.getAnnotation(JsonRequired.class);
+        boolean required = prop.isRequired() || requiredAnnotation != null;
+        if (requiredAnnotation == null) {
+            requiredAnnotation = JsonConstraints.required(validationAnnotation.requiredMessage());
+        }
+
+        NotNull notNullAnnotation = prop.getAnnotation(NotNull.class);
+        if (notNullAnnotation == null) {
+            notNullAnnotation = JsonConstraints.notNull();
+        }
+
+        return new PropertyPlan(
+                prop.getName(), index, beanPropertyName, pathPropertyName,
+                prop.getAnnotation(Valid.class) != null, constrained, required,
+                (generatedAccess || generatedChecks) ? generatedValidator : null, generatedAccess, generatedChecks,
+                constraintEvaluators, rangeCheck, maxSizeConstraint, isDefaultGroup(groups),
+                PropertyPathUtils.constructPropertyPath(prop, pathPropertyName, features, ViolationCollector.NO_INDEX),
+                cascadeBasePath,
+                new JsonValidInputConstraintDescriptor(validInputAnnotation),
+                new JsonRequiredConstraintDescriptor(requiredAnnotation),
+                new NotNullConstraintDescriptor(notNullAnnotation));
+    }
+
+
+    /**
+     * Determines whether the validator would evaluate any constraints for a property in
+     * {@link javax.validation.Validator#validateValue validateValue} or
+     * {@link javax.validation.Validator#validateProperty validateProperty} with the given groups. Properties
+     * that are only cascaded do not count, because these methods do not cascade.
+     */
+    private static boolean hasConstraints(@Nullable PropertyDescriptor propertyDescriptor, Class<?>[] groups) {
+        if (propertyDescriptor == null) {
+            return false;
+        }
+        if (groups.length == 0) {
+            return propertyDescriptor.hasConstraints() ||
+                    !propertyDescriptor.getConstrainedContainerElementTypes().isEmpty();
+        }
+        return hasConstraintsInGroups(propertyDescriptor, groups);
+    }
+
+
+    /**
+     * Determines whether a generated validator checks exactly the constraints that the validator knows for a
+     * property, with the same attributes, so that a value it considers valid doesn't need to be passed to the
+     * validator. This is not the case if constraints were declared by other means than annotations (e.g. in an
+     * XML mapping), or inherited from a supertype.
+     */
+    private static boolean isCheckedByGeneratedValidator(
+            @Nullable PropertyDescriptor propertyDescriptor, @Nullable GeneratedBeanValidator<?> generatedValidator
+    ) {
+        if (generatedValidator == null || !hasOnlyStandardConstraints(propertyDescriptor)) {
+            return false;
+        }
+        Set<ConstraintDescriptor<?>> constraints = propertyDescriptor.getConstraintDescriptors();
+        List<GeneratedConstraint> generatedConstraints =
+                new ArrayList<>(generatedValidator.getConstraints(propertyDescriptor.getPropertyName()));
+        if (generatedConstraints.size() != constraints.size()) {
+            return false;
+        }
+        for (ConstraintDescriptor<?> constraint : constraints) {
+            if (!removeMatchingConstraint(generatedConstraints, constraint)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static boolean removeMatchingConstraint(
+            List<GeneratedConstraint> generatedConstraints, ConstraintDescriptor<?> constraint
+    ) {
+        for (Iterator<GeneratedConstraint> iterator = generatedConstraints.iterator(); iterator.hasNext(); ) {
+            if (iterator.next().matches(constraint)) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Creates evaluators for the constraints of a property, or returns {@code null} if the property has any
+     * constraints that must be validated by the validator.
+     */
+    @Nullable
+    private static ConstraintEvaluator[] createConstraintEvaluators(@Nullable PropertyDescriptor propertyDescriptor) {
+        if (!hasOnlyStandardConstraints(propertyDescriptor)) {
+            return null;
+        }
+        List<ConstraintEvaluator> evaluators = new ArrayList<>();
+        for (ConstraintDescriptor<?> constraint : propertyDescriptor.getConstraintDescriptors()) {
+            ConstraintEvaluator evaluator = ConstraintEvaluator.forConstraint(constraint);
+            if (evaluator == null) {
+                return null;
+            }
+            evaluators.add(evaluator);
+        }
+        return evaluators.toArray(new ConstraintEvaluator[0]);
+    }
+
+
+    /**
+     * Finds the {@link Size} constraint of a property in the default group with the lowest maximum, or returns
+     * {@code null} if the property has no such constraint with a maximum.
+     */
+    @Nullable
+    private static ConstraintDescriptor<?> findMaxSizeConstraint(@Nullable PropertyDescriptor propertyDescriptor) {
+        if (propertyDescriptor == null) {
+            return null;
+        }
+        ConstraintDescriptor<?> maxSizeConstraint = null;
+        for (ConstraintDescriptor<?> constraint : propertyDescriptor.getConstraintDescriptors()) {
+            if (constraint.getAnnotation().annotationType() == Size.class &&
+                    constraint.getGroups().equals(DEFAULT_GROUP) && constraint.getComposingConstraints().isEmpty() &&
+                    getMaxSize(constraint) < Integer.MAX_VALUE &&
+                    (maxSizeConstraint == null || getMaxSize(constraint) < getMaxSize(maxSizeConstraint))) {
+                maxSizeConstraint = constraint;
+            }
+        }
+        return maxSizeConstraint;
+    }
+
+
+    private static int getMaxSize(ConstraintDescriptor<?> sizeConstraint) {
+        return (Integer) sizeConstraint.getAttributes().get("max");
+    }
+
+
+    /**
+     * Determines whether values of a type have as many elements as the JSON array they are deserialized from.
+     * This is not the case for sets, which drop duplicate elements.
+     */
+    private static boolean hasSizeOfJsonArray(Class<?> type) {
+        return type.isArray() || (Collection.class.isAssignableFrom(type) && !Set.class.isAssignableFrom(type));
+    }
+
+
+    /**
+     * Determines whether a property has constraints, and all of them are standard constraints in the default
+     * group (see {@link ConstraintChecks#isSupported}), without any constraints on container elements.
+     */
+    private static boolean hasOnlyStandardConstraints(@Nullable PropertyDescriptor propertyDescriptor) {
+        if (propertyDescriptor == null || !propertyDescriptor.getConstrainedContainerElementTypes().isEmpty()) {
+            return false;
+        }
+        Set<ConstraintDescriptor<?>> constraints = propertyDescriptor.getConstraintDescriptors();
+        if (constraints.isEmpty()) {
+            return false;
+        }
+        for (ConstraintDescriptor<?> constraint : constraints) {
+            if (!ConstraintChecks.isSupported(constraint.getAnnotation().annotationType()) ||
+                    !constraint.getGroups().equals(DEFAULT_GROUP) ||
+                    !constraint.getComposingConstraints().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Determines whether a bean type redefines its default group with a group sequence, in which case the validator
+     * decides which of its constraints are evaluated for the default group.
+     */
+    private static boolean redefinesDefaultGroup(Class<?> beanType) {
+        if (beanType.isAnnotationPresent(GroupSequence.class)) {
+            return true;
+        }
+        for (Annotation annotation : beanType.getAnnotations()) {
+            if (annotation.annotationType().getName().equals(GROUP_SEQUENCE_PROVIDER_ANNOTATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private static boolean isDefaultGroup(Class<?>[] groups) {
+        return groups.length == 0 || (groups.length == 1 && groups[0] == Default.class);
+    }
+
+
+    private static boolean hasClassConstraints(BeanDescriptor beanDescriptor, Class<?>[] groups) {
+        if (groups.length == 0) {
+            return beanDescriptor.hasConstraints();
+        }
+        return beanDescriptor.findConstraints().unorderedAndMatchingGroups(groups).hasConstraints();
+    }
+
+
+    private static boolean hasConstraintsInGroups(ElementDescriptor descriptor, Class<?>[] groups) {
+        if (descriptor.findConstraints().unorderedAndMatchingGroups(groups).hasConstraints()) {
+            return true;
+        }
+        if (descriptor instanceof ContainerDescriptor) {
+            for (ContainerElementTypeDescriptor elementDescriptor :
+                    ((ContainerDescriptor) descriptor).getConstrainedContainerElementTypes()) {
+                if (hasConstraintsInGroups(elementDescriptor, groups)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Determines the Java bean property name for a property, or {@code null} if the property is not backed by
+     * a field or an accessor method (e.g. creator properties).
+     */
+    @Nullable
+    private static String findBeanPropertyName(SettableBeanProperty prop) {
+        if (prop instanceof CreatorProperty) {
+            return null;
+        }
+        AnnotatedMember member = prop.getMember();
+        if (member == null) {
+            return null;
+        }
+        if (member.getMember() instanceof Field) {
+            return member.getName();
+        }
+        if (member.getMember() instanceof Method) {
+            try {
+                return PropertyUtils.getPropertyNameFromAccessorMethod((Method) member.getMember());
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+
+    Class<?> getBeanType() {
+        return beanType;
+    }
+
+
+    JsonValidated getValidationAnnotation() {
+        return validationAnnotation;
+    }
+
+
+    /**
+     * The validation groups to pass to the {@link javax.validation.Validator}. An empty array means the default
+     * group.
+     */
+    @Nonnull
+    Class<?>[] getGroups() {
+        return groups;
+    }
+
+
+    /**
+     * Indicates whether the bean type has any class-level constraints in the groups of this plan.
+     */
+    boolean isClassConstrained() {
+        return classConstrained;
+    }
+
+
+    /**
+     * Gets the plan for the given property. Properties that were not known when the plan was built (e.g. because
+     * they were renamed during contextualization) are resolved on first use, and then cached.
+     */
+    @Nonnull
+    PropertyPlan getProperty(SettableBeanProperty prop) {
+        PropertyPlan propertyPlan = properties.get(prop.getName());
+        if (propertyPlan == null) {
+            propertyPlan = unknownProperties.get(prop.getName());
+            if (propertyPlan == null) {
+                propertyPlan = unknownProperties.computeIfAbsent(prop.getName(),
+                        name -> createPropertyPlan(prop, -1, beanDescriptor, generatedValidator,
+                                evaluateStandardConstraints, groups, features, validationAnnotation));
+            }
+        }
+        return propertyPlan;
+    }
+
+
+    /**
+     * Gets the number of indexed properties. Property indices are in the range {@code [0, propertyCount)}.
+     */
+    int getPropertyCount() {
+        return indexedProperties.length;
+    }
+
+
+    @Nonnull
+    PropertyPlan getProperty(int index) {
+        return indexedProperties[index];
+    }
+
+
+    /**
+     * Creates a violation of one of the constraints that are checked by the module itself (e.g.
+     * {@link JsonRequired}), with the bean type as the root bean class.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    ConstraintViolation<?> createViolation(
+            @Nullable Object rootBean, Path propertyPath, @Nullable Object invalidValue,
+            ConstraintDescriptor<?> constraintDescriptor, MessageInterpolator messageInterpolator
+    ) {
+        if (features.isEnabled(BeanValidationFeature.INTERPOLATE_MESSAGES_LAZILY)) {
+            return ConstraintViolationUtils.createWithLazyMessage(
+                    rootBean, (Class) beanType, null, propertyPath, invalidValue,
+                    constraintDescriptor, messageInterpolator);
+        }
+        return ConstraintViolationUtils.create(
+                rootBean, (Class) beanType, null, propertyPath, invalidValue,
+                constraintDescriptor, messageInterpolator);
+    }
+
+
+    /**
+     * Gets the JSON name of the creator parameter with the given index, or {@code null} if the index
+     * is not known.
+     */
+    @Nullable
+    String getCreatorParameterName(int parameterIndex) {
+        if (parameterIndex >= 0 && parameterIndex < creatorParameterNames.length) {
+            return creatorParameterNames[parameterIndex];
+        }
+        return null;
+    }
+
+
+    static final class PropertyPlan {
+
+        private final String name;
+        private final int index;
+        @Nullable
+        private final String beanPropertyName;
+        private final String pathPropertyName;
+        private final boolean cascaded;
+        private final boolean constrained;
+        private final boolean required;
+        @Nullable
+        private final GeneratedBeanValidator<Object> generatedValidator;
+        private final boolean generatedAccess;
+        // The generated validator checks the constraints of the property, which is only used for the default group
+        private final boolean generatedChecks;
+        // Evaluators for the constraints of the property, which are also only used for the default group
+        @Nullable
+        private final ConstraintEvaluator[] constraintEvaluators;
+        @Nullable
+        private final PrimitiveRangeCheck rangeCheck;
+        @Nullable
+        private final ConstraintDescriptor<?> maxSizeConstraint;
+        private final int maxSize;
+        @Nullable
+        private final Path valuePath;
+        private final boolean defaultGroup;
+        private final Path propertyPath;
+        private final Path cascadeBasePath;
+        private final ConstraintDescriptor<JsonValidInput> validInputConstraint;
+        private final ConstraintDescriptor<JsonRequired> requiredConstraint;
+        private final ConstraintDescriptor<NotNull> notNullConstraint;
+
+
+        private PropertyPlan(
+                String name, int index, @Nullable String beanPropertyName, String pathPropertyName,
+                boolean cascaded, boolean constrained, boolean required,
+                @Nullable GeneratedBeanValidator<Object> generatedValidator, boolean generatedAccess,
+                boolean generatedChecks, @Nullable ConstraintEvaluator[] constraintEvaluators,
+                @Nullable PrimitiveRangeCheck rangeCheck, @Nullable ConstraintDescriptor<?> maxSizeConstraint,
+                boolean defaultGroup,
+                Path propertyPath, Path cascadeBasePath,
+                ConstraintDescriptor<JsonValidInput> validInputConstraint,
+                ConstraintDescriptor<JsonRequired> requiredConstraint,
+                ConstraintDescriptor<NotNull> notNullConstraint
+        ) {
+            this.name = name;
+            this.index = index;
+            this.beanPropertyName = beanPropertyName;
+            this.pathPropertyName = pathPropertyName;
+            this.cascaded = cascaded;
+            this.constrained = constrained;
+            this.required = required;
+            this.generatedValidator = generatedValidator;
+            this.generatedAccess = generatedAccess;
+            this.generatedChecks = generatedChecks;
+            this.constraintEvaluators = constraintEvaluators;
+            this.rangeCheck = rangeCheck;
+            this.maxSizeConstraint = maxSizeConstraint;
+            this.maxSize = (maxSizeConstraint != null) ? getMaxSize(maxSizeConstraint) : Integer.MAX_VALUE;
+            // Same path as in violations from Validator.validateValue, so that they can be rebased the same way
+            this.valuePath = ((constraintEvaluators != null || rangeCheck != null || maxSizeConstraint != null) &&
+                    beanPropertyName != null) ?
+                    PathBuilder.create().appendProperty(beanPropertyName).build() : null;
+            this.defaultGroup = defaultGroup;
+            this.propertyPath = propertyPath;
+            this.cascadeBasePath = cascadeBasePath;
+            this.validInputConstraint = validInputConstraint;
+            this.requiredConstraint = requiredConstraint;
+            this.notNullConstraint = notNullConstraint;
+        }
+
+
+        @Nonnull
+        private PropertyPlan withConstrained(boolean constrained, boolean defaultGroup) {
+            if (constrained == this.constrained && defaultGroup == this.defaultGroup) {
+                return this;
+            }
+            return new PropertyPlan(name, index, beanPropertyName, pathPropertyName, cascaded, constrained,
+                    required, generatedValidator, generatedAccess, generatedChecks, constraintEvaluators,
+                    rangeCheck, maxSizeConstraint, defaultGroup, propertyPath, cascadeBasePath, validInputConstraint,
+                    requiredConstraint, notNullConstraint);
+        }
+
+
+        String getName() {
+            return name;
+        }
+
+
+        /**
+         * The index of the property within the plan, or {@code -1} if the property was not known when the plan
+         * was built.
+         */
+        int getIndex() {
+            return index;
+        }
+
+
+        /**
+         * Indicates whether the property is backed by a field or accessor method, so that it can be validated
+         * on the bean.
+         */
+        boolean isBeanProperty() {
+            return beanPropertyName != null;
+        }
+
+
+        /**
+         * The Java bean property name, which is used for calls to the {@link javax.validation.Validator}.
+         */
+        String getBeanPropertyName() {
+            if (beanPropertyName == null) {
+                throw new IllegalStateException("Property \"" + name + "\" is not a bean property");
+            }
+            return beanPropertyName;
+        }
+
+
+        /**
+         * Indicates whether the property is annotated with {@link Valid}.
+         */
+        boolean isCascaded() {
+            return cascaded;
+        }
+
+
+        /**
+         * Indicates whether the property has any constraints (on the property itself or on its container
+         * elements). If not, validating the property value is a no-op and can be skipped entirely.
+         */
+        boolean isConstrained() {
+            return constrained;
+        }
+
+
+        /**
+         * Gets the value of the property from a bean, without reflection if the bean type has a generated
+         * validator.
+         */
+        @Nullable
+        Object getValue(Object bean) {
+            if (generatedAccess) {
+                assert generatedValidator != null && beanPropertyName != null;
+                return generatedValidator.getProperty(bean, beanPropertyName);
+            }
+            return PropertyUtils.getProperty(bean, getBeanPropertyName());
+        }
+
+
+        /**
+         * Determines whether the given value certainly satisfies the constraints of the property, according to
+         * the generated validator of the bean type, so that the validator doesn't need to be called.
+         */
+        boolean isKnownValid(@Nullable Object value) {
+            if (!generatedChecks || !defaultGroup) {
+                return false;
+            }
+            assert generatedValidator != null && beanPropertyName != null;
+            return generatedValidator.isKnownValid(beanPropertyName, value);
+        }
+
+
+        /**
+         * Like {@link #isKnownValid(Object)}, for the current value of the property on a bean. This is only
+         * decided if the value can be read without reflection.
+         */
+        boolean isKnownValidOn(Object bean) {
+            return generatedAccess && generatedChecks && defaultGroup && isKnownValid(getValue(bean));
+        }
+
+
+        /**
+         * Evaluates the constraints of the property for a value without the validator, and adds a violation for
+         * each constraint that is not satisfied. This is only possible if all constraints of the property have a
+         * {@link ConstraintEvaluator} that supports the type of the value, and the default group is validated.
+         *
+         * @return {@code true} if the constraints were evaluated, or {@code false} if the value must be
+         * validated by the validator instead
+         */
+        boolean evaluateConstraints(
+                @Nullable Object value, ValidationPlan plan, MessageInterpolator messageInterpolator,
+                ViolationCollector violations
+        ) {
+            ConstraintEvaluator[] evaluators = this.constraintEvaluators;
+            if (evaluators == null || !defaultGroup) {
+                return false;
+            }
+
+            boolean anyInvalid = false;
+            for (ConstraintEvaluator evaluator : evaluators) {
+                int result = evaluator.evaluate(value);
+                if (result == ConstraintEvaluator.UNSUPPORTED) {
+                    return false;
+                }
+                anyInvalid |= (result == ConstraintEvaluator.INVALID);
+            }
+
+            // Evaluating is cheap, so only allocate for the violations in the (rare) invalid case
+            if (anyInvalid) {
+                assert valuePath != null;
+                for (ConstraintEvaluator evaluator : evaluators) {
+                    if (evaluator.evaluate(value) == ConstraintEvaluator.INVALID) {
+                        violations.add(plan.createViolation(
+                                null, valuePath, value, evaluator.getDescriptor(), messageInterpolator));
+                    }
+                }
+            }
+            return true;
+        }
+
+
+        /**
+         * Evaluates the range constraints of a primitive numeric property on the deserialized value, and adds a
+         * violation for each constraint that is not satisfied.
+         *
+         * @return {@code true} if the constraints were evaluated, or {@code false} if the value must be
+         * validated otherwise
+         */
+        boolean evaluateRange(
+                @Nullable Object value, ValidationPlan plan, MessageInterpolator messageInterpolator,
+                ViolationCollector violations
+        ) {
+            PrimitiveRangeCheck rangeCheck = this.rangeCheck;
+            if (rangeCheck == null || !defaultGroup || !(value instanceof Number)) {
+                return false;
+            }
+
+            int constraintCount = rangeCheck.getConstraintCount();
+            for (int i = 0; i < constraintCount; i++) {
+                if (!rangeCheck.isValid(i, (Number) value)) {
+                    assert valuePath != null;
+                    violations.add(plan.createViolation(
+                            null, valuePath, value, rangeCheck.getConstraint(i), messageInterpolator));
+                }
+            }
+            return true;
+        }
+
+
+        /**
+         * Checks the length of the string token that the parser is positioned on against the maximum
+         * {@link Size} of the property, before the value is deserialized. A string that is too long does not need
+         * to be converted into a {@code String}, nor validated any further.
+         * <p>
+         * This only applies to string properties that are deserialized by the standard {@link StringDeserializer},
+         * which doesn't change the length of the text.
+         *
+         * @return a violation of the {@code Size} constraint, or {@code null} if the text is not too long (or the
+         * check doesn't apply)
+         */
+        @Nullable
+        ConstraintViolation<?> checkTextLength(
+                JsonParser p, SettableBeanProperty prop, ValidationPlan plan, MessageInterpolator messageInterpolator
+        ) throws IOException {
+            if (maxSizeConstraint == null || !defaultGroup || !p.hasToken(JsonToken.VALUE_STRING) ||
+                    p.getTextLength() <= maxSize ||
+                    prop.getValueDeserializer().getClass() != StringDeserializer.class) {
+                return null;
+            }
+            return createMaxSizeViolation(plan, messageInterpolator);
+        }
+
+
+        /**
+         * Wraps the parser, which is positioned on the start of an array, so that the array appears to end after
+         * one element more than the maximum {@link Size} of the property. Elements beyond that are never
+         * deserialized; the caller must {@linkplain ArraySizeLimitingParser#skipRemainingElements skip} them.
+         * <p>
+         * This only applies to collection and array properties that are deserialized by one of the standard
+         * deserializers, which create one element for each element of the JSON array.
+         *
+         * @return the wrapped parser, or {@code null} if the size of the array is not limited
+         */
+        @Nullable
+        ArraySizeLimitingParser limitArraySize(JsonParser p, SettableBeanProperty prop) {
+            if (maxSizeConstraint == null || !defaultGroup || !p.hasToken(JsonToken.START_ARRAY) ||
+                    !isStandardArrayDeserializer(prop.getValueDeserializer())) {
+                return null;
+            }
+            return new ArraySizeLimitingParser(p, maxSize);
+        }
+
+
+        private static boolean isStandardArrayDeserializer(JsonDeserializer<?> deserializer) {
+            return deserializer instanceof CollectionDeserializer ||
+                    deserializer instanceof StringCollectionDeserializer ||
+                    deserializer instanceof ObjectArrayDeserializer ||
+                    deserializer instanceof StringArrayDeserializer ||
+                    deserializer instanceof PrimitiveArrayDeserializers;
+        }
+
+
+        /**
+         * Creates a violation of the maximum {@link Size} of the property, for a value that was rejected before
+         * it was deserialized. The invalid value is not reported, because it was never materialized.
+         */
+        @Nonnull
+        ConstraintViolation<?> createMaxSizeViolation(ValidationPlan plan, MessageInterpolator messageInterpolator) {
+            assert maxSizeConstraint != null && valuePath != null;
+            return plan.createViolation(null, valuePath, null, maxSizeConstraint, messageInterpolator);
+        }
+
+
+        /**
+         * Indicates whether the property is required, either by {@code @JsonProperty(required = true)} or
+         * by {@link JsonRequired}.
+         */
+        boolean isRequired() {
+            return required;
+        }
+
+
+        /**
+         * The path to this property that is reported in violations.
+         */
+        @Nonnull
+        Path getPropertyPath() {
+            return propertyPath;
+        }
+
+
+        /**
+         * The path to this property that is reported in violations, taking into account the array index if
+         * the given parsing context is inside an array.
+         */
+        @Nonnull
+        Path getPropertyPath(SettableBeanProperty prop, BeanValidationFeatureSet features,
+                             @Nullable JsonStreamContext parsingContext) {
+            if (parsingContext == null || !parsingContext.inArray()) {
+                return propertyPath;
+            }
+            return getPropertyPath(prop, features, PropertyPathUtils.getArrayIndex(parsingContext));
+        }
+
+
+        /**
+         * The path to this property that is reported in violations, including the given array index unless it
+         * is {@link ViolationCollector#NO_INDEX}.
+         */
+        @Nonnull
+        Path getPropertyPath(SettableBeanProperty prop, BeanValidationFeatureSet features, int arrayIndex) {
+            if (arrayIndex == ViolationCollector.NO_INDEX) {
+                return propertyPath;
+            }
+            return PropertyPathUtils.constructPropertyPath(prop, pathPropertyName, features, arrayIndex);
+        }
+
+
+        /**
+         * The base path for violations of a cascaded validation of the property value.
+         */
+        @Nonnull
+        Path getCascadeBasePath() {
+            return cascadeBasePath;
+        }
+
+
+        @Nonnull
+        ConstraintDescriptor<JsonValidInput> getValidInputConstraint() {
+            return validInputConstraint;
+        }
+
+
+        @Nonnull
+        ConstraintDescriptor<JsonRequired> getRequiredConstraint() {
+            return requiredConstraint;
+        }
+
+
+        @Nonnull
+        ConstraintDescriptor<NotNull> getNotNullConstraint() {
+            return notNullConstraint;
+        }
+    }
+}
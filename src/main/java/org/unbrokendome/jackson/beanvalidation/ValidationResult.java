@@ -0,0 +1,95 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import com.fasterxml.jackson.core.JsonLocation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.validation.ConstraintViolation;
+import java.util.Collections;
+import java.util.Set;
+
+
+/**
+ * The result of deserializing and validating a single element of a sequence of values: either the value, or the
+ * constraint violations that prevented it from being deserialized.
+ *
+ * @param <T> the type of the values
+ * @see ValidatingMappingIterator
+ */
+public final class ValidationResult<T> {
+
+    private final long index;
+    @Nullable
+    private final JsonLocation location;
+    @Nullable
+    private final T value;
+    private final Set<ConstraintViolation<?>> violations;
+
+
+    private ValidationResult(long index, @Nullable JsonLocation location, @Nullable T value,
+                             Set<ConstraintViolation<?>> violations) {
+        this.index = index;
+        this.location = location;
+        this.value = value;
+        this.violations = violations;
+    }
+
+
+    @Nonnull
+    static <T> ValidationResult<T> valid(long index, @Nullable JsonLocation location, @Nullable T value) {
+        return new ValidationResult<>(index, location, value, Collections.emptySet());
+    }
+
+
+    @Nonnull
+    static <T> ValidationResult<T> invalid(long index, @Nullable JsonLocation location,
+                                           Set<ConstraintViolation<?>> violations) {
+        return new ValidationResult<>(index, location, null, Collections.unmodifiableSet(violations));
+    }
+
+
+    /**
+     * The zero-based index of the element in the sequence.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+
+    /**
+     * The location in the input where the element starts, if known.
+     */
+    @Nullable
+    public JsonLocation getLocation() {
+        return location;
+    }
+
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+
+    /**
+     * The deserialized value, or {@code null} if the element is not valid.
+     */
+    @Nullable
+    public T getValue() {
+        return value;
+    }
+
+
+    /**
+     * The constraint violations of the element, or an empty set if it is valid.
+     */
+    @Nonnull
+    public Set<ConstraintViolation<?>> getViolations() {
+        return violations;
+    }
+
+
+    @Override
+    public String toString() {
+        return "ValidationResult[" + index + "]" + (isValid() ? ": " + value : " violations: " + violations);
+    }
+}
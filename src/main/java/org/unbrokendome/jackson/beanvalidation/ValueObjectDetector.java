@@ -0,0 +1,84 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import javax.annotation.Nullable;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+
+/**
+ * Detects value types, whose {@code equals} and {@code hashCode} are derived from their state: Java records and
+ * Kotlin data classes. Equal instances of such a type have the same constraint violations, so the result of
+ * validating one of them can be reused for the others.
+ * <p>
+ * The {@code equals} method of a Kotlin data class only considers the properties declared in the primary
+ * constructor, so a data class is only a value type for the validator if all of its constrained (or cascaded)
+ * properties are declared there. Class-level constraints are assumed to depend only on the compared state.
+ */
+final class ValueObjectDetector {
+
+    // The names of the properties that equals compares, or empty if the type is not a value type
+    private static final ClassValue<Optional<Set<String>>> stateProperties =
+            new ClassValue<Optional<Set<String>>>() {
+                @Override
+                protected Optional<Set<String>> computeValue(Class<?> type) {
+                    Set<String> properties = isRecord(type) ? getRecordComponents(type) : getDataClassProperties(type);
+                    return Optional.ofNullable(properties);
+                }
+            };
+
+
+    private ValueObjectDetector() {
+    }
+
+
+    static boolean isValueType(Class<?> type, BeanDescriptor beanDescriptor) {
+        Set<String> properties = stateProperties.get(type).orElse(null);
+        if (properties == null) {
+            return false;
+        }
+        for (PropertyDescriptor propertyDescriptor : beanDescriptor.getConstrainedProperties()) {
+            if (!properties.contains(propertyDescriptor.getPropertyName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static boolean isRecord(Class<?> type) {
+        // Class.isRecord() is not available before Java 16
+        Class<?> superclass = type.getSuperclass();
+        return superclass != null && "java.lang.Record".equals(superclass.getName());
+    }
+
+
+    private static Set<String> getRecordComponents(Class<?> type) {
+        // A record can't declare instance fields other than its components
+        Set<String> components = new HashSet<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                components.add(field.getName());
+            }
+        }
+        return components;
+    }
+
+
+    @Nullable
+    private static Set<String> getDataClassProperties(Class<?> type) {
+        if (!KotlinDetector.isKotlinReflectPresent() || !KotlinDetector.isKotlinType(type)) {
+            return null;
+        }
+        try {
+            return KotlinPropertyUtils.getDataClassStateProperties(type);
+        } catch (RuntimeException ex) {
+            // e.g. a synthetic class that Kotlin reflection doesn't support
+            return null;
+        }
+    }
+}
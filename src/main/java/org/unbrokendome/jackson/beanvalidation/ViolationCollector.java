@@ -0,0 +1,430 @@
+package org.unbrokendome.jackson.beanvalidation;
+
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import org.unbrokendome.jackson.beanvalidation.violation.ConstraintViolationUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Path;
+import javax.validation.Validator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+
+/**
+ * Collects the constraint violations of a single document while it is being deserialized.
+ * <p>
+ * The outermost validating deserializer installs a collector as an attribute of the
+ * {@link DeserializationContext}; nested validating deserializers, value instantiators and properties record
+ * their violations into it instead of throwing a {@link ConstraintViolationException}. Only the outermost
+ * deserializer throws, once, after the whole document has been processed.
+ * <p>
+ * Violations recorded by a nested bean are relative to that bean. The enclosing deserializer takes a
+ * {@link #mark() mark} before deserializing a property value, and afterwards {@link #rebaseSince rebases}
+ * everything that was recorded since then onto the path of the property. If the nested bean is an element of
+ * an array, it tags its violations with the array index so that the enclosing deserializer can include it in
+ * the path.
+ * <p>
+ * A nested bean may only record into the collector if the enclosing deserializer is going to rebase its
+ * violations, i.e. if it is the value of the property currently being deserialized (or an element of it, if
+ * the value is an array). Beans that are nested more deeply inside other deserializers install a collector
+ * of their own and throw, as before.
+ * <p>
+ * A collector may have a limit on the number of violations. A violation beyond the limit is dropped and
+ * {@link #isAborted() aborts} the document, so a document with exactly as many violations as the limit is read
+ * completely. In fail-fast mode, recording the first violation aborts. When aborting, {@link #add} throws
+ * {@link Abort}, which unwinds the deserializers (possibly wrapped by Jackson on the way). The
+ * enclosing validating deserializers still rebase the violations of their properties while unwinding, and
+ * the outermost one throws the violations that were recorded, without reading the rest of the input.
+ */
+final class ViolationCollector {
+
+    static final int NO_INDEX = -1;
+    static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final Object ATTRIBUTE_KEY = ViolationCollector.class;
+    // Attribute value instead of a collector for a document that is not validated because of sampling
+    private static final Object SKIPPED = new Object();
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int MAX_MEMOIZED_VALUES = 1024;
+
+    private ConstraintViolation<?>[] violations;
+    private int[] arrayIndices;
+    private int size;
+    private final int maxViolations;
+    private final boolean failFast;
+    @Nullable
+    private final Class<?>[] groupsOverride;
+    private final boolean memoizeValueObjects;
+    private final boolean lazyMessages;
+    @Nullable
+    private Map<MemoKey, Set<ConstraintViolation<Object>>> memoizedViolations;
+    @Nullable
+    private Map<Class<?>, Boolean> valueTypes;
+    private boolean aborted;
+    @Nullable
+    private JsonStreamContext propertyValueContext;
+    @Nullable
+    private ValidationPlan activePlan;
+
+
+    /**
+     * @param lazyMessages whether violation messages are interpolated lazily; if so, the message of the thrown
+     *                     exception does not include them
+     */
+    ViolationCollector(boolean lazyMessages) {
+        this(UNLIMITED, false, null, false, lazyMessages);
+    }
+
+
+    /**
+     * @param failFast whether to abort at the first violation; {@code maxViolations} should then be 1
+     */
+    ViolationCollector(int maxViolations, boolean failFast, @Nullable Class<?>[] groupsOverride,
+                       boolean memoizeValueObjects, boolean lazyMessages) {
+        this.maxViolations = maxViolations;
+        this.failFast = failFast;
+        this.groupsOverride = groupsOverride;
+        this.memoizeValueObjects = memoizeValueObjects;
+        this.lazyMessages = lazyMessages;
+    }
+
+
+    /**
+     * Gets the collector for the document currently being deserialized, or {@code null} if there is none.
+     */
+    @Nullable
+    static ViolationCollector get(DeserializationContext ctxt) {
+        Object attribute = ctxt.getAttribute(ATTRIBUTE_KEY);
+        return (attribute instanceof ViolationCollector) ? (ViolationCollector) attribute : null;
+    }
+
+
+    @Nonnull
+    static ViolationCollector install(
+            DeserializationContext ctxt, int maxViolations, boolean failFast, @Nullable Class<?>[] groupsOverride,
+            boolean memoizeValueObjects, boolean lazyMessages
+    ) {
+        ViolationCollector collector =
+                new ViolationCollector(maxViolations, failFast, groupsOverride, memoizeValueObjects, lazyMessages);
+        ctxt.setAttribute(ATTRIBUTE_KEY, collector);
+        return collector;
+    }
+
+
+    /**
+     * Marks the current document as not validated, until the previous collector is {@link #restore restored}.
+     */
+    static void skipValidation(DeserializationContext ctxt) {
+        ctxt.setAttribute(ATTRIBUTE_KEY, SKIPPED);
+    }
+
+
+    /**
+     * Determines whether validation of the current document has been skipped by the outermost validating
+     * deserializer.
+     */
+    static boolean isValidationSkipped(DeserializationContext ctxt) {
+        return ctxt.getAttribute(ATTRIBUTE_KEY) == SKIPPED;
+    }
+
+
+    /**
+     * Restores the collector that was installed before {@link #install}, which may be {@code null}.
+     */
+    static void restore(DeserializationContext ctxt, @Nullable ViolationCollector previous) {
+        ctxt.setAttribute(ATTRIBUTE_KEY, previous);
+    }
+
+
+    /**
+     * Gets the validation groups that override the groups of the validation plans for this document, or
+     * {@code null} if the plans should use their own groups.
+     */
+    @Nullable
+    Class<?>[] getGroupsOverride() {
+        return groupsOverride;
+    }
+
+
+    /**
+     * Validates a (cascaded) value. If memoization is enabled and the value is a
+     * {@link ValueObjectDetector value object}, the violations of an equal value that was validated earlier in
+     * this document are reused. The violations are relative to the value.
+     * <p>
+     * Reused violations are not rebuilt for each value, so their leaf bean and invalid value (and those of any
+     * nested beans) are the ones of the first equal value that was validated.
+     */
+    @Nonnull
+    Set<ConstraintViolation<Object>> validateValueObject(Object value, Class<?>[] groups, Validator validator) {
+        if (!memoizeValueObjects || !isValueType(value.getClass(), validator)) {
+            return validator.validate(value, groups);
+        }
+
+        MemoKey key = new MemoKey(value, groups);
+        Set<ConstraintViolation<Object>> violations =
+                (memoizedViolations != null) ? memoizedViolations.get(key) : null;
+        if (violations == null) {
+            violations = validator.validate(value, groups);
+            if (memoizedViolations == null) {
+                memoizedViolations = new HashMap<>();
+            }
+            if (memoizedViolations.size() < MAX_MEMOIZED_VALUES) {
+                memoizedViolations.put(key, violations);
+            }
+        }
+        return violations;
+    }
+
+
+    private boolean isValueType(Class<?> type, Validator validator) {
+        // The constraint metadata depends on the validator, so the result is only cached for this document
+        if (valueTypes == null) {
+            valueTypes = new HashMap<>();
+        }
+        return valueTypes.computeIfAbsent(type,
+                t -> ValueObjectDetector.isValueType(t, validator.getConstraintsForClass(t)));
+    }
+
+
+    /**
+     * Sets the plan of the validating deserializer whose bean is currently being deserialized, and returns the
+     * previous one so it can be restored afterwards.
+     */
+    @Nullable
+    ValidationPlan swapActivePlan(@Nullable ValidationPlan plan) {
+        ValidationPlan previous = this.activePlan;
+        this.activePlan = plan;
+        return previous;
+    }
+
+
+    /**
+     * Gets the plan (for the active validation groups) of the validating deserializer whose bean is currently
+     * being deserialized, or {@code null} if there is none.
+     */
+    @Nullable
+    ValidationPlan getActivePlan() {
+        return activePlan;
+    }
+
+
+    /**
+     * Sets the parsing context of the property value that is about to be deserialized, and returns the
+     * previous one so it can be restored afterwards.
+     *
+     * @param valueContext the parsing context at the value token of the property, or {@code null} if no
+     *                     property value is being deserialized
+     */
+    @Nullable
+    JsonStreamContext swapPropertyValueContext(@Nullable JsonStreamContext valueContext) {
+        JsonStreamContext previous = this.propertyValueContext;
+        this.propertyValueContext = valueContext;
+        return previous;
+    }
+
+
+    /**
+     * Determines whether a nested bean that starts at the given parsing context is the value (or an array
+     * element of the value) of the property currently being deserialized.
+     */
+    boolean isPropertyValue(JsonStreamContext context) {
+        JsonStreamContext valueContext = this.propertyValueContext;
+        return valueContext != null &&
+                (context == valueContext || (valueContext.inArray() && context.getParent() == valueContext));
+    }
+
+
+    /**
+     * Returns a mark that can be passed to the other {@code ...Since} methods to refer to all violations
+     * recorded after this call.
+     */
+    int mark() {
+        return size;
+    }
+
+
+    int size() {
+        return size;
+    }
+
+
+    boolean hasViolationsSince(int mark) {
+        return size > mark;
+    }
+
+
+    /**
+     * Records a violation.
+     *
+     * @throws Abort if the violation exceeds the limit of violations, or in fail-fast mode
+     */
+    void add(ConstraintViolation<?> violation) {
+        if (aborted) {
+            throw Abort.INSTANCE;
+        }
+        if (size >= maxViolations) {
+            // The document has more violations than the limit; drop this one and stop
+            aborted = true;
+            throw Abort.INSTANCE;
+        }
+        if (violations == null) {
+            violations = new ConstraintViolation<?>[INITIAL_CAPACITY];
+            arrayIndices = new int[INITIAL_CAPACITY];
+        } else if (size == violations.length) {
+            violations = Arrays.copyOf(violations, size * 2);
+            arrayIndices = Arrays.copyOf(arrayIndices, size * 2);
+        }
+        violations[size] = violation;
+        arrayIndices[size] = NO_INDEX;
+        size++;
+
+        if (failFast) {
+            aborted = true;
+            throw Abort.INSTANCE;
+        }
+    }
+
+
+    /**
+     * Determines whether deserialization of the document has been aborted because the limit of violations
+     * has been exceeded, or because of a violation in fail-fast mode. Any exception thrown while the collector
+     * is aborted is a consequence of the abort.
+     */
+    boolean isAborted() {
+        return aborted;
+    }
+
+
+    void addAll(@Nullable Collection<? extends ConstraintViolation<?>> violations) {
+        if (violations != null) {
+            for (ConstraintViolation<?> violation : violations) {
+                add(violation);
+            }
+        }
+    }
+
+
+    /**
+     * Tags all violations recorded since the given mark with the index of the array element they belong to.
+     */
+    void setArrayIndexSince(int mark, int arrayIndex) {
+        for (int i = mark; i < size; i++) {
+            arrayIndices[i] = arrayIndex;
+        }
+    }
+
+
+    /**
+     * Prepends a base path to all violations recorded since the given mark, and makes them relative to the
+     * given root bean.
+     *
+     * @param basePathForArrayIndex resolves the base path for the array index that a violation was tagged with,
+     *                              or {@link #NO_INDEX}
+     */
+    @SuppressWarnings("unchecked")
+    void rebaseSince(int mark, IntFunction<Path> basePathForArrayIndex,
+                     @Nullable Object rootBean, Class<?> rootBeanClass) {
+        int lastArrayIndex = NO_INDEX;
+        Path basePath = null;
+
+        for (int i = mark; i < size; i++) {
+            int arrayIndex = arrayIndices[i];
+            if (basePath == null || arrayIndex != lastArrayIndex) {
+                basePath = basePathForArrayIndex.apply(arrayIndex);
+                lastArrayIndex = arrayIndex;
+            }
+            violations[i] = ConstraintViolationUtils.withBasePath(
+                    violations[i], rootBean, (Class) rootBeanClass, basePath);
+            arrayIndices[i] = NO_INDEX;
+        }
+    }
+
+
+    @Nonnull
+    Set<ConstraintViolation<?>> getViolations() {
+        Set<ConstraintViolation<?>> result = new LinkedHashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            result.add(violations[i]);
+        }
+        return result;
+    }
+
+
+    void throwIfNotEmpty() {
+        if (aborted) {
+            if (lazyMessages) {
+                throw new TruncatedConstraintViolationException(
+                        "Validation stopped after " + size + " constraint violation(s)", getViolations(),
+                        maxViolations);
+            }
+            throw new TruncatedConstraintViolationException(getViolations(), maxViolations);
+        }
+        if (size != 0) {
+            if (lazyMessages) {
+                // The default message would interpolate the messages of all violations
+                throw new ConstraintViolationException(size + " constraint violation(s)", getViolations());
+            }
+            throw new ConstraintViolationException(getViolations());
+        }
+    }
+
+
+    private static final class MemoKey {
+
+        private final Object value;
+        private final Class<?>[] groups;
+        private final int hashCode;
+
+
+        MemoKey(Object value, Class<?>[] groups) {
+            this.value = value;
+            this.groups = groups;
+            this.hashCode = 31 * value.hashCode() + System.identityHashCode(groups);
+        }
+
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MemoKey)) {
+                return false;
+            }
+            MemoKey other = (MemoKey) obj;
+            // Groups come from validation plans, so they are compared by identity
+            return hashCode == other.hashCode && groups == other.groups && value.equals(other.value);
+        }
+
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+
+    /**
+     * Thrown by {@link #add} to abort deserialization of the document. There is no need for a stack trace, so a
+     * single instance is used.
+     */
+    static final class Abort extends RuntimeException {
+
+        static final Abort INSTANCE = new Abort();
+
+
+        private Abort() {
+            super("Deserialization aborted because the limit of constraint violations was reached",
+                    null, false, false);
+        }
+    }
+}
@@ -4,20 +4,32 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.validation.ElementKind;
 import javax.validation.Path;
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 
 final class PathBuilderImpl implements PathBuilder {
 
-    private final Deque<Path.Node> nodes = new LinkedList<>();
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Path that was appended or built before, and is shared by the resulting path instead of being copied.
+     */
+    @Nullable
+    private PathImpl prefix;
+    @Nullable
+    private Path.Node[] nodes;
+    private int size;
 
 
     @Nonnull
     @Override
     public PathBuilder appendPath(Path path) {
+        if (path instanceof PathImpl) {
+            return appendPath((PathImpl) path);
+        }
+
         Iterator<Path.Node> pathIterator = path.iterator();
         if (!pathIterator.hasNext()) {
             // other path is empty
@@ -26,22 +38,46 @@ final class PathBuilderImpl implements PathBuilder {
 
         Path.Node firstNode = pathIterator.next();
         // Don't duplicate the starting BEAN node
-        if (nodes.isEmpty() || firstNode.getKind() != ElementKind.BEAN) {
-            nodes.addLast(firstNode);
+        if (isEmpty() || firstNode.getKind() != ElementKind.BEAN) {
+            appendNode(firstNode);
         }
 
         while (pathIterator.hasNext()) {
-            nodes.addLast(pathIterator.next());
+            appendNode(pathIterator.next());
         }
 
         return this;
     }
 
 
+    @Nonnull
+    private PathBuilder appendPath(PathImpl path) {
+        if (path.size() == 0) {
+            return this;
+        }
+
+        // Don't duplicate the starting BEAN node
+        int start = (!isEmpty() && path.getNode(0).getKind() == ElementKind.BEAN) ? 1 : 0;
+        int count = path.size() - start;
+
+        if (size == 0) {
+            // Nothing appended since the prefix, so the path can be shared
+            PathImpl suffix = path.subPath(start, path.size());
+            prefix = (prefix != null) ? prefix.append(suffix) : suffix;
+        } else {
+            ensureCapacity(size + count);
+            path.copyNodes(start, nodes, size);
+            size += count;
+        }
+        return this;
+    }
+
+
     @Nonnull
     @Override
     public PathBuilder appendNode(Path.Node node) {
-        nodes.addLast(node);
+        ensureCapacity(size + 1);
+        nodes[size++] = node;
         return this;
     }
 
@@ -69,14 +105,36 @@ final class PathBuilderImpl implements PathBuilder {
     @Nonnull
     @Override
     public PathBuilder appendParameter(String name, int parameterIndex) {
-        nodes.addLast(new ParameterNode(name, parameterIndex));
-        return this;
+        return appendNode(new ParameterNode(name, parameterIndex));
     }
 
 
     @Nonnull
     @Override
     public Path build() {
-        return new PathImpl(nodes);
+        if (size == 0) {
+            return (prefix != null) ? prefix : PathImpl.EMPTY;
+        }
+
+        // Hand the node array over to the path; anything appended later goes into a new array
+        PathImpl path = new PathImpl(prefix, nodes, 0, size);
+        prefix = path;
+        nodes = null;
+        size = 0;
+        return path;
+    }
+
+
+    private boolean isEmpty() {
+        return prefix == null && size == 0;
+    }
+
+
+    private void ensureCapacity(int capacity) {
+        if (nodes == null) {
+            nodes = new Path.Node[Math.max(INITIAL_CAPACITY, capacity)];
+        } else if (capacity > nodes.length) {
+            nodes = Arrays.copyOf(nodes, Math.max(nodes.length * 2, capacity));
+        }
     }
 }
@@ -1,46 +1,231 @@
 package org.unbrokendome.jackson.beanvalidation.path;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.validation.Path;
-import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 
-class PathImpl implements Path {
+/**
+ * Immutable {@link Path} backed by a range of a node array.
+ * <p>
+ * A path may share a {@code prefix} path, so that appending to an existing path does not copy its nodes.
+ * Sub-paths of a path without a prefix are views on the same array. The string form and the hash code are
+ * computed only once.
+ * <p>
+ * Paths in validation plans are shared as prefixes between threads, so the lazily computed values are
+ * {@code volatile}: another thread must never see the flattened node array before its elements.
+ */
+final class PathImpl implements Path {
 
-    private final Deque<Node> nodes;
+    static final PathImpl EMPTY = new PathImpl(null, new Node[0], 0, 0);
 
+    @Nullable
+    private final PathImpl prefix;
+    private final Node[] nodes;
+    private final int from;
+    private final int to;
+    private final int size;
 
-    PathImpl(Iterable<Path.Node> nodes) {
-        this.nodes = new LinkedList<>();
-        nodes.forEach(this.nodes::add);
+    @Nullable
+    private volatile Node[] flattened;
+    @Nullable
+    private volatile String string;
+    private volatile int hashCode;
+
+
+    /**
+     * Creates a path from the given nodes. The array is not copied, and must not be modified afterwards
+     * within the given range.
+     */
+    PathImpl(@Nullable PathImpl prefix, Node[] nodes, int from, int to) {
+        this.prefix = (prefix != null && prefix.size != 0) ? prefix : null;
+        this.nodes = nodes;
+        this.from = from;
+        this.to = to;
+        this.size = (this.prefix != null ? this.prefix.size : 0) + (to - from);
+    }
+
+
+    int size() {
+        return size;
+    }
+
+
+    @Nonnull
+    Node getNode(int index) {
+        if (prefix == null) {
+            return nodes[from + index];
+        }
+        return flatten()[index];
+    }
+
+
+    /**
+     * Returns the path consisting of the nodes from {@code fromIndex} (inclusive) to {@code toIndex}
+     * (exclusive) of this path.
+     */
+    @Nonnull
+    PathImpl subPath(int fromIndex, int toIndex) {
+        if (fromIndex == 0 && toIndex == size) {
+            return this;
+        } else if (fromIndex == toIndex) {
+            return EMPTY;
+        } else if (prefix == null) {
+            return new PathImpl(null, nodes, from + fromIndex, from + toIndex);
+        } else {
+            return new PathImpl(null, flatten(), fromIndex, toIndex);
+        }
+    }
+
+
+    /**
+     * Returns a path that consists of this path followed by the given one. This path is shared, not copied.
+     */
+    @Nonnull
+    PathImpl append(PathImpl suffix) {
+        if (suffix.size == 0) {
+            return this;
+        } else if (size == 0) {
+            return suffix;
+        } else if (suffix.prefix == null) {
+            return new PathImpl(this, suffix.nodes, suffix.from, suffix.to);
+        } else {
+            return new PathImpl(this, suffix.flatten(), 0, suffix.size);
+        }
+    }
+
+
+    /**
+     * Copies the nodes of this path, starting at {@code fromIndex}, into the given array.
+     */
+    void copyNodes(int fromIndex, Node[] dest, int destPos) {
+        if (prefix == null) {
+            System.arraycopy(nodes, from + fromIndex, dest, destPos, size - fromIndex);
+        } else {
+            System.arraycopy(flatten(), fromIndex, dest, destPos, size - fromIndex);
+        }
+    }
+
+
+    private Node[] flatten() {
+        Node[] flattened = this.flattened;
+        if (flattened == null) {
+            flattened = new Node[size];
+            int prefixSize = 0;
+            if (prefix != null) {
+                prefixSize = prefix.size;
+                prefix.copyNodes(0, flattened, 0);
+            }
+            System.arraycopy(nodes, from, flattened, prefixSize, to - from);
+            this.flattened = flattened;
+        }
+        return flattened;
     }
 
 
     @Override
     @Nonnull
     public Iterator<Node> iterator() {
-        return nodes.iterator();
+        return new Iterator<Node>() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Node next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return getNode(index++);
+            }
+        };
     }
 
 
     @Override
     @Nonnull
     public String toString() {
-        StringBuilder builder = new StringBuilder();
-        for (Node node : nodes) {
+        String string = this.string;
+        if (string == null) {
+            StringBuilder builder = new StringBuilder();
+            if (prefix != null) {
+                builder.append(prefix.toString());
+            }
+            for (int i = from; i < to; i++) {
 
-            String nodeValue = node.toString();
-            if (nodeValue == null || nodeValue.isEmpty()) {
-                continue;
+                String nodeValue = nodes[i].toString();
+                if (nodeValue == null || nodeValue.isEmpty()) {
+                    continue;
+                }
+
+                if (builder.length() > 0) {
+                    builder.append('.');
+                }
+                builder.append(nodeValue);
             }
+            string = builder.toString();
+            this.string = string;
+        }
+        return string;
+    }
+
 
-            if (builder.length() > 0) {
-                builder.append('.');
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PathImpl)) {
+            return false;
+        }
+        PathImpl other = (PathImpl) obj;
+        if (size != other.size || hashCode() != other.hashCode()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!nodeEquals(getNode(i), other.getNode(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public int hashCode() {
+        int hashCode = this.hashCode;
+        if (hashCode == 0) {
+            hashCode = prefix != null ? prefix.hashCode() : 1;
+            for (int i = from; i < to; i++) {
+                hashCode = 31 * hashCode + nodeHashCode(nodes[i]);
             }
-            builder.append(nodeValue);
+            this.hashCode = hashCode;
         }
-        return builder.toString();
+        return hashCode;
+    }
+
+
+    private static boolean nodeEquals(Node a, Node b) {
+        return a == b ||
+                (a.getKind() == b.getKind() &&
+                        Objects.equals(a.getName(), b.getName()) &&
+                        Objects.equals(a.getIndex(), b.getIndex()) &&
+                        Objects.equals(a.getKey(), b.getKey()));
+    }
+
+
+    private static int nodeHashCode(Node node) {
+        int hashCode = Objects.hashCode(node.getKind());
+        hashCode = 31 * hashCode + Objects.hashCode(node.getName());
+        hashCode = 31 * hashCode + Objects.hashCode(node.getIndex());
+        hashCode = 31 * hashCode + Objects.hashCode(node.getKey());
+        return hashCode;
     }
 }
@@ -22,6 +22,12 @@ public final class PathUtils {
 
     @Nonnull
     public static Path takeUntil(Path path, ElementKind kind) {
+        if (path instanceof PathImpl) {
+            PathImpl pathImpl = (PathImpl) path;
+            int index = indexOfKind(pathImpl, kind);
+            return pathImpl.subPath(0, index != -1 ? index + 1 : pathImpl.size());
+        }
+
         PathBuilder builder = PathBuilder.create();
         for (Path.Node node : path) {
             builder.appendNode(node);
@@ -35,6 +41,12 @@ public final class PathUtils {
 
     @Nonnull
     public static Path dropUntil(Path path, ElementKind kind) {
+        if (path instanceof PathImpl) {
+            PathImpl pathImpl = (PathImpl) path;
+            int index = indexOfKind(pathImpl, kind);
+            return index != -1 ? pathImpl.subPath(index + 1, pathImpl.size()) : PathImpl.EMPTY;
+        }
+
         PathBuilder builder = PathBuilder.create();
 
         Iterator<Path.Node> iterator = path.iterator();
@@ -52,4 +64,14 @@ public final class PathUtils {
 
         return builder.build();
     }
+
+
+    private static int indexOfKind(PathImpl path, ElementKind kind) {
+        for (int i = 0; i < path.size(); i++) {
+            if (path.getNode(i).getKind() == kind) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
@@ -14,7 +14,10 @@ final class CompositeConstraintViolation<T> extends AbstractRootedConstraintViol
     @Nonnull
     private final ConstraintViolation<?> other;
 
-    private final Path propertyPath;
+    private final Path basePath;
+
+    @Nullable
+    private Path propertyPath;
 
 
     public CompositeConstraintViolation(@Nullable T rootBean, Class<T> rootBeanClass,
@@ -22,11 +25,7 @@ final class CompositeConstraintViolation<T> extends AbstractRootedConstraintViol
                                         ConstraintViolation<?> other) {
         super(rootBean, rootBeanClass);
         this.other = other;
-
-        this.propertyPath = PathBuilder.create()
-                .appendPath(basePath)
-                .appendPath(other.getPropertyPath())
-                .build();
+        this.basePath = basePath;
     }
 
 
@@ -62,6 +61,15 @@ final class CompositeConstraintViolation<T> extends AbstractRootedConstraintViol
 
     @Override
     public Path getPropertyPath() {
+        // Built on first access; most violations of a failed document are never inspected individually
+        Path propertyPath = this.propertyPath;
+        if (propertyPath == null) {
+            propertyPath = PathBuilder.create()
+                    .appendPath(basePath)
+                    .appendPath(other.getPropertyPath())
+                    .build();
+            this.propertyPath = propertyPath;
+        }
         return propertyPath;
     }
 
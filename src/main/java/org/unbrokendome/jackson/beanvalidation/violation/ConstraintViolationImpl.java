@@ -6,7 +6,7 @@ import javax.validation.Path;
 import javax.validation.metadata.ConstraintDescriptor;
 
 
-final class ConstraintViolationImpl<T> extends AbstractRootedConstraintViolation<T> {
+class ConstraintViolationImpl<T> extends AbstractRootedConstraintViolation<T> {
 
     private final String message;
     private final Object leafBean;
@@ -15,7 +15,7 @@ final class ConstraintViolationImpl<T> extends AbstractRootedConstraintViolation
     private final ConstraintDescriptor<?> constraintDescriptor;
 
 
-    ConstraintViolationImpl(String message,
+    ConstraintViolationImpl(@Nullable String message,
                             @Nullable T rootBean,
                             Class<T> rootBeanClass,
                             @Nullable Object leafBean,
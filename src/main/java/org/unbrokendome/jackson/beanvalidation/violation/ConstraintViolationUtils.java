@@ -39,6 +39,20 @@ public final class ConstraintViolationUtils {
     }
 
 
+    /**
+     * Creates a violation whose message is only interpolated when {@link ConstraintViolation#getMessage()} is
+     * called for the first time.
+     */
+    public static <T> ConstraintViolation<T> createWithLazyMessage(
+            @Nullable T rootBean, Class<T> rootBeanClass,
+            @Nullable Object leafBean, Path propertyPath, @Nullable Object invalidValue,
+            ConstraintDescriptor<?> constraintDescriptor, MessageInterpolator messageInterpolator) {
+
+        return new LazyMessageConstraintViolation<>(messageInterpolator, rootBean, rootBeanClass, leafBean,
+                propertyPath, invalidValue, constraintDescriptor);
+    }
+
+
     public static <T> ConstraintViolation<T> withBasePath(
             ConstraintViolation<?> violation,
             @Nullable T newRootBean,
@@ -0,0 +1,45 @@
+package org.unbrokendome.jackson.beanvalidation.violation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.validation.MessageInterpolator;
+import javax.validation.Path;
+import javax.validation.metadata.ConstraintDescriptor;
+
+
+/**
+ * Constraint violation that interpolates its message on the first call to {@link #getMessage()}.
+ */
+final class LazyMessageConstraintViolation<T> extends ConstraintViolationImpl<T> {
+
+    private final MessageInterpolator messageInterpolator;
+    @Nullable
+    private volatile String message;
+
+
+    LazyMessageConstraintViolation(MessageInterpolator messageInterpolator,
+                                   @Nullable T rootBean,
+                                   Class<T> rootBeanClass,
+                                   @Nullable Object leafBean,
+                                   Path propertyPath,
+                                   @Nullable Object invalidValue,
+                                   ConstraintDescriptor<?> constraintDescriptor) {
+        super(null, rootBean, rootBeanClass, leafBean, propertyPath, invalidValue, constraintDescriptor);
+        this.messageInterpolator = messageInterpolator;
+    }
+
+
+    @Override
+    @Nonnull
+    public String getMessage() {
+        String message = this.message;
+        if (message == null) {
+            // Interpolation has no side effects, so it doesn't matter if two threads race here
+            MessageInterpolator.Context interpolatorContext =
+                    new MessageInterpolatorContextImpl(getConstraintDescriptor(), getInvalidValue());
+            message = messageInterpolator.interpolate(getMessageTemplate(), interpolatorContext);
+            this.message = message;
+        }
+        return message;
+    }
+}
@@ -11,6 +11,7 @@ import kotlin.reflect.KFunction
 import kotlin.reflect.KMutableProperty
 import kotlin.reflect.KProperty
 import kotlin.reflect.full.declaredMemberProperties
+import kotlin.reflect.full.primaryConstructor
 import kotlin.reflect.full.valueParameters
 import kotlin.reflect.jvm.javaMethod
 import kotlin.reflect.jvm.kotlinFunction
@@ -53,3 +54,16 @@ internal fun isKotlinLateinitVar(prop: SettableBeanProperty): Boolean =
 private fun Method.findMemberPropertyForSetter(): KProperty<*>? =
     declaringClass.kotlin.declaredMemberProperties
         .find { it is KMutableProperty<*> && it.setter.javaMethod == this }
+
+
+/**
+ * Gets the names of the primary constructor parameters of a data class, which are the properties that its
+ * `equals` compares, or `null` if the type is not a data class.
+ */
+internal fun getDataClassStateProperties(type: Class<*>): Set<String>? {
+    val kotlinClass = type.kotlin
+    if (!kotlinClass.isData) {
+        return null
+    }
+    return kotlinClass.primaryConstructor?.parameters?.mapNotNullTo(HashSet()) { it.name }
+}
@@ -0,0 +1,72 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
+import assertk.assertions.isNull
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import javax.validation.Valid
+import javax.validation.constraints.NotNull
+import javax.validation.constraints.Size
+
+
+class ArraySizeLimitTest : AbstractValidationTest() {
+
+    @JsonValidated
+    class Item {
+
+        @get:NotNull
+        var name: String? = null
+    }
+
+
+    @JsonValidated
+    class ValidatedBean {
+
+        @get:Size(max = 2)
+        @get:Valid
+        var items: List<Item>? = null
+
+        @get:Size(max = 3)
+        var codes: IntArray? = null
+
+        var count: Int = 0
+    }
+
+
+    @BeforeEach
+    fun setup() {
+        beanValidationModule.enable(BeanValidationFeature.LIMIT_ARRAY_SIZE_DURING_DESERIALIZATION)
+    }
+
+
+    @Test
+    fun `should accept arrays within the size limit`() {
+
+        val bean = objectMapper.readValue(
+            """{ "items": [{ "name": "a" }, { "name": "b" }], "codes": [1, 2, 3], "count": 1 }""",
+            ValidatedBean::class.java
+        )
+
+        assertThat(bean.items!!.map { it.name }).isEqualTo(listOf("a", "b"))
+        assertThat(bean.codes!!.toList()).isEqualTo(listOf(1, 2, 3))
+        assertThat(bean.count).isEqualTo(1)
+    }
+
+
+    @Test
+    fun `should report too large array and skip its remaining elements`() {
+
+        val violations = assertViolationsOnDeserialization<ValidatedBean>(
+            """{ "items": [{ "name": "a" }, { "name": "b" }, { "name": null }, { "name": [1, { "x": 2 }] }],
+               "codes": [1, 2, 3, 4, 5], "count": 1 }"""
+        )
+
+        assertThat(violations).hasSize(2)
+        assertThat(violations).hasViolation<Size>("items")
+        assertThat(violations).hasViolation<Size>("codes")
+        assertThat(violations.first().invalidValue).isNull()
+    }
+}
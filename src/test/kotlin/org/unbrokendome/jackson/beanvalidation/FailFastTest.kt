@@ -0,0 +1,156 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
+import assertk.assertions.isNotInstanceOf
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import javax.validation.ConstraintViolationException
+import javax.validation.constraints.NotNull
+import javax.validation.constraints.Size
+
+
+class FailFastTest : AbstractValidationTest() {
+
+    @JsonValidated
+    class SimpleValidatedBean {
+
+        @get:NotNull
+        var value: String? = null
+
+        @get:Size(max = 3)
+        var other: String? = null
+    }
+
+
+    @JsonValidated
+    class ValidatedBeanWithNestedList {
+
+        var nested: List<SimpleValidatedBean>? = null
+    }
+
+
+    @Test
+    fun `should stop at the first violation`() {
+        beanValidationModule.enable(BeanValidationFeature.FAIL_FAST)
+
+        val json = """{ "value": null, "other": "abcd" }"""
+
+        val violations = assertViolationsOnDeserialization<SimpleValidatedBean>(json)
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<NotNull>("value")
+    }
+
+
+    @Test
+    fun `should report the full path of the first violation in a nested list`() {
+        beanValidationModule.enable(BeanValidationFeature.FAIL_FAST)
+
+        val json = """{ "nested": [{"value":"test"},{"value": null},{"value": null}] }"""
+
+        val violations = assertViolationsOnDeserialization<ValidatedBeanWithNestedList>(json)
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<NotNull>("nested[1].value")
+    }
+
+
+    @Test
+    fun `should enable fail-fast for a single reader`() {
+
+        val json = """{ "value": null, "other": "abcd" }"""
+
+        val violations = assertViolations {
+            objectMapper.readerFor(SimpleValidatedBean::class.java)
+                .withAttribute(BeanValidationFeature.FAIL_FAST, true)
+                .readValue<SimpleValidatedBean>(json)
+        }
+        assertThat(violations).hasSize(1)
+
+        assertThat(assertViolationsOnDeserialization<SimpleValidatedBean>(json)).hasSize(2)
+    }
+
+
+    @Test
+    fun `should disable fail-fast for a single reader`() {
+        beanValidationModule.enable(BeanValidationFeature.FAIL_FAST)
+
+        val json = """{ "value": null, "other": "abcd" }"""
+
+        val violations = assertViolations {
+            objectMapper.readerFor(SimpleValidatedBean::class.java)
+                .withAttribute(BeanValidationFeature.FAIL_FAST, false)
+                .readValue<SimpleValidatedBean>(json)
+        }
+        assertThat(violations).hasSize(2)
+    }
+
+
+    @Test
+    fun `should stop when the maximum number of violations is reached`() {
+        beanValidationModule.setMaxViolations(2)
+
+        val json = """{ "nested": [{"value": null},{"value":"test"},{"value": null},{"value": null}] }"""
+
+        val exception = assertThrows(TruncatedConstraintViolationException::class.java) {
+            objectMapper.readValue(json, ValidatedBeanWithNestedList::class.java)
+        }
+
+        assertThat(exception.maxViolations).isEqualTo(2)
+        assertThat(exception.constraintViolations).hasSize(2)
+        assertThat(exception.constraintViolations).hasViolation<NotNull>("nested[0].value")
+        assertThat(exception.constraintViolations).hasViolation<NotNull>("nested[2].value")
+    }
+
+
+    @Test
+    fun `should read the whole document if it has exactly the maximum number of violations`() {
+        beanValidationModule.setMaxViolations(2)
+
+        val json = """{ "nested": [{"value": null},{"value":"test"},{"value": null, "other": "abc"}] }"""
+
+        val exception = assertThrows(ConstraintViolationException::class.java) {
+            objectMapper.readValue(json, ValidatedBeanWithNestedList::class.java)
+        }
+
+        assertThat(exception).isNotInstanceOf(TruncatedConstraintViolationException::class)
+        assertThat(exception.constraintViolations).hasSize(2)
+        assertThat(exception.constraintViolations).hasViolation<NotNull>("nested[0].value")
+        assertThat(exception.constraintViolations).hasViolation<NotNull>("nested[2].value")
+    }
+
+
+    @Test
+    fun `should override the maximum number of violations for a single reader`() {
+
+        val json = """{ "nested": [{"value": null},{"value": null},{"value": null}] }"""
+
+        val violations = assertViolations {
+            objectMapper.readerFor(ValidatedBeanWithNestedList::class.java)
+                .withAttribute(BeanValidationModule.MAX_VIOLATIONS, 1)
+                .readValue<ValidatedBeanWithNestedList>(json)
+        }
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<NotNull>("nested[0].value")
+    }
+
+
+    @Test
+    fun `should notify listeners of the validation that stopped the document`() {
+        beanValidationModule.enable(BeanValidationFeature.FAIL_FAST)
+        val metrics = ValidationMetrics()
+        beanValidationModule.addListener(metrics)
+
+        val violations = assertViolationsOnDeserialization<SimpleValidatedBean>("""{ "other": "abcd" }""")
+
+        assertThat(violations).hasSize(1)
+        val entries = metrics.snapshot()
+        assertThat(entries).hasSize(1)
+        assertThat(entries[0].beanType).isEqualTo(SimpleValidatedBean::class.java)
+        assertThat(entries[0].phase).isEqualTo(ValidationPhase.PROPERTY)
+        assertThat(entries[0].violationCount).isEqualTo(1L)
+    }
+}
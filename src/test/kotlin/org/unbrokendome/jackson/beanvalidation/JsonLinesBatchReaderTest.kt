@@ -0,0 +1,77 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
+import assertk.assertions.isFalse
+import assertk.assertions.isNull
+import assertk.assertions.isTrue
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import java.io.StringReader
+import java.util.concurrent.Executors
+import javax.validation.constraints.NotNull
+
+
+class JsonLinesBatchReaderTest : AbstractValidationTest() {
+
+    @JsonValidated
+    class SimpleValidatedBean {
+
+        @get:NotNull
+        var value: String? = null
+    }
+
+
+    private fun batchReader() =
+        JsonLinesBatchReader<SimpleValidatedBean>(objectMapper.readerFor(SimpleValidatedBean::class.java))
+
+
+    @Test
+    fun `should return results of all lines in input order`() {
+
+        val input = (0 until 1000).joinToString("\n") { i ->
+            if (i % 7 == 0) """{"value":null}""" else """{"value":"$i"}"""
+        }
+
+        val executor = Executors.newFixedThreadPool(4)
+        val results = try {
+            batchReader()
+                .withExecutor(executor)
+                .withChunkSize(16)
+                .withMaxPendingChunks(3)
+                .readAll(StringReader(input))
+        } finally {
+            executor.shutdown()
+        }
+
+        assertThat(results).hasSize(1000)
+        results.forEachIndexed { i, result ->
+            assertThat(result.index).isEqualTo(i.toLong())
+            assertThat(result.location?.lineNr).isEqualTo(i + 1)
+            if (i % 7 == 0) {
+                assertThat(result.isValid).isFalse()
+                assertThat(result.value).isNull()
+                assertThat(result.violations).hasSize(1)
+                assertThat(result.violations).hasViolation<NotNull>("value")
+            } else {
+                assertThat(result.isValid).isTrue()
+                assertThat(result.value?.value).isEqualTo("$i")
+            }
+        }
+    }
+
+
+    @Test
+    fun `should skip blank lines`() {
+
+        val input = "{\"value\":\"a\"}\n\n   \n{\"value\":\"b\"}\n"
+
+        val results = batchReader().readAll(StringReader(input))
+
+        assertThat(results).hasSize(2)
+        assertThat(results.map { it.index }).isEqualTo(listOf(0L, 1L))
+        assertThat(results.map { it.location?.lineNr }).isEqualTo(listOf(1, 4))
+        assertThat(results.all { it.isValid }).isTrue()
+    }
+}
@@ -15,6 +15,7 @@ import org.junit.jupiter.params.provider.ArgumentsSource
 import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
 import java.util.stream.Stream
 import javax.validation.constraints.NotNull
+import javax.validation.constraints.Size
 
 
 class KotlinValidationTest : AbstractValidationTest() {
@@ -42,6 +43,14 @@ class KotlinValidationTest : AbstractValidationTest() {
         lateinit var value: String
     }
 
+    @JsonValidated
+    class BeanWithConstrainedLateinitVarProps {
+        @get:Size(max = 3)
+        lateinit var first: String
+
+        lateinit var second: String
+    }
+
     @Test
     fun `should report NotNull violation on null creator String property`() {
 
@@ -126,6 +135,28 @@ class KotlinValidationTest : AbstractValidationTest() {
     }
 
 
+    @Test
+    fun `should not report violation on lateinit var property present in input`() {
+
+        val json = """{ "value": "xyz" }"""
+
+        assertNoViolationsOnDeserialization<BeanWithLateinitVarProp>(json)
+    }
+
+
+    @Test
+    fun `should only report violations of lateinit var properties that are invalid or unset`() {
+
+        val json = """{ "first": "abcd" }"""
+
+        val violations = assertViolationsOnDeserialization<BeanWithConstrainedLateinitVarProps>(json)
+
+        assertThat(violations).hasSize(2)
+        assertThat(violations).hasViolation<Size>("first")
+        assertThat(violations).hasViolation<NotNull>("second")
+    }
+
+
     @Test
     fun `should not validate unset lateinit var property if feature is unset`() {
 
@@ -119,4 +119,17 @@ class NestedValidationTest : AbstractValidationTest() {
         assertThat(violations).hasSize(1)
         assertThat(violations).hasViolation<NotNull>(violationPath)
     }
+
+
+    @Test
+    fun `should report violations of all invalid elements in @Valid-annotated nested list`() {
+
+        val json = """{ "nested": [{"value": null},{"value":"test"},{"value": null}] }"""
+
+        val violations = assertViolationsOnDeserialization(json, ValidatedBeanWithValidNestedList::class.java)
+
+        assertThat(violations).hasSize(2)
+        assertThat(violations).hasViolation<NotNull>("nested[0].value")
+        assertThat(violations).hasViolation<NotNull>("nested[2].value")
+    }
 }
@@ -0,0 +1,138 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
+import assertk.assertions.isNotEqualTo
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import javax.validation.constraints.Max
+import javax.validation.constraints.NotNull
+import javax.validation.constraints.Size
+
+
+class OptimizedPropertyAccessTest : AbstractValidationTest() {
+
+    @JsonValidated
+    class ValidatedBean {
+
+        @get:Size(max = 5)
+        var name: String? = null
+
+        @get:Max(10)
+        var count: Int = 0
+
+        var tags: List<String>? = null
+
+        @get:NotNull
+        var email: String? = null
+    }
+
+
+    @JsonValidated
+    private class NonPublicBean {
+
+        @get:Size(max = 5)
+        var name: String? = null
+
+        var count: Int = 0
+    }
+
+
+    /**
+     * Loads its own copy of a class, like the class loader of a web application or plugin.
+     */
+    private class ChildFirstClassLoader(parent: ClassLoader, private val className: String) : ClassLoader(parent) {
+
+        override fun loadClass(name: String, resolve: Boolean): Class<*> {
+            if (name != className) {
+                return super.loadClass(name, resolve)
+            }
+            synchronized(getClassLoadingLock(name)) {
+                findLoadedClass(name)?.let { return it }
+                val bytes = parent.getResourceAsStream(name.replace('.', '/') + ".class")!!.use { it.readBytes() }
+                return defineClass(name, bytes, 0, bytes.size)
+            }
+        }
+    }
+
+
+    @BeforeEach
+    fun setup() {
+        beanValidationModule.enable(BeanValidationFeature.OPTIMIZE_PROPERTY_ACCESS)
+    }
+
+
+    @Test
+    fun `should set properties in declaration order`() {
+
+        val bean = objectMapper.readValue(
+            """{ "name": "abc", "count": 3, "tags": ["x", "y"], "email": "a@example.com" }""",
+            ValidatedBean::class.java
+        )
+
+        assertThat(bean.name).isEqualTo("abc")
+        assertThat(bean.count).isEqualTo(3)
+        assertThat(bean.tags).isEqualTo(listOf("x", "y"))
+        assertThat(bean.email).isEqualTo("a@example.com")
+    }
+
+
+    @Test
+    fun `should set properties in any order`() {
+
+        val bean = objectMapper.readValue(
+            """{ "email": "a@example.com", "count": 3, "name": "abc" }""",
+            ValidatedBean::class.java
+        )
+
+        assertThat(bean.name).isEqualTo("abc")
+        assertThat(bean.count).isEqualTo(3)
+        assertThat(bean.email).isEqualTo("a@example.com")
+    }
+
+
+    @Test
+    fun `should report violations`() {
+
+        val violations = assertViolationsOnDeserialization<ValidatedBean>(
+            """{ "name": "abcdef", "count": 11 }"""
+        )
+
+        assertThat(violations).hasSize(3)
+        assertThat(violations).hasViolation<Size>("name")
+        assertThat(violations).hasViolation<Max>("count")
+        assertThat(violations).hasViolation<NotNull>("email")
+    }
+
+
+    @Test
+    fun `should set properties of non-public class`() {
+
+        val bean = objectMapper.readValue(
+            """{ "name": "abc", "count": 3 }""",
+            NonPublicBean::class.java
+        )
+
+        assertThat(bean.name).isEqualTo("abc")
+        assertThat(bean.count).isEqualTo(3)
+    }
+
+
+    @Test
+    fun `should set properties of class from a child class loader`() {
+
+        val beanClassName = ValidatedBean::class.java.name
+        val beanClass = ChildFirstClassLoader(javaClass.classLoader, beanClassName).loadClass(beanClassName)
+        assertThat(beanClass).isNotEqualTo(ValidatedBean::class.java)
+
+        val bean = objectMapper.readValue(
+            """{ "name": "abc", "count": 3, "email": "a@example.com" }""",
+            beanClass
+        )
+
+        assertThat(beanClass.getMethod("getName").invoke(bean)).isEqualTo("abc")
+        assertThat(beanClass.getMethod("getCount").invoke(bean)).isEqualTo(3)
+    }
+}
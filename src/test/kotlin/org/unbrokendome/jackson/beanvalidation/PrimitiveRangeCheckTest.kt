@@ -0,0 +1,144 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import javax.validation.constraints.DecimalMax
+import javax.validation.constraints.DecimalMin
+import javax.validation.constraints.Max
+import javax.validation.constraints.Min
+import javax.validation.constraints.Negative
+import javax.validation.constraints.Positive
+import javax.validation.constraints.PositiveOrZero
+
+
+class PrimitiveRangeCheckTest : AbstractValidationTest() {
+
+    @JsonValidated
+    class Measurement {
+
+        @get:Positive
+        @get:Max(100)
+        var count: Int = 1
+
+        @get:DecimalMin("1.5")
+        @get:DecimalMax(value = "10", inclusive = false)
+        var duration: Long = 2
+
+        @get:Max(10)
+        var value: Double = 0.0
+
+        @get:Negative
+        var offset: Float = -1.0f
+
+        @get:PositiveOrZero
+        var level: Byte = 0
+
+        @get:Min(-10)
+        @get:Max(1000)
+        var weight: Short = 0
+    }
+
+
+    @BeforeEach
+    fun setup() {
+        beanValidationModule.enable(BeanValidationFeature.EVALUATE_STANDARD_CONSTRAINTS)
+    }
+
+
+    @Test
+    fun `should accept values within range`() {
+
+        val measurement = objectMapper.readValue(
+            """{ "count": 100, "duration": 9, "value": 10, "offset": -0.5 }""",
+            Measurement::class.java
+        )
+
+        assertThat(measurement.count).isEqualTo(100)
+        assertThat(measurement.duration).isEqualTo(9L)
+        assertThat(measurement.value).isEqualTo(10.0)
+        assertThat(measurement.offset).isEqualTo(-0.5f)
+    }
+
+
+    @Test
+    fun `should report values out of range`() {
+
+        val violations = assertViolationsOnDeserialization<Measurement>(
+            """{ "count": 0, "duration": 1, "value": 10.5, "offset": 0 }"""
+        )
+
+        assertThat(violations).hasSize(4)
+        assertThat(violations).hasViolation<Positive>("count")
+        assertThat(violations).hasViolation<DecimalMin>("duration")
+        assertThat(violations).hasViolation<Max>("value")
+        assertThat(violations).hasViolation<Negative>("offset")
+    }
+
+
+    @Test
+    fun `should report exclusive decimal maximum`() {
+
+        val violations = assertViolationsOnDeserialization<Measurement>(
+            """{ "duration": 10 }"""
+        )
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<DecimalMax>("duration")
+        assertThat(violations.first().invalidValue).isEqualTo(10L)
+    }
+
+
+    @Test
+    fun `should check values coerced from strings`() {
+
+        val violations = assertViolationsOnDeserialization<Measurement>(
+            """{ "count": "101" }"""
+        )
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<Max>("count")
+    }
+
+
+    @Test
+    fun `should accept byte and short values within range`() {
+
+        val measurement = objectMapper.readValue(
+            """{ "level": 127, "weight": -10 }""",
+            Measurement::class.java
+        )
+
+        assertThat(measurement.level).isEqualTo(127.toByte())
+        assertThat(measurement.weight).isEqualTo((-10).toShort())
+    }
+
+
+    @Test
+    fun `should report short values out of range`() {
+
+        val violations = assertViolationsOnDeserialization<Measurement>(
+            """{ "weight": 1001 }"""
+        )
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<Max>("weight")
+        assertThat(violations.first().invalidValue).isEqualTo(1001.toShort())
+    }
+
+
+    @Test
+    fun `should check byte values as wrapped by the deserializer`() {
+
+        val violations = assertViolationsOnDeserialization<Measurement>(
+            """{ "level": 200 }"""
+        )
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<PositiveOrZero>("level")
+        assertThat(violations.first().invalidValue).isEqualTo((-56).toByte())
+    }
+}
@@ -0,0 +1,148 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import javax.validation.constraints.NotNull
+
+
+class PropertyBitSetTest : AbstractValidationTest() {
+
+    /**
+     * Has more than 64 properties, so that the properties to validate span more than one word.
+     */
+    @JsonValidated
+    class WideBean {
+        @get:NotNull var p00: String? = null
+        @get:NotNull var p01: String? = null
+        @get:NotNull var p02: String? = null
+        @get:NotNull var p03: String? = null
+        @get:NotNull var p04: String? = null
+        @get:NotNull var p05: String? = null
+        @get:NotNull var p06: String? = null
+        @get:NotNull var p07: String? = null
+        @get:NotNull var p08: String? = null
+        @get:NotNull var p09: String? = null
+        @get:NotNull var p10: String? = null
+        @get:NotNull var p11: String? = null
+        @get:NotNull var p12: String? = null
+        @get:NotNull var p13: String? = null
+        @get:NotNull var p14: String? = null
+        @get:NotNull var p15: String? = null
+        @get:NotNull var p16: String? = null
+        @get:NotNull var p17: String? = null
+        @get:NotNull var p18: String? = null
+        @get:NotNull var p19: String? = null
+        @get:NotNull var p20: String? = null
+        @get:NotNull var p21: String? = null
+        @get:NotNull var p22: String? = null
+        @get:NotNull var p23: String? = null
+        @get:NotNull var p24: String? = null
+        @get:NotNull var p25: String? = null
+        @get:NotNull var p26: String? = null
+        @get:NotNull var p27: String? = null
+        @get:NotNull var p28: String? = null
+        @get:NotNull var p29: String? = null
+        @get:NotNull var p30: String? = null
+        @get:NotNull var p31: String? = null
+        @get:NotNull var p32: String? = null
+        @get:NotNull var p33: String? = null
+        @get:NotNull var p34: String? = null
+        @get:NotNull var p35: String? = null
+        @get:NotNull var p36: String? = null
+        @get:NotNull var p37: String? = null
+        @get:NotNull var p38: String? = null
+        @get:NotNull var p39: String? = null
+        @get:NotNull var p40: String? = null
+        @get:NotNull var p41: String? = null
+        @get:NotNull var p42: String? = null
+        @get:NotNull var p43: String? = null
+        @get:NotNull var p44: String? = null
+        @get:NotNull var p45: String? = null
+        @get:NotNull var p46: String? = null
+        @get:NotNull var p47: String? = null
+        @get:NotNull var p48: String? = null
+        @get:NotNull var p49: String? = null
+        @get:NotNull var p50: String? = null
+        @get:NotNull var p51: String? = null
+        @get:NotNull var p52: String? = null
+        @get:NotNull var p53: String? = null
+        @get:NotNull var p54: String? = null
+        @get:NotNull var p55: String? = null
+        @get:NotNull var p56: String? = null
+        @get:NotNull var p57: String? = null
+        @get:NotNull var p58: String? = null
+        @get:NotNull var p59: String? = null
+        @get:NotNull var p60: String? = null
+        @get:NotNull var p61: String? = null
+        @get:NotNull var p62: String? = null
+        @get:NotNull var p63: String? = null
+        @get:NotNull var p64: String? = null
+        @get:NotNull var p65: String? = null
+    }
+
+
+    @Test
+    fun `should iterate set bits across words`() {
+
+        val bits = PropertyBitSet.copyOf(PropertyBitSet.template(intArrayOf(0, 63, 64, 127, 130, -1)))
+
+        assertThat(setBits(bits)).isEqualTo(listOf(0, 63, 64, 127, 130))
+    }
+
+
+    @Test
+    fun `should clear bits in any word`() {
+
+        val template = PropertyBitSet.template(intArrayOf(1, 63, 64, 65, 200))
+        val bits = PropertyBitSet.copyOf(template)
+
+        bits.clear(63)
+        bits.clear(64)
+        bits.clear(200)
+        bits.clear(500)
+        bits.clear(-1)
+
+        assertThat(setBits(bits)).isEqualTo(listOf(1, 65))
+        assertThat(setBits(PropertyBitSet.copyOf(template))).isEqualTo(listOf(1, 63, 64, 65, 200))
+    }
+
+
+    @Test
+    fun `should find no bits in empty set`() {
+
+        assertThat(PropertyBitSet.empty().nextSetBit(0)).isEqualTo(-1)
+        assertThat(PropertyBitSet.copyOf(PropertyBitSet.template(intArrayOf())).nextSetBit(0)).isEqualTo(-1)
+        assertThat(PropertyBitSet.copyOf(PropertyBitSet.template(intArrayOf(3))).nextSetBit(64)).isEqualTo(-1)
+    }
+
+
+    @Test
+    fun `should validate missing properties of a bean with more than 64 properties`() {
+
+        val missing = setOf(0, 63, 64, 65)
+        val json = (0 until 66).filter { it !in missing }
+            .joinToString(prefix = "{ ", postfix = " }") { "\"p${"%02d".format(it)}\": \"x\"" }
+
+        val violations = assertViolationsOnDeserialization<WideBean>(json)
+
+        assertThat(violations).hasSize(4)
+        assertThat(violations).hasViolation<NotNull>("p00")
+        assertThat(violations).hasViolation<NotNull>("p63")
+        assertThat(violations).hasViolation<NotNull>("p64")
+        assertThat(violations).hasViolation<NotNull>("p65")
+    }
+
+
+    private fun setBits(bits: PropertyBitSet): List<Int> {
+        val result = mutableListOf<Int>()
+        var index = bits.nextSetBit(0)
+        while (index >= 0) {
+            result.add(index)
+            index = bits.nextSetBit(index + 1)
+        }
+        return result
+    }
+}
@@ -0,0 +1,89 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.isBetween
+import assertk.assertions.isEqualTo
+import com.fasterxml.jackson.annotation.JsonCreator
+import com.fasterxml.jackson.annotation.JsonProperty
+import org.junit.jupiter.api.Test
+import javax.validation.ConstraintViolationException
+import javax.validation.constraints.NotNull
+import javax.validation.constraints.Size
+
+
+class SamplingTest : AbstractValidationTest() {
+
+    @JsonValidated
+    class SimpleValidatedBean {
+
+        @get:NotNull
+        var value: String? = null
+
+        @get:Size(max = 3)
+        var other: String? = null
+    }
+
+
+    @JsonValidated
+    class ValidatedCreatorBean
+    @JsonCreator constructor(
+        @param:[Size(max = 3) JsonProperty("value")] val value: String?,
+        @param:JsonProperty("nested") val nested: SimpleValidatedBean?
+    )
+
+
+    @Test
+    fun `should not validate any documents with a sampling rate of 0`() {
+        beanValidationModule.setSamplingRate(0.0)
+
+        assertNoViolationsOnDeserialization<SimpleValidatedBean>("""{ "value": null, "other": "abcd" }""")
+        assertNoViolationsOnDeserialization<ValidatedCreatorBean>(
+            """{ "value": "abcd", "nested": { "value": null } }"""
+        )
+
+        val statistics = beanValidationModule.samplingStatistics
+        assertThat(statistics.skippedDocuments).isEqualTo(2L)
+        assertThat(statistics.validatedDocuments).isEqualTo(0L)
+    }
+
+
+    @Test
+    fun `should override the sampling rate for a single reader`() {
+
+        val json = """{ "value": null }"""
+
+        assertNoViolations {
+            objectMapper.readerFor(SimpleValidatedBean::class.java)
+                .withAttribute(BeanValidationModule.SAMPLING_RATE, 0.0)
+                .readValue<SimpleValidatedBean>(json)
+        }
+        assertViolationsOnDeserialization<SimpleValidatedBean>(json)
+
+        // Without sampling, nothing is counted
+        assertThat(beanValidationModule.samplingStatistics.skippedDocuments).isEqualTo(1L)
+        assertThat(beanValidationModule.samplingStatistics.validatedDocuments).isEqualTo(0L)
+    }
+
+
+    @Test
+    fun `should count the violations of sampled documents`() {
+        beanValidationModule.setSamplingRate(0.5)
+
+        val reader = objectMapper.readerFor(SimpleValidatedBean::class.java)
+        var thrown = 0L
+        repeat(1000) {
+            try {
+                reader.readValue<SimpleValidatedBean>("""{ "value": null, "other": "abcd" }""")
+            } catch (ex: ConstraintViolationException) {
+                thrown++
+            }
+        }
+
+        val statistics = beanValidationModule.samplingStatistics
+        assertThat(statistics.validatedDocuments + statistics.skippedDocuments).isEqualTo(1000L)
+        assertThat(statistics.validatedDocuments).isEqualTo(thrown)
+        assertThat(statistics.validatedDocuments).isBetween(1L, 999L)
+        assertThat(statistics.invalidDocuments).isEqualTo(thrown)
+        assertThat(statistics.violations).isEqualTo(thrown * 2)
+    }
+}
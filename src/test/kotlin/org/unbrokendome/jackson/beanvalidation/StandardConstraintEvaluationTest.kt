@@ -0,0 +1,132 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
+import assertk.assertions.isNull
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import javax.validation.ConstraintViolation
+import javax.validation.ConstraintViolationException
+import javax.validation.Validation
+import javax.validation.constraints.Max
+import javax.validation.constraints.Min
+import javax.validation.constraints.NotBlank
+import javax.validation.constraints.NotNull
+import javax.validation.constraints.Pattern
+import javax.validation.constraints.Size
+
+
+class StandardConstraintEvaluationTest : AbstractValidationTest() {
+
+    @JsonValidated
+    class ValidatedBean {
+
+        @get:NotNull
+        @get:Size(min = 2, max = 5)
+        var name: String? = null
+
+        @get:Min(1)
+        @get:Max(10)
+        var count: Int = 1
+
+        @get:NotBlank
+        var title: String? = "title"
+
+        @get:Pattern(regexp = "[a-z]+", flags = [Pattern.Flag.CASE_INSENSITIVE])
+        var code: String? = null
+
+        @get:Max(10)
+        var ratio: Double = 0.0
+    }
+
+
+    @JsonValidated
+    class BeanWithInvalidPattern {
+
+        @get:Pattern(regexp = "[a-z")
+        var code: String? = null
+    }
+
+
+    @BeforeEach
+    fun setup() {
+        beanValidationModule.enable(BeanValidationFeature.EVALUATE_STANDARD_CONSTRAINTS)
+    }
+
+
+    @Test
+    fun `should accept valid values`() {
+
+        val bean = objectMapper.readValue(
+            """{ "name": "abc", "count": 10, "title": "x", "code": "AbC", "ratio": 9.5 }""",
+            ValidatedBean::class.java
+        )
+
+        assertThat(bean.name).isEqualTo("abc")
+        assertThat(bean.code).isEqualTo("AbC")
+    }
+
+
+    @Test
+    fun `should report violations of standard constraints`() {
+
+        val violations = assertViolationsOnDeserialization<ValidatedBean>(
+            """{ "name": "abcdef", "count": 11, "title": "  ", "code": "a1", "ratio": 10.5 }"""
+        )
+
+        assertThat(violations).hasSize(5)
+        assertThat(violations).hasViolation<Size>("name")
+        assertThat(violations).hasViolation<Max>("count")
+        assertThat(violations).hasViolation<NotBlank>("title")
+        assertThat(violations).hasViolation<Pattern>("code")
+        assertThat(violations).hasViolation<Max>("ratio")
+    }
+
+
+    @Test
+    fun `should report the same violations as the validator`() {
+
+        val json = """{ "name": "a", "count": 0, "title": null }"""
+        val evaluated = assertViolationsOnDeserialization<ValidatedBean>(json)
+
+        val validatorFactory = Validation.byDefaultProvider()
+            .configure()
+            .messageInterpolator(ParameterMessageInterpolator())
+            .buildValidatorFactory()
+        val validatingMapper = ObjectMapper().registerModule(BeanValidationModule(validatorFactory))
+        val validated = assertThrows(ConstraintViolationException::class.java) {
+            validatingMapper.readValue(json, ValidatedBean::class.java)
+        }.constraintViolations
+
+        fun describe(violations: Set<ConstraintViolation<*>>) = violations.map {
+            listOf(
+                it.propertyPath.toString(), it.message, it.messageTemplate, it.invalidValue,
+                it.constraintDescriptor.annotation.annotationClass
+            )
+        }.toSet()
+
+        assertThat(evaluated).hasSize(3)
+        assertThat(describe(evaluated)).isEqualTo(describe(validated))
+    }
+
+
+    @Test
+    fun `should leave invalid patterns to the validator`() {
+
+        val validator = Validation.byDefaultProvider()
+            .configure()
+            .messageInterpolator(ParameterMessageInterpolator())
+            .buildValidatorFactory()
+            .validator
+        val constraint = validator.getConstraintsForClass(BeanWithInvalidPattern::class.java)
+            .getConstraintsForProperty("code")
+            .constraintDescriptors.single()
+
+        assertThat(ConstraintEvaluator.forConstraint(constraint)).isNull()
+    }
+}
@@ -0,0 +1,74 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
+import assertk.assertions.isNull
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.databind.DeserializationContext
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import javax.validation.constraints.Pattern
+import javax.validation.constraints.Size
+
+
+class StringSizeCheckTest : AbstractValidationTest() {
+
+    class TrimmingDeserializer : StdScalarDeserializer<String>(String::class.java) {
+        override fun deserialize(p: JsonParser, ctxt: DeserializationContext): String =
+            p.valueAsString.trim()
+    }
+
+
+    @JsonValidated
+    class ValidatedBean {
+
+        @get:Size(max = 5)
+        @get:Pattern(regexp = "[a-z]*")
+        var name: String? = null
+
+        @get:Size(max = 5)
+        @set:JsonDeserialize(using = TrimmingDeserializer::class)
+        var trimmed: String? = null
+    }
+
+
+    @BeforeEach
+    fun setup() {
+        beanValidationModule.enable(BeanValidationFeature.CHECK_STRING_SIZE_BEFORE_DESERIALIZATION)
+    }
+
+
+    @Test
+    fun `should accept strings within the size limit`() {
+
+        val bean = objectMapper.readValue("""{ "name": "abcde" }""", ValidatedBean::class.java)
+
+        assertThat(bean.name).isEqualTo("abcde")
+    }
+
+
+    @Test
+    fun `should report too long string without invalid value`() {
+
+        val violations = assertViolationsOnDeserialization<ValidatedBean>(
+            """{ "name": "ABCDEFGHIJ" }"""
+        )
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<Size>("name")
+        assertThat(violations.first().invalidValue).isNull()
+    }
+
+
+    @Test
+    fun `should check length after custom deserializer`() {
+
+        val bean = objectMapper.readValue("""{ "trimmed": "  abc  " }""", ValidatedBean::class.java)
+
+        assertThat(bean.trimmed).isEqualTo("abc")
+    }
+}
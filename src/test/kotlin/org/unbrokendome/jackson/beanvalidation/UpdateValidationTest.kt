@@ -0,0 +1,105 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import javax.validation.Constraint
+import javax.validation.ConstraintValidator
+import javax.validation.ConstraintValidatorContext
+import javax.validation.Payload
+import javax.validation.constraints.NotNull
+import javax.validation.constraints.Size
+import kotlin.reflect.KClass
+
+
+class UpdateValidationTest : AbstractValidationTest() {
+
+    @Target(AnnotationTarget.CLASS)
+    @Retention(AnnotationRetention.RUNTIME)
+    @Constraint(validatedBy = [ValidRangeValidator::class])
+    annotation class ValidRange(
+        val message: String = "invalid range",
+        val groups: Array<KClass<*>> = [],
+        val payload: Array<KClass<out Payload>> = []
+    )
+
+
+    class ValidRangeValidator : ConstraintValidator<ValidRange, ValidatedBean> {
+
+        override fun isValid(value: ValidatedBean?, context: ConstraintValidatorContext): Boolean =
+            value == null || value.lower <= value.upper
+    }
+
+
+    @JsonValidated
+    @ValidRange
+    class ValidatedBean {
+
+        @get:Size(max = 3)
+        var name: String? = null
+
+        @get:NotNull
+        var email: String? = null
+
+        var lower: Int = 0
+
+        var upper: Int = 0
+    }
+
+
+    @Test
+    fun `should validate all properties when updating by default`() {
+
+        val existing = ValidatedBean()
+
+        val violations = assertViolations {
+            objectMapper.readerForUpdating(existing)
+                .readValue<ValidatedBean>("""{ "name": "abcd" }""")
+        }
+
+        assertThat(violations).hasSize(2)
+        assertThat(violations).hasViolation<Size>("name")
+        assertThat(violations).hasViolation<NotNull>("email")
+    }
+
+
+    @Test
+    fun `should only validate updated properties if enabled`() {
+
+        val existing = ValidatedBean()
+
+        val violations = assertViolations {
+            objectMapper.readerForUpdating(existing)
+                .withAttribute(BeanValidationFeature.VALIDATE_UPDATED_PROPERTIES_ONLY, true)
+                .readValue<ValidatedBean>("""{ "name": "abcd" }""")
+        }
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<Size>("name")
+
+        assertNoViolations {
+            objectMapper.readerForUpdating(existing)
+                .withAttribute(BeanValidationFeature.VALIDATE_UPDATED_PROPERTIES_ONLY, true)
+                .readValue<ValidatedBean>("""{ "name": "abc" }""")
+        }
+        assertThat(existing.name).isEqualTo("abc")
+    }
+
+
+    @Test
+    fun `should validate class-level constraints when only validating updated properties`() {
+        beanValidationModule.enable(BeanValidationFeature.VALIDATE_UPDATED_PROPERTIES_ONLY)
+
+        val existing = ValidatedBean().apply { upper = 10 }
+
+        val violations = assertViolations {
+            objectMapper.readerForUpdating(existing)
+                .readValue<ValidatedBean>("""{ "lower": 11 }""")
+        }
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<ValidRange>("")
+    }
+}
@@ -2,13 +2,22 @@ package org.unbrokendome.jackson.beanvalidation
 
 import assertk.assertThat
 import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
 import com.fasterxml.jackson.annotation.JsonCreator
 import com.fasterxml.jackson.annotation.JsonProperty
+import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator
+import org.junit.jupiter.api.Assertions.assertThrows
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
 import java.time.LocalDate
+import java.util.Locale
+import java.util.concurrent.atomic.AtomicInteger
+import javax.validation.ConstraintViolationException
+import javax.validation.MessageInterpolator
+import javax.validation.Validation
 import javax.validation.constraints.NotNull
 
 
@@ -86,4 +95,56 @@ class ValidInputTest : AbstractValidationTest() {
         assertThat(violations).hasViolation<JsonValidInput>("date")
         assertThat(violations).hasViolation<NotNull>("otherValue")
     }
+
+
+    @Test
+    fun `should report the same message with lazy message interpolation`() {
+
+        val json = """{ "date": "20xx-11-15" }"""
+
+        val eagerViolation = assertViolationsOnDeserialization(json, TestBean1::class.java).single()
+
+        beanValidationModule.enable(BeanValidationFeature.INTERPOLATE_MESSAGES_LAZILY)
+
+        val lazyViolation = assertViolationsOnDeserialization(json, TestBean1::class.java).single()
+
+        assertThat(lazyViolation.message).isEqualTo(eagerViolation.message)
+    }
+
+
+    @Test
+    fun `should not interpolate lazy messages before getMessage is called`() {
+
+        val interpolations = AtomicInteger()
+        val delegate = ParameterMessageInterpolator()
+        val countingInterpolator = object : MessageInterpolator {
+            override fun interpolate(messageTemplate: String, context: MessageInterpolator.Context): String {
+                interpolations.incrementAndGet()
+                return delegate.interpolate(messageTemplate, context)
+            }
+
+            override fun interpolate(
+                messageTemplate: String, context: MessageInterpolator.Context, locale: Locale
+            ): String {
+                interpolations.incrementAndGet()
+                return delegate.interpolate(messageTemplate, context, locale)
+            }
+        }
+        val validatorFactory = Validation.byDefaultProvider()
+            .configure()
+            .messageInterpolator(countingInterpolator)
+            .buildValidatorFactory()
+        val module = BeanValidationModule(validatorFactory)
+            .enable(BeanValidationFeature.INTERPOLATE_MESSAGES_LAZILY)
+        val mapper = ObjectMapper().registerModule(module).registerModule(JavaTimeModule())
+
+        val exception = assertThrows(ConstraintViolationException::class.java) {
+            mapper.readValue("""{ "date": "20xx-11-15" }""", TestBean1::class.java)
+        }
+        assertThat(exception.message).isEqualTo("1 constraint violation(s)")
+        assertThat(interpolations.get()).isEqualTo(0)
+
+        exception.constraintViolations.single().message
+        assertThat(interpolations.get()).isEqualTo(1)
+    }
 }
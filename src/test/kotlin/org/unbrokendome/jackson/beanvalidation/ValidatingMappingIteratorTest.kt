@@ -0,0 +1,79 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEmpty
+import assertk.assertions.isEqualTo
+import assertk.assertions.isFalse
+import assertk.assertions.isNotNull
+import assertk.assertions.isNull
+import assertk.assertions.isTrue
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import javax.validation.constraints.NotNull
+
+
+class ValidatingMappingIteratorTest : AbstractValidationTest() {
+
+    @JsonValidated
+    class SimpleValidatedBean {
+
+        @get:NotNull
+        var value: String? = null
+
+        @get:NotNull
+        var other: String? = null
+    }
+
+
+    private fun readAll(json: String): List<ValidationResult<SimpleValidatedBean>> =
+        ValidatingMappingIterator.readValues<SimpleValidatedBean>(
+            objectMapper.readerFor(SimpleValidatedBean::class.java), json
+        ).use { iterator ->
+            iterator.asSequence().toList()
+        }
+
+
+    @Test
+    fun `should report results of all elements of a top-level array`() {
+
+        val json = """[{"value":"a","other":"b"},{"value":null,"other":"c"},{"value":"d","other":"e"}]"""
+
+        val results = readAll(json)
+
+        assertThat(results).hasSize(3)
+
+        assertThat(results[0].index).isEqualTo(0L)
+        assertThat(results[0].isValid).isTrue()
+        assertThat(results[0].value?.value).isEqualTo("a")
+
+        assertThat(results[1].index).isEqualTo(1L)
+        assertThat(results[1].isValid).isFalse()
+        assertThat(results[1].value).isNull()
+        assertThat(results[1].violations).hasSize(1)
+        assertThat(results[1].violations).hasViolation<NotNull>("value")
+        assertThat(results[1].location).isNotNull()
+
+        assertThat(results[2].index).isEqualTo(2L)
+        assertThat(results[2].violations).isEmpty()
+        assertThat(results[2].value?.value).isEqualTo("d")
+    }
+
+
+    @Test
+    fun `should continue with the next value after an aborted element`() {
+        beanValidationModule.enable(BeanValidationFeature.FAIL_FAST)
+
+        val json = """
+            {"value":null,"other":null}
+            {"value":"a","other":"b"}
+            """.trimIndent()
+
+        val results = readAll(json)
+
+        assertThat(results).hasSize(2)
+        assertThat(results[0].violations).hasSize(1)
+        assertThat(results[1].isValid).isTrue()
+        assertThat(results[1].value?.other).isEqualTo("b")
+    }
+}
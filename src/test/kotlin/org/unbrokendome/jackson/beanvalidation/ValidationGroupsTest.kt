@@ -0,0 +1,174 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import com.fasterxml.jackson.annotation.JsonCreator
+import com.fasterxml.jackson.annotation.JsonProperty
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import javax.validation.constraints.NotBlank
+import javax.validation.constraints.NotNull
+import javax.validation.constraints.Size
+import javax.validation.groups.Default
+
+
+class ValidationGroupsTest : AbstractValidationTest() {
+
+    interface Create
+
+    interface Update
+
+
+    @JsonValidated
+    class SimpleValidatedBean {
+
+        @get:NotNull(groups = [Create::class])
+        var id: String? = null
+
+        @get:Size(max = 3, groups = [Update::class])
+        var name: String? = null
+
+        @get:Size(max = 3)
+        var description: String? = null
+    }
+
+
+    @JsonValidated(groups = [Update::class])
+    class UpdateValidatedBean {
+
+        @get:NotNull(groups = [Create::class])
+        var id: String? = null
+
+        @get:Size(max = 3, groups = [Update::class])
+        var name: String? = null
+
+        @get:Size(max = 3)
+        var description: String? = null
+    }
+
+
+    @JsonValidated(groups = [Update::class])
+    class UpdateValidatedCreatorBean
+    @JsonCreator constructor(
+        @param:[NotNull JsonProperty("id")] val id: String?,
+        @param:[Size(max = 3, groups = [Update::class]) JsonProperty("name")] val name: String?
+    )
+
+
+    class Code
+    @JsonCreator constructor(
+        @param:[Size(max = 3, groups = [Update::class]) NotBlank] val value: String
+    )
+
+
+    @JsonValidated
+    class BeanWithCodes {
+
+        @set:JsonValidated(groups = [Update::class])
+        var updateCode: Code? = null
+
+        @set:JsonValidated
+        var defaultCode: Code? = null
+    }
+
+
+    @JsonValidated
+    class ValidatedBeanWithNested {
+
+        var nested: SimpleValidatedBean? = null
+    }
+
+
+    @Test
+    fun `should validate the default group if no groups are specified`() {
+
+        val json = """{ "name": "abcd", "description": "abcd" }"""
+
+        val violations = assertViolationsOnDeserialization<SimpleValidatedBean>(json)
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<Size>("description")
+    }
+
+
+    @Test
+    fun `should validate the groups of the annotation`() {
+
+        val json = """{ "name": "abcd", "description": "abcd" }"""
+
+        val violations = assertViolationsOnDeserialization<UpdateValidatedBean>(json)
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<Size>("name")
+    }
+
+
+    @Test
+    fun `should validate creator parameters with the groups of the annotation`() {
+
+        val json = """{ "id": null, "name": "abcd" }"""
+
+        val violations = assertViolationsOnDeserialization<UpdateValidatedCreatorBean>(json)
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<Size>("name")
+    }
+
+
+    @Test
+    fun `should override the groups for a single reader`() {
+
+        val json = """{ "name": "abcd", "description": "abcd" }"""
+
+        val violations = assertViolations {
+            objectMapper.readerFor(SimpleValidatedBean::class.java)
+                .withAttribute(BeanValidationModule.VALIDATION_GROUPS, arrayOf(Create::class.java, Update::class.java))
+                .readValue<SimpleValidatedBean>(json)
+        }
+
+        assertThat(violations).hasSize(2)
+        assertThat(violations).hasViolation<NotNull>("id")
+        assertThat(violations).hasViolation<Size>("name")
+    }
+
+
+    @Test
+    fun `should override the groups of nested beans for a single reader`() {
+
+        val json = """{ "nested": { "id": "1", "name": "abcd", "description": "abcd" } }"""
+
+        val violations = assertViolations {
+            objectMapper.readerFor(ValidatedBeanWithNested::class.java)
+                .withAttribute(BeanValidationModule.VALIDATION_GROUPS, Update::class.java)
+                .readValue<ValidatedBeanWithNested>(json)
+        }
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<Size>("nested.name")
+
+        assertNoViolations {
+            objectMapper.readerFor(UpdateValidatedBean::class.java)
+                .withAttribute(BeanValidationModule.VALIDATION_GROUPS, arrayOf(Default::class.java))
+                .readValue<UpdateValidatedBean>("""{ "name": "abcd" }""")
+        }
+    }
+
+
+    @Test
+    fun `should validate string creators with the groups of the property`() {
+
+        val violations = assertViolationsOnDeserialization<BeanWithCodes>(
+            """{ "updateCode": "abcd", "defaultCode": "abcd" }"""
+        )
+
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<Size>("updateCode")
+
+        val blankViolations = assertViolationsOnDeserialization<BeanWithCodes>(
+            """{ "updateCode": " ", "defaultCode": " " }"""
+        )
+
+        assertThat(blankViolations).hasSize(1)
+        assertThat(blankViolations).hasViolation<NotBlank>("defaultCode")
+    }
+}
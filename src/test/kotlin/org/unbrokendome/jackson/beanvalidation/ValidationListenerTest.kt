@@ -0,0 +1,82 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEmpty
+import assertk.assertions.isEqualTo
+import com.fasterxml.jackson.annotation.JsonCreator
+import com.fasterxml.jackson.annotation.JsonProperty
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import javax.validation.constraints.Size
+
+
+class ValidationListenerTest : AbstractValidationTest() {
+
+    private val metrics = ValidationMetrics()
+
+
+    @BeforeEach
+    fun registerListener() {
+        beanValidationModule.addListener(metrics)
+    }
+
+
+    @JsonValidated
+    class SimpleValidatedBean {
+
+        @get:Size(max = 3)
+        var value: String? = null
+    }
+
+
+    @JsonValidated
+    class CreatorValidatedBean
+    @JsonCreator constructor(
+        @param:[Size(max = 3) JsonProperty("value")] val value: String?
+    )
+
+
+    @Test
+    fun `should report property validation`() {
+
+        val json = """{ "value": "abcd" }"""
+
+        assertViolationsOnDeserialization<SimpleValidatedBean>(json)
+
+        val entries = metrics.snapshot()
+        assertThat(entries).hasSize(1)
+        val entry = entries[0]
+        assertThat(entry.beanType).isEqualTo(SimpleValidatedBean::class.java)
+        assertThat(entry.phase).isEqualTo(ValidationPhase.PROPERTY)
+        assertThat(entry.count).isEqualTo(1L)
+        assertThat(entry.violationCount).isEqualTo(1L)
+    }
+
+
+    @Test
+    fun `should report creator validation`() {
+
+        assertViolationsOnDeserialization<CreatorValidatedBean>("""{ "value": "abcd" }""")
+        assertNoViolationsOnDeserialization<CreatorValidatedBean>("""{ "value": "abc" }""")
+
+        val entries = metrics.snapshot()
+        assertThat(entries).hasSize(1)
+        val entry = entries[0]
+        assertThat(entry.beanType).isEqualTo(CreatorValidatedBean::class.java)
+        assertThat(entry.phase).isEqualTo(ValidationPhase.CREATOR)
+        assertThat(entry.count).isEqualTo(2L)
+        assertThat(entry.violationCount).isEqualTo(1L)
+    }
+
+
+    @Test
+    fun `should not report anything after the listener was removed`() {
+
+        beanValidationModule.removeListener(metrics)
+
+        assertViolationsOnDeserialization<SimpleValidatedBean>("""{ "value": "abcd" }""")
+
+        assertThat(metrics.snapshot()).isEmpty()
+    }
+}
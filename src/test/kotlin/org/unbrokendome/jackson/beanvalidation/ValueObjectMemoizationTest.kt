@@ -0,0 +1,150 @@
+package org.unbrokendome.jackson.beanvalidation
+
+import assertk.assertThat
+import assertk.assertions.hasSize
+import assertk.assertions.isEqualTo
+import com.fasterxml.jackson.module.kotlin.KotlinModule
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.unbrokendome.jackson.beanvalidation.assertions.hasViolation
+import java.util.concurrent.atomic.AtomicInteger
+import javax.validation.Constraint
+import javax.validation.ConstraintValidator
+import javax.validation.ConstraintValidatorContext
+import javax.validation.Payload
+import javax.validation.Valid
+import javax.validation.constraints.Size
+import kotlin.reflect.KClass
+
+
+class ValueObjectMemoizationTest : AbstractValidationTest() {
+
+    @Target(AnnotationTarget.CLASS)
+    @Retention(AnnotationRetention.RUNTIME)
+    @Constraint(validatedBy = [ValidPriceValidator::class])
+    annotation class ValidPrice(
+        val message: String = "invalid price",
+        val groups: Array<KClass<*>> = [],
+        val payload: Array<KClass<out Payload>> = []
+    )
+
+
+    class ValidPriceValidator : ConstraintValidator<ValidPrice, Price> {
+
+        override fun isValid(value: Price?, context: ConstraintValidatorContext): Boolean {
+            invocations.incrementAndGet()
+            return value == null || value.amount >= 0
+        }
+    }
+
+
+    @ValidPrice
+    data class Price(val amount: Int, val currency: String)
+
+
+    @JsonValidated
+    class Item {
+
+        var name: String? = null
+
+        @get:Valid
+        var price: Price? = null
+    }
+
+
+    @ValidPrice
+    data class TaggedPrice(val amount: Int, val currency: String) {
+
+        @get:Size(max = 3)
+        var tag: String? = null
+    }
+
+
+    @JsonValidated
+    class TaggedItem {
+
+        @get:Valid
+        var price: TaggedPrice? = null
+    }
+
+
+    @JsonValidated
+    class TaggedCatalog {
+
+        var items: List<TaggedItem>? = null
+    }
+
+
+    @JsonValidated
+    class Catalog {
+
+        var items: List<Item>? = null
+    }
+
+
+    companion object {
+        val invocations = AtomicInteger()
+    }
+
+
+    @BeforeEach
+    fun setup() {
+        objectMapper.registerModule(KotlinModule())
+        invocations.set(0)
+    }
+
+
+    private fun catalogJson(amount: Int, count: Int) =
+        (0 until count).joinToString(prefix = """{ "items": [""", postfix = "] }") { i ->
+            """{ "name": "item$i", "price": { "amount": $amount, "currency": "EUR" } }"""
+        }
+
+
+    @Test
+    fun `should validate each copy of a value object without memoization`() {
+
+        assertNoViolationsOnDeserialization<Catalog>(catalogJson(amount = 10, count = 5))
+
+        assertThat(invocations.get()).isEqualTo(5)
+    }
+
+
+    @Test
+    fun `should validate equal value objects only once per document`() {
+        beanValidationModule.enable(BeanValidationFeature.MEMOIZE_VALUE_OBJECT_VALIDATION)
+
+        assertNoViolationsOnDeserialization<Catalog>(catalogJson(amount = 10, count = 5))
+
+        assertThat(invocations.get()).isEqualTo(1)
+    }
+
+
+    @Test
+    fun `should report memoized violations with the path of each copy`() {
+        beanValidationModule.enable(BeanValidationFeature.MEMOIZE_VALUE_OBJECT_VALIDATION)
+
+        val violations = assertViolationsOnDeserialization<Catalog>(catalogJson(amount = -1, count = 3))
+
+        assertThat(invocations.get()).isEqualTo(1)
+        assertThat(violations).hasSize(3)
+        assertThat(violations).hasViolation<ValidPrice>("items[0].price")
+        assertThat(violations).hasViolation<ValidPrice>("items[2].price")
+    }
+
+
+    @Test
+    fun `should not memoize data classes with constrained properties outside the primary constructor`() {
+        beanValidationModule.enable(BeanValidationFeature.MEMOIZE_VALUE_OBJECT_VALIDATION)
+
+        val violations = assertViolationsOnDeserialization<TaggedCatalog>(
+            """{ "items": [
+                 { "price": { "amount": 10, "currency": "EUR", "tag": "ok" } },
+                 { "price": { "amount": 10, "currency": "EUR", "tag": "too long" } }
+               ] }"""
+        )
+
+        assertThat(invocations.get()).isEqualTo(2)
+        assertThat(violations).hasSize(1)
+        assertThat(violations).hasViolation<Size>("items[1].price.tag")
+    }
+}
@@ -0,0 +1,193 @@
+package org.unbrokendome.jackson.beanvalidation.path
+
+import assertk.assertThat
+import assertk.assertions.containsExactly
+import assertk.assertions.isEqualTo
+import assertk.assertions.isNotEqualTo
+import assertk.assertions.isSameAs
+import org.junit.jupiter.api.Test
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import javax.validation.ElementKind
+
+
+class PathImplTest {
+
+    @Test
+    fun `should build path from nodes`() {
+
+        val path = pathOf("a", "b", "c")
+
+        assertThat(path.size()).isEqualTo(3)
+        assertThat(path.toString()).isEqualTo("a.b.c")
+        assertThat(path.map { it.name }).containsExactly("a", "b", "c")
+    }
+
+
+    @Test
+    fun `should skip bean nodes in string form`() {
+
+        val path = PathBuilder.create().appendBeanNode().appendProperty("a").build()
+
+        assertThat(path.toString()).isEqualTo("a")
+        assertThat(path.map { it.kind }).containsExactly(ElementKind.BEAN, ElementKind.PROPERTY)
+    }
+
+
+    @Test
+    fun `subPath should be a view on the nodes`() {
+
+        val path = pathOf("a", "b", "c", "d")
+
+        val subPath = path.subPath(1, 3)
+
+        assertThat(subPath.size()).isEqualTo(2)
+        assertThat(subPath.toString()).isEqualTo("b.c")
+        assertThat(subPath.getNode(0)).isSameAs(path.getNode(1))
+        assertThat(subPath).isEqualTo(pathOf("b", "c"))
+        assertThat(subPath.hashCode()).isEqualTo(pathOf("b", "c").hashCode())
+    }
+
+
+    @Test
+    fun `subPath should return the same or the empty path`() {
+
+        val path = pathOf("a", "b")
+
+        assertThat(path.subPath(0, 2)).isSameAs(path)
+        assertThat(path.subPath(1, 1)).isSameAs(PathImpl.EMPTY)
+    }
+
+
+    @Test
+    fun `append should share the prefix`() {
+
+        val prefix = pathOf("a", "b")
+        val suffix = pathOf("c", "d")
+
+        val path = prefix.append(suffix)
+
+        assertThat(path.size()).isEqualTo(4)
+        assertThat(path.toString()).isEqualTo("a.b.c.d")
+        assertThat(path.getNode(0)).isSameAs(prefix.getNode(0))
+        assertThat(path.getNode(3)).isSameAs(suffix.getNode(1))
+        assertThat(path.map { it.name }).containsExactly("a", "b", "c", "d")
+        assertThat(prefix.toString()).isEqualTo("a.b")
+        assertThat(suffix.toString()).isEqualTo("c.d")
+    }
+
+
+    @Test
+    fun `append should return the non-empty path`() {
+
+        val path = pathOf("a")
+
+        assertThat(path.append(PathImpl.EMPTY)).isSameAs(path)
+        assertThat(PathImpl.EMPTY.append(path)).isSameAs(path)
+    }
+
+
+    @Test
+    fun `subPath should work across the prefix of an appended path`() {
+
+        val path = pathOf("a", "b").append(pathOf("c", "d")).append(pathOf("e"))
+
+        assertThat(path.toString()).isEqualTo("a.b.c.d.e")
+        assertThat(path.subPath(1, 4).toString()).isEqualTo("b.c.d")
+        assertThat(path.subPath(1, 4)).isEqualTo(pathOf("b", "c", "d"))
+        assertThat(path.subPath(3, 5)).isEqualTo(pathOf("d", "e"))
+    }
+
+
+    @Test
+    fun `paths with and without prefix should be equal if they have the same nodes`() {
+
+        val shared = pathOf("a", "b").append(pathOf("c"))
+        val flat = pathOf("a", "b", "c")
+
+        assertThat(shared).isEqualTo(flat)
+        assertThat(flat).isEqualTo(shared)
+        assertThat(shared.hashCode()).isEqualTo(flat.hashCode())
+    }
+
+
+    @Test
+    fun `paths should differ by node name, index and kind`() {
+
+        val path = pathOf("a", "b")
+
+        assertThat(path).isNotEqualTo(pathOf("a", "c"))
+        assertThat(path).isNotEqualTo(pathOf("a"))
+        assertThat(path).isNotEqualTo(
+            PathBuilder.create().appendProperty("a").appendProperty("b", 0, null).build()
+        )
+        assertThat(path).isNotEqualTo(
+            PathBuilder.create().appendProperty("a").appendParameter("b", 0).build()
+        )
+    }
+
+
+    @Test
+    fun `builder should share built paths when appending`() {
+
+        val builder = PathBuilder.create().appendProperty("a")
+        val first = builder.build() as PathImpl
+        val second = builder.appendProperty("b").build() as PathImpl
+
+        val appended = PathBuilder.create().appendPath(second).appendProperty("c").build()
+
+        assertThat(first.toString()).isEqualTo("a")
+        assertThat(second.toString()).isEqualTo("a.b")
+        assertThat(second.getNode(0)).isSameAs(first.getNode(0))
+        assertThat(appended.toString()).isEqualTo("a.b.c")
+        assertThat(appended).isEqualTo(pathOf("a", "b", "c"))
+    }
+
+
+    @Test
+    fun `builder should not duplicate the bean node of an appended path`() {
+
+        val nested = PathBuilder.create().appendBeanNode().appendProperty("b").build()
+
+        val path = PathBuilder.create().appendProperty("a").appendPath(nested).build() as PathImpl
+
+        assertThat(path.map { it.kind }).containsExactly(ElementKind.PROPERTY, ElementKind.PROPERTY)
+        assertThat(path.toString()).isEqualTo("a.b")
+    }
+
+
+    @Test
+    fun `shared prefix should be usable from multiple threads`() {
+
+        val prefix = pathOf("root", "items").append(pathOf("nested"))
+        val executor = Executors.newFixedThreadPool(4)
+        try {
+            val tasks = (0 until 1000).map { i ->
+                Callable {
+                    val appended = prefix.append(pathOf("value$i"))
+                    val names = appended.map { it.name }
+                    Triple(appended.toString(), names, appended.subPath(1, 3).toString())
+                }
+            }
+            for ((i, future) in executor.invokeAll(tasks).withIndex()) {
+                val (string, names, subPath) = future.get()
+                assertThat(string).isEqualTo("root.items.nested.value$i")
+                assertThat(names).containsExactly("root", "items", "nested", "value$i")
+                assertThat(subPath).isEqualTo("items.nested")
+            }
+        } finally {
+            executor.shutdown()
+            executor.awaitTermination(10, TimeUnit.SECONDS)
+        }
+    }
+
+
+    private fun pathOf(vararg names: String): PathImpl {
+        val builder = PathBuilder.create()
+        for (name in names) {
+            builder.appendProperty(name)
+        }
+        return builder.build() as PathImpl
+    }
+}